@@ -0,0 +1,251 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.location.Location;
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.google.android.libraries.navigation.Navigator;
+import com.google.android.libraries.navigation.RoadSnappedLocationProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports the points of interest ahead on the route, closest first, with their distance along the
+ * route from the current road-snapped location.
+ *
+ * <p>The points are projected onto the route once per route, so each location update only has to
+ * project the location itself, starting from where the previous one was. The route polyline comes
+ * from the {@link RouteGeometryCache}, so it is shared with the other trackers.
+ */
+public class AlongRoutePoiTracker
+    implements Navigator.RouteChangedListener, RoadSnappedLocationProvider.LocationListener {
+  // Number of segments past the previous location looked at before searching the whole route.
+  private static final int LOCATION_SEARCH_SEGMENTS = 50;
+
+  public static class Poi {
+    public final String id;
+    public final double lat;
+    public final double lng;
+
+    public Poi(String id, double lat, double lng) {
+      this.id = id;
+      this.lat = lat;
+      this.lng = lng;
+    }
+  }
+
+  public static class UpcomingPoi {
+    public final Poi poi;
+    public final double distanceMeters;
+    public final double offsetMeters;
+
+    UpcomingPoi(Poi poi, double distanceMeters, double offsetMeters) {
+      this.poi = poi;
+      this.distanceMeters = distanceMeters;
+      this.offsetMeters = offsetMeters;
+    }
+  }
+
+  public interface Listener {
+    void onUpcomingPoisChanged(List<UpcomingPoi> upcomingPois);
+  }
+
+  private final Listener mListener;
+  private final RouteGeometryCache mRouteGeometryCache;
+  private @Nullable Navigator mNavigator;
+  private @Nullable RoadSnappedLocationProvider mLocationProvider;
+
+  private List<Poi> mPois = Collections.emptyList();
+  private double mMaxOffsetMeters = 100;
+  private int mMaxCount = 5;
+  private long mUpdateIntervalMs = 1000;
+
+  // Route dependent state, rebuilt on the first location after the route polyline or the POIs
+  // changed.
+  private boolean mIsRouteStale = true;
+  private @Nullable RoutePolyline mRoutePolyline;
+  private final List<UpcomingPoi> mProjectedPois = new ArrayList<>();
+  private int mLastSegment = 0;
+  private long mLastUpdateTimeMs = 0;
+
+  public AlongRoutePoiTracker(Listener listener, RouteGeometryCache routeGeometryCache) {
+    mListener = listener;
+    mRouteGeometryCache = routeGeometryCache;
+  }
+
+  public synchronized void attach(Navigator navigator, RoadSnappedLocationProvider provider) {
+    if (mNavigator != null) {
+      return;
+    }
+    mNavigator = navigator;
+    mLocationProvider = provider;
+    mIsRouteStale = true;
+    navigator.addRouteChangedListener(this);
+    provider.addLocationListener(this);
+  }
+
+  public synchronized void detach() {
+    if (mNavigator != null) {
+      mNavigator.removeRouteChangedListener(this);
+      mNavigator = null;
+    }
+    if (mLocationProvider != null) {
+      mLocationProvider.removeLocationListener(this);
+      mLocationProvider = null;
+    }
+    mRoutePolyline = null;
+    mProjectedPois.clear();
+  }
+
+  /**
+   * Reads the JS points of interest. Entries without a string id or a position with numeric lat and
+   * lng are left out.
+   */
+  public static List<Poi> parsePois(ReadableArray pois) {
+    List<Poi> parsedPois = new ArrayList<>(pois.size());
+    for (int i = 0; i < pois.size(); i++) {
+      if (pois.getType(i) != ReadableType.Map) {
+        continue;
+      }
+      ReadableMap poi = pois.getMap(i);
+      String id = WaypointParser.getString(poi, "id");
+      ReadableMap position =
+          poi.hasKey("position") && poi.getType("position") == ReadableType.Map
+              ? poi.getMap("position")
+              : null;
+      if (id == null
+          || position == null
+          || !WaypointParser.hasValue(position, "lat")
+          || !WaypointParser.hasValue(position, "lng")) {
+        continue;
+      }
+      Double lat = WaypointParser.getDouble(position, "lat");
+      Double lng = WaypointParser.getDouble(position, "lng");
+      if (lat != null && lng != null) {
+        parsedPois.add(new Poi(id, lat, lng));
+      }
+    }
+    return parsedPois;
+  }
+
+  public synchronized void setPois(List<Poi> pois) {
+    mPois = pois;
+    mIsRouteStale = true;
+    mLastUpdateTimeMs = 0;
+  }
+
+  public synchronized void setOptions(Map<String, Object> options) {
+    mMaxOffsetMeters = CollectionUtil.getDouble("maxOffsetMeters", options, 100);
+    mMaxCount = CollectionUtil.getInt("maxCount", options, 5);
+    mUpdateIntervalMs = CollectionUtil.getInt("updateIntervalMs", options, 1000);
+    mIsRouteStale = true;
+    mLastUpdateTimeMs = 0;
+  }
+
+  @Override
+  public synchronized void onRouteChanged() {
+    mIsRouteStale = true;
+    mLastUpdateTimeMs = 0;
+  }
+
+  @Override
+  public void onLocationChanged(Location location) {
+    List<UpcomingPoi> upcomingPois;
+    synchronized (this) {
+      long now = SystemClock.elapsedRealtime();
+      if (mNavigator == null || now - mLastUpdateTimeMs < mUpdateIntervalMs) {
+        return;
+      }
+      mLastUpdateTimeMs = now;
+
+      RoutePolyline routePolyline = mRouteGeometryCache.getRoutePolyline(mNavigator);
+      if (mIsRouteStale || routePolyline != mRoutePolyline) {
+        projectPois(routePolyline);
+      }
+      upcomingPois = getUpcomingPois(location);
+    }
+    if (upcomingPois != null) {
+      mListener.onUpcomingPoisChanged(upcomingPois);
+    }
+  }
+
+  private void projectPois(RoutePolyline routePolyline) {
+    mIsRouteStale = false;
+    mProjectedPois.clear();
+    mLastSegment = 0;
+    mRoutePolyline = routePolyline;
+
+    for (Poi poi : mPois) {
+      RoutePolyline.Projection projection =
+          mRoutePolyline.project(poi.lat, poi.lng, mMaxOffsetMeters);
+      if (projection != null) {
+        mProjectedPois.add(
+            new UpcomingPoi(poi, projection.distanceAlongMeters, projection.offsetMeters));
+      }
+    }
+    // Sorted by distance along the route, so the ones ahead are a suffix of the list.
+    Collections.sort(mProjectedPois, (a, b) -> Double.compare(a.distanceMeters, b.distanceMeters));
+  }
+
+  /** Returns the POIs ahead of the location, or null if it is not on the route. */
+  @Nullable
+  private List<UpcomingPoi> getUpcomingPois(Location location) {
+    if (mRoutePolyline == null) {
+      return null;
+    }
+    RoutePolyline.Projection current =
+        mRoutePolyline.projectFrom(
+            location.getLatitude(),
+            location.getLongitude(),
+            mMaxOffsetMeters,
+            mLastSegment,
+            LOCATION_SEARCH_SEGMENTS);
+    if (current == null) {
+      return null;
+    }
+    mLastSegment = current.segmentIndex;
+
+    List<UpcomingPoi> upcomingPois = new ArrayList<>(mMaxCount);
+    int first = getFirstIndexAfter(current.distanceAlongMeters);
+    for (int i = first; i < mProjectedPois.size() && upcomingPois.size() < mMaxCount; i++) {
+      UpcomingPoi projected = mProjectedPois.get(i);
+      upcomingPois.add(
+          new UpcomingPoi(
+              projected.poi,
+              projected.distanceMeters - current.distanceAlongMeters,
+              projected.offsetMeters));
+    }
+    return upcomingPois;
+  }
+
+  private int getFirstIndexAfter(double distanceAlongMeters) {
+    int low = 0;
+    int high = mProjectedPois.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (mProjectedPois.get(middle).distanceMeters < distanceAlongMeters) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import androidx.annotation.Nullable;
+import androidx.core.util.Supplier;
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableNativeArray;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queues events sent to a JS callable module and delivers them to React Native as a single batched
+ * call, either once per Choreographer frame or at a fixed interval. The JS side demultiplexes the
+ * batch back to the individual event handlers.
+ *
+ * <p>Only one batch is in flight at a time: the next one is sent after the JS thread has processed
+ * the previous one. While JS is busy, events stay in a queue where each event type is handled
+ * according to its {@link EventPolicy}. The queue never holds more than the maximum queue size:
+ * once full, the oldest non-{@link EventPolicy#LOSSLESS} event is dropped to make room, and if only
+ * lossless events are pending, the oldest of them is dropped and counted as overflowed.
+ */
+public class BatchedEventDispatcher {
+  /** Name of the JS function receiving a batch of events. */
+  public static final String BATCH_FUNCTION_NAME = "onBatchedEvents";
+
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 256;
+
+  /** Defines what happens to an event that is queued while others are still pending. */
+  public enum EventPolicy {
+    /**
+     * Replaces any pending event of the same type, only the latest one is delivered. The latest
+     * event takes its place at the end of the queue, so events of other types queued after the
+     * replaced one, including {@link #LOSSLESS} ones, are delivered before it.
+     */
+    LATEST_WINS,
+    /** Dropped if an event of the same type is already pending. */
+    COLLAPSE_DUPLICATES,
+    /**
+     * Never superseded or collapsed. Only dropped when the queue is full of lossless events, see
+     * {@link BatchedEventDispatcher#getOverflowedEventCount()}.
+     */
+    LOSSLESS
+  }
+
+  // Frame callbacks are not delivered while the display is off, so a flush is also scheduled on
+  // the handler to bound the delivery latency in that case.
+  private static final long FRAME_FALLBACK_DELAY_MS = 100;
+
+  private final String mJsModuleName;
+  private final Supplier<ReactContext> mReactContextSupplier;
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+  private final PendingEventQueue mQueue = new PendingEventQueue(DEFAULT_MAX_QUEUE_SIZE);
+  private final Map<String, EventPolicy> mEventPolicies = new HashMap<>();
+
+  private boolean mBatchingEnabled = true;
+  private long mFlushIntervalMs = 0;
+  private boolean mFlushScheduled = false;
+
+  // Context the batch currently processed by JS was sent to, null if no batch is in flight.
+  private @Nullable ReactContext mInFlightContext;
+
+  private final Runnable mFlushRunnable = this::flush;
+  private final Choreographer.FrameCallback mFrameCallback = frameTimeNanos -> flush();
+  private final Runnable mPostFrameCallbackRunnable =
+      () -> Choreographer.getInstance().postFrameCallback(mFrameCallback);
+  private final Runnable mBatchProcessedRunnable = this::onBatchProcessed;
+
+  public BatchedEventDispatcher(
+      String jsModuleName, Supplier<ReactContext> reactContextSupplier) {
+    mJsModuleName = jsModuleName;
+    mReactContextSupplier = reactContextSupplier;
+  }
+
+  /**
+   * Enables or disables batching. Events queued when batching is disabled are still delivered
+   * before any event sent afterwards.
+   *
+   * @param enabled whether events should be queued and delivered in batches.
+   * @param flushIntervalMs interval between flushes, or 0 to flush once per frame.
+   */
+  public void setBatchingOptions(boolean enabled, long flushIntervalMs) {
+    synchronized (mQueue) {
+      mBatchingEnabled = enabled;
+      mFlushIntervalMs = Math.max(0, flushIntervalMs);
+    }
+    // Deliver anything queued under the previous configuration.
+    mMainHandler.post(mFlushRunnable);
+  }
+
+  /**
+   * Sets the maximum number of pending events. Events already queued beyond the new size are
+   * dropped the same way as when the queue overflows.
+   */
+  public void setMaxQueueSize(int maxQueueSize) {
+    synchronized (mQueue) {
+      mQueue.setMaxSize(maxQueueSize);
+    }
+  }
+
+  /** Sets the policy of an event type. Events without a policy are {@link EventPolicy#LOSSLESS}. */
+  public void setEventPolicy(String functionName, EventPolicy policy) {
+    synchronized (mQueue) {
+      mEventPolicies.put(functionName, policy);
+    }
+  }
+
+  /** Number of events dropped because they were superseded or the queue was full. */
+  public long getDroppedEventCount() {
+    synchronized (mQueue) {
+      return mQueue.getDroppedEventCount();
+    }
+  }
+
+  /** Number of events dropped because an identical event was already pending. */
+  public long getCollapsedEventCount() {
+    synchronized (mQueue) {
+      return mQueue.getCollapsedEventCount();
+    }
+  }
+
+  /** Number of {@link EventPolicy#LOSSLESS} events dropped because the queue was full of them. */
+  public long getOverflowedEventCount() {
+    synchronized (mQueue) {
+      return mQueue.getOverflowedEventCount();
+    }
+  }
+
+  public int getQueuedEventCount() {
+    synchronized (mQueue) {
+      return mQueue.size();
+    }
+  }
+
+  /**
+   * Queues an event, or sends it right away if batching is disabled and no queued event is left to
+   * deliver.
+   */
+  public void dispatch(String functionName, @Nullable WritableNativeArray params) {
+    dispatch(functionName, () -> params);
+  }
+
+  /**
+   * Queues an event whose params are only built when it is delivered, which lets a pending event
+   * pick up data accumulated until the flush.
+   */
+  public void dispatch(String functionName, Supplier<WritableNativeArray> paramsSupplier) {
+    synchronized (mQueue) {
+      // With batching just disabled, events go through the queue until it is drained so they
+      // aren't delivered before the ones queued earlier.
+      if (mBatchingEnabled || !mQueue.isEmpty() || mInFlightContext != null) {
+        mQueue.add(functionName, paramsSupplier, getEventPolicyLocked(functionName));
+        scheduleFlushLocked();
+        return;
+      }
+    }
+    callFunction(functionName, paramsSupplier.get());
+  }
+
+  /** Delivers all queued events. Must be called on the main thread. */
+  public void flush() {
+    mMainHandler.removeCallbacks(mFlushRunnable);
+    mMainHandler.removeCallbacks(mPostFrameCallbackRunnable);
+    Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+
+    ReactContext reactContext = mReactContextSupplier.get();
+
+    List<PendingEventQueue.PendingEvent> events;
+    synchronized (mQueue) {
+      if (mInFlightContext != null && mInFlightContext == reactContext) {
+        // Left scheduled, the flush is retried once JS has processed the batch in flight.
+        return;
+      }
+      mFlushScheduled = false;
+      mInFlightContext = null;
+      if (mQueue.isEmpty()) {
+        return;
+      }
+      events = mQueue.drain();
+    }
+
+    if (events.size() == 1) {
+      callFunction(events.get(0).functionName, events.get(0).paramsSupplier.get());
+    } else {
+      WritableNativeArray batch = new WritableNativeArray();
+      for (PendingEventQueue.PendingEvent event : events) {
+        WritableNativeArray eventParams = event.paramsSupplier.get();
+        WritableNativeArray entry = new WritableNativeArray();
+        entry.pushString(event.functionName);
+        entry.pushArray(eventParams != null ? eventParams : new WritableNativeArray());
+        batch.pushArray(entry);
+      }
+
+      WritableNativeArray params = new WritableNativeArray();
+      params.pushArray(batch);
+      callFunction(BATCH_FUNCTION_NAME, params);
+    }
+
+    // The JS queue runs in order, so this runs once the call above has been handled.
+    if (reactContext != null) {
+      synchronized (mQueue) {
+        mInFlightContext = reactContext;
+      }
+      if (!reactContext.runOnJSQueueThread(mBatchProcessedRunnable)) {
+        onBatchProcessed();
+      }
+    }
+  }
+
+  private void onBatchProcessed() {
+    synchronized (mQueue) {
+      mInFlightContext = null;
+      mFlushScheduled = false;
+      if (!mQueue.isEmpty()) {
+        scheduleFlushLocked();
+      }
+    }
+  }
+
+  private EventPolicy getEventPolicyLocked(String functionName) {
+    EventPolicy policy = mEventPolicies.get(functionName);
+    return policy != null ? policy : EventPolicy.LOSSLESS;
+  }
+
+  private void scheduleFlushLocked() {
+    if (mFlushScheduled) {
+      return;
+    }
+    mFlushScheduled = true;
+
+    if (!mBatchingEnabled) {
+      mMainHandler.post(mFlushRunnable);
+    } else if (mFlushIntervalMs > 0) {
+      mMainHandler.postDelayed(mFlushRunnable, mFlushIntervalMs);
+    } else {
+      mMainHandler.post(mPostFrameCallbackRunnable);
+      mMainHandler.postDelayed(mFlushRunnable, FRAME_FALLBACK_DELAY_MS);
+    }
+  }
+
+  private void callFunction(String functionName, @Nullable WritableNativeArray params) {
+    ReactContext reactContext = mReactContextSupplier.get();
+
+    if (reactContext != null) {
+      CatalystInstance catalystInstance = reactContext.getCatalystInstance();
+      catalystInstance.callFunction(mJsModuleName, functionName, params);
+    }
+  }
+}
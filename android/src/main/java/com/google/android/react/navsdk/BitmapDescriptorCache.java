@@ -0,0 +1,183 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Process wide cache of the images of markers and ground overlays, so overlays sharing an image
+ * decode it once. Images are keyed by their asset path and variant, and the least recently used
+ * ones are evicted to stay within a budget of bitmap bytes. The cache is trimmed when the system
+ * runs low on memory.
+ *
+ * <p>Evicting an image doesn't affect the overlays using it, the map keeps its own copy.
+ */
+public class BitmapDescriptorCache implements ComponentCallbacks2 {
+  private static final int MAX_SIZE_BYTES = 32 * 1024 * 1024;
+  private static BitmapDescriptorCache instance;
+
+  /** How an image is changed before it is used, e.g. tinted to show a state. */
+  public static class Variant {
+    public static final Variant NONE = new Variant(null, 1);
+
+    final @Nullable Integer tintColor;
+    final float scale;
+
+    public Variant(@Nullable Integer tintColor, float scale) {
+      this.tintColor = tintColor;
+      this.scale = scale > 0 ? scale : 1;
+    }
+
+    boolean isNone() {
+      return tintColor == null && scale == 1;
+    }
+
+    String getKey(String assetPath) {
+      return isNone() ? assetPath : assetPath + "|" + tintColor + "|" + scale;
+    }
+  }
+
+  private static class Entry {
+    final BitmapDescriptor descriptor;
+    final int sizeBytes;
+
+    Entry(BitmapDescriptor descriptor, int sizeBytes) {
+      this.descriptor = descriptor;
+      this.sizeBytes = sizeBytes;
+    }
+  }
+
+  private final Context mContext;
+  private final SizedLruCache<String, Entry> mEntries;
+
+  private BitmapDescriptorCache(Context context) {
+    mContext = context;
+    int maxSizeBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 16, MAX_SIZE_BYTES);
+    mEntries = new SizedLruCache<>(maxSizeBytes, entry -> entry.sizeBytes);
+  }
+
+  public static synchronized BitmapDescriptorCache getInstance(Context context) {
+    if (instance == null) {
+      Context applicationContext = context.getApplicationContext();
+      instance = new BitmapDescriptorCache(applicationContext);
+      applicationContext.registerComponentCallbacks(instance);
+    }
+    return instance;
+  }
+
+  @Nullable
+  private static synchronized BitmapDescriptorCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the image of the asset, changed as the variant says. Can be called on any thread. Falls
+   * back to letting the map load the asset if it can't be decoded here, as before the cache.
+   */
+  public static BitmapDescriptor fromAsset(String assetPath, Variant variant) {
+    BitmapDescriptorCache cache = getInstance();
+    if (cache == null) {
+      return BitmapDescriptorFactory.fromAsset(assetPath);
+    }
+    BitmapDescriptor descriptor = cache.get(assetPath, variant);
+    return descriptor != null ? descriptor : BitmapDescriptorFactory.fromAsset(assetPath);
+  }
+
+  @Nullable
+  private BitmapDescriptor get(String assetPath, Variant variant) {
+    String key = variant.getKey(assetPath);
+    Entry entry = mEntries.get(key);
+    if (entry != null) {
+      return entry.descriptor;
+    }
+
+    // Concurrent misses may decode the same image twice, which is cheaper than decoding under a
+    // lock every other caller would wait on.
+    Bitmap bitmap = decodeAsset(assetPath);
+    if (bitmap == null) {
+      return null;
+    }
+    if (!variant.isNone()) {
+      bitmap = applyVariant(bitmap, variant);
+    }
+    entry = new Entry(BitmapDescriptorFactory.fromBitmap(bitmap), bitmap.getByteCount());
+    mEntries.put(key, entry);
+    return entry.descriptor;
+  }
+
+  @Nullable
+  private Bitmap decodeAsset(String assetPath) {
+    try (InputStream stream = mContext.getAssets().open(assetPath)) {
+      return BitmapFactory.decodeStream(stream);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static Bitmap applyVariant(Bitmap bitmap, Variant variant) {
+    if (variant.scale != 1) {
+      bitmap =
+          Bitmap.createScaledBitmap(
+              bitmap,
+              Math.max(1, Math.round(bitmap.getWidth() * variant.scale)),
+              Math.max(1, Math.round(bitmap.getHeight() * variant.scale)),
+              true);
+    }
+    if (variant.tintColor != null) {
+      Bitmap tinted =
+          Bitmap.createBitmap(bitmap.getWidth(), bitmap.getHeight(), Bitmap.Config.ARGB_8888);
+      Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+      paint.setColorFilter(new PorterDuffColorFilter(variant.tintColor, PorterDuff.Mode.SRC_IN));
+      new Canvas(tinted).drawBitmap(bitmap, 0, 0, paint);
+      bitmap = tinted;
+    }
+    return bitmap;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    mEntries.trimToSize(getTrimmedSize(level, mEntries.maxSize()));
+  }
+
+  /** Returns the size the cache is trimmed to at the memory trim level. */
+  static int getTrimmedSize(int level, int maxSize) {
+    if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      return 0;
+    } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      return maxSize / 2;
+    }
+    return maxSize;
+  }
+
+  @Override
+  public void onLowMemory() {
+    mEntries.evictAll();
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration configuration) {}
+}
@@ -0,0 +1,307 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups points into clusters for every zoom level, on a grid of cells that cover a fixed number of
+ * screen pixels at each level.
+ *
+ * <p>The cells are laid out in Web Mercator, so each cell of a level is split into exactly four
+ * cells of the next one. Only the finest level is built from the points; every other level is
+ * built by merging the cells of the level below, so building the whole hierarchy is linear in the
+ * number of points. The index is immutable once built and can be built off the UI thread.
+ */
+public class ClusterIndex {
+  private static final double TILE_SIZE_DP = 256;
+
+  /** The points of a cell of one zoom level. */
+  public static class Cell {
+    public final int level;
+    public final long key;
+    public final int count;
+    public final double lat;
+    public final double lng;
+    public final double minLat;
+    public final double minLng;
+    public final double maxLat;
+    public final double maxLng;
+    /** Indexes of the points in the cell, or null if it has too many points to be listed. */
+    public final @Nullable int[] items;
+
+    Cell(
+        int level,
+        long key,
+        int count,
+        double lat,
+        double lng,
+        double minLat,
+        double minLng,
+        double maxLat,
+        double maxLng,
+        @Nullable int[] items) {
+      this.level = level;
+      this.key = key;
+      this.count = count;
+      this.lat = lat;
+      this.lng = lng;
+      this.minLat = minLat;
+      this.minLng = minLng;
+      this.maxLat = maxLat;
+      this.maxLng = maxLng;
+      this.items = items;
+    }
+  }
+
+  private final double[] mLats;
+  private final double[] mLngs;
+  private final int mMaxLevel;
+  private final int mMinClusterSize;
+  private final double mCellSizeDp;
+  // Cells of each level by key, from level 0 to mMaxLevel.
+  private final List<Map<Long, Cell>> mLevels;
+
+  /**
+   * @param cellSizeDp Size of the cells on screen.
+   * @param maxLevel Finest zoom level points are clustered at.
+   * @param minClusterSize Fewest points shown as a cluster, cells with fewer are shown as points.
+   */
+  public ClusterIndex(
+      double[] lats, double[] lngs, double cellSizeDp, int maxLevel, int minClusterSize) {
+    mLats = lats;
+    mLngs = lngs;
+    mCellSizeDp = cellSizeDp;
+    mMaxLevel = Math.max(0, maxLevel);
+    mMinClusterSize = Math.max(2, minClusterSize);
+
+    mLevels = new ArrayList<>(Collections.nCopies(mMaxLevel + 1, (Map<Long, Cell>) null));
+    mLevels.set(mMaxLevel, buildFinestLevel());
+    for (int level = mMaxLevel - 1; level >= 0; level--) {
+      mLevels.set(level, mergeLevel(mLevels.get(level + 1), level));
+    }
+  }
+
+  public int getMaxLevel() {
+    return mMaxLevel;
+  }
+
+  public int getMinClusterSize() {
+    return mMinClusterSize;
+  }
+
+  public int size() {
+    return mLats.length;
+  }
+
+  public double getLat(int item) {
+    return mLats[item];
+  }
+
+  public double getLng(int item) {
+    return mLngs[item];
+  }
+
+  /** Returns the cells of the level overlapping the bounds. */
+  public List<Cell> getCells(
+      int level, double minLat, double minLng, double maxLat, double maxLng) {
+    level = Math.max(0, Math.min(mMaxLevel, level));
+    Map<Long, Cell> cells = mLevels.get(level);
+    double cellSize = getCellSize(level);
+    int minRow = getRow(minLat, cellSize);
+    int maxRow = getRow(maxLat, cellSize);
+    int columnCount = getColumnCount(cellSize);
+    int minColumn = getColumn(minLng, cellSize);
+    int maxColumn = getColumn(maxLng, cellSize);
+    double lngSpan = maxLng >= minLng ? maxLng - minLng : maxLng - minLng + 360;
+    if (lngSpan + cellSize >= 360) {
+      minColumn = 0;
+      maxColumn = columnCount - 1;
+    } else if (maxColumn < minColumn) {
+      // The bounds cross the antimeridian.
+      maxColumn += columnCount;
+    }
+
+    List<Cell> result = new ArrayList<>();
+    if ((long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1) > cells.size()) {
+      // Fewer cells are occupied than covered by the bounds, e.g. at low zoom levels.
+      for (Cell cell : cells.values()) {
+        int row = (int) (cell.key >> 32);
+        int column = (int) cell.key;
+        if (row >= minRow
+            && row <= maxRow
+            && (isBetween(column, minColumn, maxColumn)
+                || isBetween(column + columnCount, minColumn, maxColumn))) {
+          result.add(cell);
+        }
+      }
+      return result;
+    }
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        Cell cell = cells.get(getKey(row, column % columnCount));
+        if (cell != null) {
+          result.add(cell);
+        }
+      }
+    }
+    return result;
+  }
+
+  private Map<Long, Cell> buildFinestLevel() {
+    double cellSize = getCellSize(mMaxLevel);
+    Map<Long, List<Integer>> itemsByKey = new HashMap<>();
+    for (int i = 0; i < mLats.length; i++) {
+      long key = getKey(getRow(mLats[i], cellSize), getColumn(mLngs[i], cellSize));
+      List<Integer> items = itemsByKey.get(key);
+      if (items == null) {
+        items = new ArrayList<>(4);
+        itemsByKey.put(key, items);
+      }
+      items.add(i);
+    }
+
+    Map<Long, Cell> cells = new HashMap<>(itemsByKey.size() * 2);
+    for (Map.Entry<Long, List<Integer>> entry : itemsByKey.entrySet()) {
+      List<Integer> itemList = entry.getValue();
+      int[] items = new int[itemList.size()];
+      double sumLat = 0;
+      double sumLng = 0;
+      double minLat = Double.MAX_VALUE;
+      double minLng = Double.MAX_VALUE;
+      double maxLat = -Double.MAX_VALUE;
+      double maxLng = -Double.MAX_VALUE;
+      for (int i = 0; i < items.length; i++) {
+        int item = itemList.get(i);
+        items[i] = item;
+        sumLat += mLats[item];
+        sumLng += mLngs[item];
+        minLat = Math.min(minLat, mLats[item]);
+        minLng = Math.min(minLng, mLngs[item]);
+        maxLat = Math.max(maxLat, mLats[item]);
+        maxLng = Math.max(maxLng, mLngs[item]);
+      }
+      // The finest level always lists its points, they are shown past the last clustered level.
+      cells.put(
+          entry.getKey(),
+          new Cell(
+              mMaxLevel,
+              entry.getKey(),
+              items.length,
+              sumLat / items.length,
+              sumLng / items.length,
+              minLat,
+              minLng,
+              maxLat,
+              maxLng,
+              items));
+    }
+    return cells;
+  }
+
+  private Map<Long, Cell> mergeLevel(Map<Long, Cell> childCells, int level) {
+    Map<Long, List<Cell>> childrenByKey = new HashMap<>();
+    for (Cell child : childCells.values()) {
+      // Each cell holds the 2x2 cells of the level below.
+      int row = Math.floorDiv((int) (child.key >> 32), 2);
+      int column = Math.floorDiv((int) child.key, 2);
+      long key = getKey(row, column);
+      List<Cell> children = childrenByKey.get(key);
+      if (children == null) {
+        children = new ArrayList<>(4);
+        childrenByKey.put(key, children);
+      }
+      children.add(child);
+    }
+
+    Map<Long, Cell> cells = new HashMap<>(childrenByKey.size() * 2);
+    for (Map.Entry<Long, List<Cell>> entry : childrenByKey.entrySet()) {
+      int count = 0;
+      double sumLat = 0;
+      double sumLng = 0;
+      double minLat = Double.MAX_VALUE;
+      double minLng = Double.MAX_VALUE;
+      double maxLat = -Double.MAX_VALUE;
+      double maxLng = -Double.MAX_VALUE;
+      for (Cell child : entry.getValue()) {
+        count += child.count;
+        sumLat += child.lat * child.count;
+        sumLng += child.lng * child.count;
+        minLat = Math.min(minLat, child.minLat);
+        minLng = Math.min(minLng, child.minLng);
+        maxLat = Math.max(maxLat, child.maxLat);
+        maxLng = Math.max(maxLng, child.maxLng);
+      }
+
+      int[] items = null;
+      if (count < mMinClusterSize) {
+        // Small enough to be shown as points, which only happens below the minimum cluster size.
+        items = new int[count];
+        int size = 0;
+        for (Cell child : entry.getValue()) {
+          System.arraycopy(child.items, 0, items, size, child.items.length);
+          size += child.items.length;
+        }
+      }
+      cells.put(
+          entry.getKey(),
+          new Cell(
+              level,
+              entry.getKey(),
+              count,
+              sumLat / count,
+              sumLng / count,
+              minLat,
+              minLng,
+              maxLat,
+              maxLng,
+              items));
+    }
+    return cells;
+  }
+
+  /** Size of the cells of the level, in Mercator degrees. */
+  private double getCellSize(int level) {
+    return mCellSizeDp * 360 / (TILE_SIZE_DP * Math.pow(2, level));
+  }
+
+  private static int getRow(double lat, double cellSize) {
+    double clampedLat = Math.max(-85, Math.min(85, lat));
+    double mercatorY =
+        Math.toDegrees(Math.log(Math.tan(Math.PI / 4 + Math.toRadians(clampedLat) / 2)));
+    return (int) Math.floor(mercatorY / cellSize);
+  }
+
+  private static int getColumn(double lng, double cellSize) {
+    double wrappedLng = ((lng + 180) % 360 + 360) % 360;
+    return (int) Math.floor(wrappedLng / cellSize);
+  }
+
+  private static int getColumnCount(double cellSize) {
+    return (int) Math.ceil(360 / cellSize);
+  }
+
+  private static boolean isBetween(int value, int min, int max) {
+    return value >= min && value <= max;
+  }
+
+  private static long getKey(int row, int column) {
+    return ((long) row << 32) | (column & 0xffffffffL);
+  }
+}
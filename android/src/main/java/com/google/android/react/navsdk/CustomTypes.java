@@ -18,4 +18,14 @@ public class CustomTypes {
     MAP,
     NAVIGATION
   }
+
+  /** Format of the coordinates returned for route segments and the traveled path. */
+  public enum GeometryFormat {
+    /** A list of lat/lng maps. */
+    LAT_LNG_LIST,
+    /** A Google encoded polyline string. */
+    ENCODED_POLYLINE,
+    /** A flat array of alternating latitudes and longitudes. */
+    FLAT_ARRAY
+  }
 }
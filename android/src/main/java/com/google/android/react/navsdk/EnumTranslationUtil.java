@@ -98,4 +98,15 @@ public class EnumTranslationUtil {
         return CustomTypes.FragmentType.NAVIGATION;
     }
   }
+
+  public static CustomTypes.GeometryFormat getGeometryFormatFromJsValue(int jsValue) {
+    switch (jsValue) {
+      case 1:
+        return CustomTypes.GeometryFormat.ENCODED_POLYLINE;
+      case 2:
+        return CustomTypes.GeometryFormat.FLAT_ARRAY;
+      default:
+        return CustomTypes.GeometryFormat.LAT_LNG_LIST;
+    }
+  }
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps a reference count of the subscribers of each event, so that native listeners are only
+ * attached and payloads are only serialized for events someone is listening to.
+ */
+public class EventSubscriptionRegistry {
+  /** Notified when an event gets its first subscriber or loses its last one. */
+  public interface OnSubscriptionChangedListener {
+    void onSubscriptionChanged(String eventName, boolean isSubscribed);
+  }
+
+  private final Map<String, Integer> mSubscriberCounts = new HashMap<>();
+  private final OnSubscriptionChangedListener mListener;
+
+  public EventSubscriptionRegistry(OnSubscriptionChangedListener listener) {
+    mListener = listener;
+  }
+
+  public void subscribe(String eventName) {
+    int count;
+    synchronized (mSubscriberCounts) {
+      Integer current = mSubscriberCounts.get(eventName);
+      count = (current != null ? current : 0) + 1;
+      mSubscriberCounts.put(eventName, count);
+    }
+    if (count == 1) {
+      mListener.onSubscriptionChanged(eventName, true);
+    }
+  }
+
+  public void unsubscribe(String eventName) {
+    synchronized (mSubscriberCounts) {
+      Integer current = mSubscriberCounts.get(eventName);
+      if (current == null) {
+        return;
+      }
+      if (current > 1) {
+        mSubscriberCounts.put(eventName, current - 1);
+        return;
+      }
+      mSubscriberCounts.remove(eventName);
+    }
+    mListener.onSubscriptionChanged(eventName, false);
+  }
+
+  public boolean isSubscribed(String eventName) {
+    synchronized (mSubscriberCounts) {
+      return mSubscriberCounts.containsKey(eventName);
+    }
+  }
+
+  /** Drops all subscriptions, e.g. when the JS context they belong to goes away. */
+  public void clear() {
+    String[] eventNames;
+    synchronized (mSubscriberCounts) {
+      eventNames = mSubscriberCounts.keySet().toArray(new String[0]);
+      mSubscriberCounts.clear();
+    }
+    for (String eventName : eventNames) {
+      mListener.onSubscriptionChanged(eventName, false);
+    }
+  }
+}
@@ -0,0 +1,419 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.location.Location;
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.google.android.libraries.navigation.RoadSnappedLocationProvider;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks road-snapped locations against circular and polygonal geofences and reports only the
+ * transitions: entering, exiting, and dwelling once a geofence has been occupied for its dwell
+ * time. Geofences are indexed on a grid, so a location is only tested against the geofences whose
+ * bounds cover it.
+ */
+public class GeofenceEvaluator implements RoadSnappedLocationProvider.LocationListener {
+  // Transition values match the GeofenceTransition enum on the JS side.
+  public static final int TRANSITION_ENTER = 0;
+  public static final int TRANSITION_EXIT = 1;
+  public static final int TRANSITION_DWELL = 2;
+
+  private static final double METERS_PER_DEGREE = 111320;
+  private static final double EARTH_RADIUS_METERS = 6371009;
+  private static final double GRID_CELL_SIZE_DEGREES = 0.01;
+  // Geofences spanning more degrees than this are kept out of the grid and always tested.
+  private static final double MAX_INDEXED_SPAN_DEGREES = 1;
+
+  public static class Transition {
+    public final String id;
+    public final int type;
+
+    Transition(String id, int type) {
+      this.id = id;
+      this.type = type;
+    }
+  }
+
+  public interface Listener {
+    void onGeofenceTransitions(List<Transition> transitions);
+  }
+
+  /** Geofences parsed from a list, with an error message for each geofence that was skipped. */
+  public static class ParseResult {
+    public final List<Geofence> geofences;
+    public final List<String> errors;
+
+    ParseResult(List<Geofence> geofences, List<String> errors) {
+      this.geofences = geofences;
+      this.errors = errors;
+    }
+  }
+
+  public static class Geofence {
+    final String id;
+    final long dwellTimeMs;
+    // Circle, when radiusMeters is positive.
+    final double centerLat;
+    final double centerLng;
+    final double radiusMeters;
+    // Polygon, as vertex coordinates.
+    final double[] lats;
+    final double[] lngs;
+    final double minLat;
+    final double minLng;
+    final double maxLat;
+    final double maxLng;
+
+    private Geofence(
+        String id,
+        long dwellTimeMs,
+        double centerLat,
+        double centerLng,
+        double radiusMeters,
+        double[] lats,
+        double[] lngs) {
+      this.id = id;
+      this.dwellTimeMs = dwellTimeMs;
+      this.centerLat = centerLat;
+      this.centerLng = centerLng;
+      this.radiusMeters = radiusMeters;
+      this.lats = lats;
+      this.lngs = lngs;
+
+      if (radiusMeters > 0) {
+        double latRadius = radiusMeters / METERS_PER_DEGREE;
+        double lngRadius =
+            radiusMeters
+                / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(centerLat))));
+        minLat = centerLat - latRadius;
+        minLng = centerLng - lngRadius;
+        maxLat = centerLat + latRadius;
+        maxLng = centerLng + lngRadius;
+      } else {
+        minLat = getMin(lats);
+        minLng = getMin(lngs);
+        maxLat = getMax(lats);
+        maxLng = getMax(lngs);
+      }
+    }
+
+    boolean isIndexed() {
+      return maxLat - minLat <= MAX_INDEXED_SPAN_DEGREES
+          && maxLng - minLng <= MAX_INDEXED_SPAN_DEGREES;
+    }
+
+    boolean contains(double lat, double lng) {
+      if (radiusMeters > 0) {
+        return getDistanceMeters(centerLat, centerLng, lat, lng) <= radiusMeters;
+      }
+      // Ray casting, counting the polygon edges crossed eastwards from the point.
+      boolean isInside = false;
+      for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+        if ((lats[i] > lat) != (lats[j] > lat)
+            && lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+          isInside = !isInside;
+        }
+      }
+      return isInside;
+    }
+  }
+
+  private final Listener mListener;
+  private @Nullable RoadSnappedLocationProvider mLocationProvider;
+
+  // Removed geofences leave a null slot, which is reused by the next geofence added.
+  private final List<Geofence> mGeofences = new ArrayList<>();
+  private final List<Integer> mFreeSlots = new ArrayList<>();
+  private final Map<String, Integer> mSlots = new HashMap<>();
+  private SpatialGridIndex mIndex = new SpatialGridIndex(GRID_CELL_SIZE_DEGREES);
+  private final List<Integer> mLargeGeofenceSlots = new ArrayList<>();
+  // Slots of the geofences the last location was in, with the time it entered them.
+  private final Map<Integer, Long> mEnterTimes = new HashMap<>();
+  private final Map<Integer, Boolean> mIsDwellReported = new HashMap<>();
+
+  public GeofenceEvaluator(Listener listener) {
+    mListener = listener;
+  }
+
+  public synchronized void attach(RoadSnappedLocationProvider provider) {
+    if (mLocationProvider != null) {
+      return;
+    }
+    mLocationProvider = provider;
+    provider.addLocationListener(this);
+  }
+
+  public synchronized void detach() {
+    if (mLocationProvider != null) {
+      mLocationProvider.removeLocationListener(this);
+      mLocationProvider = null;
+    }
+  }
+
+  /** Adds the geofences, replacing existing ones with the same id. */
+  public synchronized void addGeofences(List<Geofence> geofences) {
+    for (Geofence geofence : geofences) {
+      removeGeofence(geofence.id);
+
+      int slot;
+      if (!mFreeSlots.isEmpty()) {
+        slot = mFreeSlots.remove(mFreeSlots.size() - 1);
+        mGeofences.set(slot, geofence);
+      } else {
+        slot = mGeofences.size();
+        mGeofences.add(geofence);
+      }
+      mSlots.put(geofence.id, slot);
+
+      if (geofence.isIndexed()) {
+        mIndex.add(slot, geofence.minLat, geofence.minLng, geofence.maxLat, geofence.maxLng);
+      } else {
+        mLargeGeofenceSlots.add(slot);
+      }
+    }
+  }
+
+  /** Removes the geofences without reporting exits from them. */
+  public synchronized void removeGeofences(List<String> ids) {
+    for (String id : ids) {
+      removeGeofence(id);
+    }
+  }
+
+  public synchronized void clear() {
+    mGeofences.clear();
+    mFreeSlots.clear();
+    mSlots.clear();
+    mIndex = new SpatialGridIndex(GRID_CELL_SIZE_DEGREES);
+    mLargeGeofenceSlots.clear();
+    mEnterTimes.clear();
+    mIsDwellReported.clear();
+  }
+
+  private void removeGeofence(String id) {
+    Integer slot = mSlots.remove(id);
+    if (slot == null) {
+      return;
+    }
+    Geofence geofence = mGeofences.set(slot, null);
+    if (geofence.isIndexed()) {
+      mIndex.remove(slot, geofence.minLat, geofence.minLng, geofence.maxLat, geofence.maxLng);
+    } else {
+      mLargeGeofenceSlots.remove(slot);
+    }
+    mFreeSlots.add(slot);
+    mEnterTimes.remove(slot);
+    mIsDwellReported.remove(slot);
+  }
+
+  /** Returns the number of slots, used or free, for tests. */
+  synchronized int getSlotCount() {
+    return mGeofences.size();
+  }
+
+  /** Returns the number of grid cell entries, for tests. */
+  synchronized int getIndexEntryCount() {
+    return mIndex.getEntryCount();
+  }
+
+  @Override
+  public void onLocationChanged(Location location) {
+    List<Transition> transitions =
+        evaluate(location.getLatitude(), location.getLongitude(), SystemClock.elapsedRealtime());
+    if (!transitions.isEmpty()) {
+      mListener.onGeofenceTransitions(transitions);
+    }
+  }
+
+  /** Returns the transitions caused by moving to the position at the given time. */
+  public synchronized List<Transition> evaluate(double lat, double lng, long timeMs) {
+    List<Transition> transitions = new ArrayList<>();
+    Map<Integer, Boolean> isInside = new HashMap<>();
+
+    for (int slot : mIndex.query(lat, lng, 0)) {
+      checkGeofence(slot, lat, lng, timeMs, isInside, transitions);
+    }
+    for (int slot : mLargeGeofenceSlots) {
+      checkGeofence(slot, lat, lng, timeMs, isInside, transitions);
+    }
+
+    Iterator<Map.Entry<Integer, Long>> iterator = mEnterTimes.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, Long> entry = iterator.next();
+      int slot = entry.getKey();
+      Geofence geofence = mGeofences.get(slot);
+      if (!isInside.containsKey(slot)) {
+        iterator.remove();
+        mIsDwellReported.remove(slot);
+        transitions.add(new Transition(geofence.id, TRANSITION_EXIT));
+      } else if (geofence.dwellTimeMs > 0
+          && !mIsDwellReported.containsKey(slot)
+          && timeMs - entry.getValue() >= geofence.dwellTimeMs) {
+        mIsDwellReported.put(slot, true);
+        transitions.add(new Transition(geofence.id, TRANSITION_DWELL));
+      }
+    }
+    return transitions;
+  }
+
+  private void checkGeofence(
+      int slot,
+      double lat,
+      double lng,
+      long timeMs,
+      Map<Integer, Boolean> isInside,
+      List<Transition> transitions) {
+    Geofence geofence = mGeofences.get(slot);
+    if (geofence != null && geofence.contains(lat, lng)) {
+      isInside.put(slot, true);
+      if (!mEnterTimes.containsKey(slot)) {
+        mEnterTimes.put(slot, timeMs);
+        transitions.add(new Transition(geofence.id, TRANSITION_ENTER));
+      }
+    }
+  }
+
+  /**
+   * Parses the JS geofences. Each one has an id and either a center with a radiusMeters or a
+   * polygon of at least 3 points, and optionally a dwellTimeMs. Invalid geofences are skipped with
+   * an error message naming their index.
+   */
+  public static ParseResult parse(ReadableArray geofences) {
+    List<Geofence> parsed = new ArrayList<>(geofences.size());
+    List<String> errors = new ArrayList<>();
+
+    for (int i = 0; i < geofences.size(); i++) {
+      if (geofences.getType(i) != ReadableType.Map) {
+        errors.add(getErrorMessage(i, "Geofence has to be an object"));
+        continue;
+      }
+      ReadableMap map = geofences.getMap(i);
+      String id = WaypointParser.getString(map, "id");
+      if (id == null) {
+        errors.add(getErrorMessage(i, "Geofence has to have a string id"));
+        continue;
+      }
+      long dwellTimeMs = 0;
+      if (WaypointParser.hasValue(map, "dwellTimeMs")) {
+        Double dwellTime = WaypointParser.getDouble(map, "dwellTimeMs");
+        if (dwellTime == null || dwellTime < 0) {
+          errors.add(getErrorMessage(i, "Dwell time has to be a non-negative number"));
+          continue;
+        }
+        dwellTimeMs = dwellTime.longValue();
+      }
+
+      if (WaypointParser.hasValue(map, "center")) {
+        double[] center = getLatLng(map, "center");
+        if (center == null) {
+          errors.add(getErrorMessage(i, "Center has to have numeric lat and lng"));
+          continue;
+        }
+        Double radiusMeters =
+            WaypointParser.hasValue(map, "radiusMeters")
+                ? WaypointParser.getDouble(map, "radiusMeters")
+                : null;
+        if (radiusMeters == null || radiusMeters <= 0) {
+          errors.add(getErrorMessage(i, "Radius has to be a positive number"));
+          continue;
+        }
+        parsed.add(new Geofence(id, dwellTimeMs, center[0], center[1], radiusMeters, null, null));
+      } else if (WaypointParser.hasValue(map, "polygon")
+          && map.getType("polygon") == ReadableType.Array) {
+        ReadableArray polygon = map.getArray("polygon");
+        if (polygon.size() < 3) {
+          errors.add(getErrorMessage(i, "Polygon has to have at least 3 points"));
+          continue;
+        }
+        double[] lats = new double[polygon.size()];
+        double[] lngs = new double[polygon.size()];
+        boolean isValid = true;
+        for (int j = 0; j < polygon.size() && isValid; j++) {
+          double[] point =
+              polygon.getType(j) == ReadableType.Map ? getLatLng(polygon.getMap(j)) : null;
+          isValid = point != null;
+          if (isValid) {
+            lats[j] = point[0];
+            lngs[j] = point[1];
+          }
+        }
+        if (!isValid) {
+          errors.add(getErrorMessage(i, "Polygon points have to have numeric lat and lng"));
+          continue;
+        }
+        parsed.add(new Geofence(id, dwellTimeMs, 0, 0, 0, lats, lngs));
+      } else {
+        errors.add(getErrorMessage(i, "Either a center and a radius or a polygon has to be set"));
+      }
+    }
+    return new ParseResult(parsed, errors);
+  }
+
+  /** Reads the lat/lng object under the key as {lat, lng}, or returns null if it isn't one. */
+  @Nullable
+  private static double[] getLatLng(ReadableMap map, String key) {
+    return map.getType(key) == ReadableType.Map ? getLatLng(map.getMap(key)) : null;
+  }
+
+  @Nullable
+  private static double[] getLatLng(ReadableMap latLng) {
+    if (!WaypointParser.hasValue(latLng, "lat") || !WaypointParser.hasValue(latLng, "lng")) {
+      return null;
+    }
+    Double lat = WaypointParser.getDouble(latLng, "lat");
+    Double lng = WaypointParser.getDouble(latLng, "lng");
+    return lat != null && lng != null ? new double[] {lat, lng} : null;
+  }
+
+  private static String getErrorMessage(int index, String message) {
+    return "Geofence " + index + ": " + message;
+  }
+
+  private static double getMin(double[] values) {
+    double min = Double.POSITIVE_INFINITY;
+    for (double value : values) {
+      min = Math.min(min, value);
+    }
+    return min;
+  }
+
+  private static double getMax(double[] values) {
+    double max = Double.NEGATIVE_INFINITY;
+    for (double value : values) {
+      max = Math.max(max, value);
+    }
+    return max;
+  }
+
+  private static double getDistanceMeters(double lat1, double lng1, double lat2, double lng2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLng = Math.toRadians(lng2 - lng1);
+    double a =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2)
+                * Math.sin(dLng / 2);
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+  }
+}
@@ -21,4 +21,8 @@ public class JsErrors {
   public static final String NO_MAP_ERROR_CODE = "NO_MAP_ERROR_CODE";
   public static final String NO_MAP_ERROR_MESSAGE =
       "Make sure to initialize the map view has been initialized before executing.";
+
+  public static final String ADD_OVERLAYS_ERROR_CODE = "ADD_OVERLAYS_ERROR_CODE";
+
+  public static final String ADD_GEOFENCES_ERROR_CODE = "ADD_GEOFENCES_ERROR_CODE";
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.location.Location;
+import androidx.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Decides which location fixes are forwarded to JS. A fix is accepted once the minimum interval
+ * since the last accepted fix has elapsed and it moved or turned enough. While the device is
+ * stationary a separate, usually longer, interval applies and fixes are accepted regardless of
+ * the distance moved. With the default options every fix is accepted.
+ *
+ * <p>The minimum distance grows with the speed: it is the larger of the base distance and the
+ * distance covered at the current speed in the speed factor, so faster devices are sampled more
+ * sparsely in space but not in time.
+ */
+public class LocationFilter {
+  private long mMinIntervalMs = 0;
+  private float mMinDistanceMeters = 0;
+  private float mMinDistanceSpeedFactorSeconds = 0;
+  private float mMinBearingChangeDegrees = 0;
+  private float mStationarySpeedMps = 0;
+  private long mStationaryIntervalMs = 0;
+
+  private @Nullable Location mLastAccepted;
+
+  public synchronized void setOptions(Map<String, Object> options) {
+    mMinIntervalMs = CollectionUtil.getInt("minIntervalMs", options, 0);
+    mMinDistanceMeters = (float) CollectionUtil.getDouble("minDistanceMeters", options, 0);
+    mMinDistanceSpeedFactorSeconds =
+        (float) CollectionUtil.getDouble("minDistanceSpeedFactorSeconds", options, 0);
+    mMinBearingChangeDegrees =
+        (float) CollectionUtil.getDouble("minBearingChangeDegrees", options, 0);
+    mStationarySpeedMps = (float) CollectionUtil.getDouble("stationarySpeedMps", options, 0);
+    mStationaryIntervalMs = CollectionUtil.getInt("stationaryIntervalMs", options, 0);
+    mLastAccepted = null;
+  }
+
+  /** Returns whether the fix should be forwarded, and if so records it as the last one. */
+  public synchronized boolean accept(Location location) {
+    if (mLastAccepted == null || isAccepted(mLastAccepted, location)) {
+      mLastAccepted = location;
+      return true;
+    }
+    return false;
+  }
+
+  public synchronized void reset() {
+    mLastAccepted = null;
+  }
+
+  private boolean isAccepted(Location last, Location location) {
+    float speedMps = location.hasSpeed() ? location.getSpeed() : Float.NaN;
+    float bearingChangeDegrees =
+        last.hasBearing() && location.hasBearing()
+            ? getBearingChange(last.getBearing(), location.getBearing())
+            : Float.NaN;
+    return isAccepted(
+        location.getTime() - last.getTime(),
+        last.distanceTo(location),
+        speedMps,
+        bearingChangeDegrees);
+  }
+
+  /**
+   * Returns whether a fix is accepted given how it differs from the last accepted one. The speed
+   * and bearing change are NaN when unknown.
+   */
+  synchronized boolean isAccepted(
+      long elapsedMs, float distanceMeters, float speedMps, float bearingChangeDegrees) {
+    if (elapsedMs < 0) {
+      // Clock went backwards, start over from this fix.
+      return true;
+    }
+
+    boolean isStationary = speedMps < mStationarySpeedMps;
+    if (isStationary) {
+      return elapsedMs >= mStationaryIntervalMs;
+    }
+    if (elapsedMs < mMinIntervalMs) {
+      return false;
+    }
+
+    float minDistanceMeters = getMinDistanceMeters(speedMps);
+    if (minDistanceMeters <= 0 && mMinBearingChangeDegrees <= 0) {
+      return true;
+    }
+    if (minDistanceMeters > 0 && distanceMeters >= minDistanceMeters) {
+      return true;
+    }
+    return mMinBearingChangeDegrees > 0 && bearingChangeDegrees >= mMinBearingChangeDegrees;
+  }
+
+  private float getMinDistanceMeters(float speedMps) {
+    if (Float.isNaN(speedMps)) {
+      return mMinDistanceMeters;
+    }
+    return Math.max(mMinDistanceMeters, speedMps * mMinDistanceSpeedFactorSeconds);
+  }
+
+  static float getBearingChange(float from, float to) {
+    float change = Math.abs(to - from) % 360;
+    return change > 180 ? 360 - change : change;
+  }
+}
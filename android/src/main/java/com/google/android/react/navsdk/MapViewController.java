@@ -16,12 +16,12 @@ package com.google.android.react.navsdk;
 import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.graphics.Color;
+import androidx.annotation.Nullable;
 import androidx.core.util.Supplier;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.BitmapDescriptor;
-import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.Circle;
 import com.google.android.gms.maps.model.CircleOptions;
@@ -50,16 +50,21 @@ public class MapViewController {
   private GoogleMap mGoogleMap;
   private Supplier<Activity> activitySupplier;
   private INavigationViewCallback mNavigationViewCallback;
-  private final List<Marker> markerList = new ArrayList<>();
-  private final List<Polyline> polylineList = new ArrayList<>();
-  private final List<Polygon> polygonList = new ArrayList<>();
-  private final List<GroundOverlay> groundOverlayList = new ArrayList<>();
-  private final List<Circle> circleList = new ArrayList<>();
+  // Overlays are only accessed on the UI thread.
+  private final OverlayRegistry<Marker> mMarkers = new OverlayRegistry<>();
+  private final OverlayRegistry<Polyline> mPolylines = new OverlayRegistry<>();
+  private final OverlayRegistry<Polygon> mPolygons = new OverlayRegistry<>();
+  private final OverlayRegistry<GroundOverlay> mGroundOverlays = new OverlayRegistry<>();
+  private final OverlayRegistry<Circle> mCircles = new OverlayRegistry<>();
+  private @Nullable MarkerClusterer mMarkerClusterer;
+  private @Nullable OverlayCuller mOverlayCuller;
+  private boolean mIsViewportCullingEnabled = false;
   private String style = "";
 
   public void initialize(GoogleMap googleMap, Supplier<Activity> activitySupplier) {
     this.mGoogleMap = googleMap;
     this.activitySupplier = activitySupplier;
+    googleMap.setOnCameraIdleListener(this::onCameraIdle);
   }
 
   public void setupMapListeners(INavigationViewCallback navigationViewCallback) {
@@ -68,6 +73,9 @@ public class MapViewController {
 
     mGoogleMap.setOnMarkerClickListener(
         marker -> {
+          if (mMarkerClusterer != null && mMarkerClusterer.onMarkerClick(marker)) {
+            return true;
+          }
           mNavigationViewCallback.onMarkerClick(marker);
           return false;
         });
@@ -88,11 +96,74 @@ public class MapViewController {
     return mGoogleMap;
   }
 
+  private void onCameraIdle() {
+    if (mMarkerClusterer != null) {
+      mMarkerClusterer.onCameraIdle();
+    }
+    if (mOverlayCuller != null) {
+      mOverlayCuller.onCameraIdle();
+    }
+  }
+
+  /**
+   * Sets whether overlays added in bulk are only added to the map when they are near the visible
+   * region. Overlays added before keep being shown the way they were added.
+   */
+  public void setViewportCullingEnabled(boolean isOn, Map<String, Object> options) {
+    if (mGoogleMap == null) {
+      return;
+    }
+    mIsViewportCullingEnabled = isOn;
+    if (isOn) {
+      if (mOverlayCuller == null) {
+        mOverlayCuller = new OverlayCuller(mGoogleMap);
+      }
+      mOverlayCuller.setOptions(options);
+    }
+  }
+
+  public boolean isViewportCullingEnabled() {
+    return mIsViewportCullingEnabled;
+  }
+
+  /** Adds the overlay to the culler and returns its id, see setViewportCullingEnabled. */
+  public String addCulledOverlay(OverlayBatch.Type type, Object options, @Nullable String tag) {
+    return mOverlayCuller.add(type, options, tag);
+  }
+
+  private boolean removeCulledOverlay(OverlayBatch.Type type, String id) {
+    return mOverlayCuller != null && mOverlayCuller.remove(type, id);
+  }
+
+  /** Replaces the points shown with clustering, or removes them if the data is null. */
+  public void setClusterData(@Nullable MarkerClusterer.Data data) {
+    if (mGoogleMap == null) {
+      return;
+    }
+    if (mMarkerClusterer == null) {
+      mMarkerClusterer = new MarkerClusterer(mGoogleMap);
+    }
+    mMarkerClusterer.setData(data);
+  }
+
   public Circle addCircle(Map<String, Object> optionsMap) {
+    return addCircle(getCircleOptions(optionsMap), CollectionUtil.getString("tag", optionsMap));
+  }
+
+  public Circle addCircle(CircleOptions options, @Nullable String tag) {
     if (mGoogleMap == null) {
       return null;
     }
 
+    Circle circle = mGoogleMap.addCircle(options);
+    circle.setTag(tag);
+    mCircles.put(circle.getId(), circle, tag);
+
+    return circle;
+  }
+
+  /** Reads the options of a circle. Doesn't touch the map, so it can be done off the UI thread. */
+  public static CircleOptions getCircleOptions(Map<String, Object> optionsMap) {
     CircleOptions options = new CircleOptions();
 
     float strokeWidth =
@@ -121,18 +192,31 @@ public class MapViewController {
       options.fillColor(Color.parseColor(fillColor));
     }
 
-    Circle circle = mGoogleMap.addCircle(options);
-    circleList.add(circle);
-
-    return circle;
+    return options;
   }
 
   public Marker addMarker(Map<String, Object> optionsMap) {
+    return addMarker(getMarkerOptions(optionsMap), CollectionUtil.getString("tag", optionsMap));
+  }
+
+  public Marker addMarker(MarkerOptions options, @Nullable String tag) {
     if (mGoogleMap == null) {
       return null;
     }
 
+    Marker marker = mGoogleMap.addMarker(options);
+    marker.setTag(tag);
+    mMarkers.put(marker.getId(), marker, tag);
+
+    return marker;
+  }
+
+  /** Reads the options of a marker. Doesn't touch the map, so it can be done off the UI thread. */
+  public static MarkerOptions getMarkerOptions(Map<String, Object> optionsMap) {
     String imagePath = CollectionUtil.getString("imgPath", optionsMap);
+    String imageTintColor = CollectionUtil.getString("imgTintColor", optionsMap);
+    float imageScale =
+        Double.valueOf(CollectionUtil.getDouble("imgScale", optionsMap, 1)).floatValue();
     String title = CollectionUtil.getString("title", optionsMap);
     String snippet = CollectionUtil.getString("snippet", optionsMap);
     float alpha = Double.valueOf(CollectionUtil.getDouble("alpha", optionsMap, 1)).floatValue();
@@ -144,7 +228,10 @@ public class MapViewController {
 
     MarkerOptions options = new MarkerOptions();
     if (imagePath != null && !imagePath.isEmpty()) {
-      BitmapDescriptor icon = BitmapDescriptorFactory.fromAsset(imagePath);
+      BitmapDescriptorCache.Variant variant =
+          new BitmapDescriptorCache.Variant(
+              imageTintColor != null ? Color.parseColor(imageTintColor) : null, imageScale);
+      BitmapDescriptor icon = BitmapDescriptorCache.fromAsset(imagePath, variant);
       options.icon(icon);
     }
 
@@ -165,34 +252,63 @@ public class MapViewController {
     options.draggable(draggable);
     options.visible(visible);
 
-    Marker marker = mGoogleMap.addMarker(options);
-
-    markerList.add(marker);
-
-    return marker;
+    return options;
   }
 
   public Polyline addPolyline(Map<String, Object> optionsMap) {
+    PolylineOptions options = getPolylineOptions(optionsMap);
+    if (options == null) {
+      return null;
+    }
+    return addPolyline(options, CollectionUtil.getString("tag", optionsMap));
+  }
+
+  public Polyline addPolyline(PolylineOptions options, @Nullable String tag) {
     if (mGoogleMap == null) {
       return null;
     }
 
+    Polyline polyline = mGoogleMap.addPolyline(options);
+    polyline.setTag(tag);
+    mPolylines.put(polyline.getId(), polyline, tag);
+
+    return polyline;
+  }
+
+  /**
+   * Reads the options of a polyline, or returns null if it has no valid path. Doesn't touch the
+   * map, so it can be done off the UI thread.
+   */
+  @Nullable
+  public static PolylineOptions getPolylineOptions(Map<String, Object> optionsMap) {
     float width = Double.valueOf(CollectionUtil.getDouble("width", optionsMap, 0)).floatValue();
     boolean clickable = CollectionUtil.getBool("clickable", optionsMap, false);
     boolean visible = CollectionUtil.getBool("visible", optionsMap, true);
 
+    String encodedPath = CollectionUtil.getString("encodedPath", optionsMap);
     ArrayList latLngArr = (ArrayList) optionsMap.get("points");
 
-    if (latLngArr == null) {
+    List<LatLng> points;
+    if (encodedPath != null && !encodedPath.isEmpty()) {
+      try {
+        points = PolylineEncoding.decode(encodedPath);
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    } else if (latLngArr != null) {
+      points = new ArrayList<>(latLngArr.size());
+      for (int i = 0; i < latLngArr.size(); i++) {
+        Map<String, Object> latLngMap = (Map<String, Object>) latLngArr.get(i);
+        points.add(createLatLng(latLngMap));
+      }
+    } else {
       return null;
     }
 
+    PathSimplifier pathSimplifier =
+        PathSimplifier.fromMap((Map<String, Object>) optionsMap.get("simplification"));
     PolylineOptions options = new PolylineOptions();
-    for (int i = 0; i < latLngArr.size(); i++) {
-      Map<String, Object> latLngMap = (Map<String, Object>) latLngArr.get(i);
-      LatLng latLng = createLatLng(latLngMap);
-      options.add(latLng);
-    }
+    options.addAll(pathSimplifier.simplify(points));
 
     String color = CollectionUtil.getString("color", optionsMap);
     if (color != null) {
@@ -203,17 +319,27 @@ public class MapViewController {
     options.clickable(clickable);
     options.visible(visible);
 
-    Polyline polyline = mGoogleMap.addPolyline(options);
-    polylineList.add(polyline);
-
-    return polyline;
+    return options;
   }
 
   public Polygon addPolygon(Map<String, Object> optionsMap) {
+    return addPolygon(getPolygonOptions(optionsMap), CollectionUtil.getString("tag", optionsMap));
+  }
+
+  public Polygon addPolygon(PolygonOptions options, @Nullable String tag) {
     if (mGoogleMap == null) {
       return null;
     }
 
+    Polygon polygon = mGoogleMap.addPolygon(options);
+    polygon.setTag(tag);
+    mPolygons.put(polygon.getId(), polygon, tag);
+
+    return polygon;
+  }
+
+  /** Reads the options of a polygon. Doesn't touch the map, so it can be done off the UI thread. */
+  public static PolygonOptions getPolygonOptions(Map<String, Object> optionsMap) {
     String strokeColor = CollectionUtil.getString("strokeColor", optionsMap);
     String fillColor = CollectionUtil.getString("fillColor", optionsMap);
     float strokeWidth =
@@ -233,7 +359,7 @@ public class MapViewController {
 
     ArrayList holesArr = (ArrayList) optionsMap.get("holes");
 
-    for (int i = 0; i < holesArr.size(); i++) {
+    for (int i = 0; holesArr != null && i < holesArr.size(); i++) {
       ArrayList arr = (ArrayList) holesArr.get(i);
 
       List<LatLng> listHoles = new ArrayList<>();
@@ -261,17 +387,29 @@ public class MapViewController {
     options.geodesic(geodesic);
     options.clickable(clickable);
 
-    Polygon polygon = mGoogleMap.addPolygon(options);
-    polygonList.add(polygon);
-
-    return polygon;
+    return options;
   }
 
   public GroundOverlay addGroundOverlay(Map<String, Object> map) {
+    return addGroundOverlay(getGroundOverlayOptions(map), CollectionUtil.getString("tag", map));
+  }
+
+  public GroundOverlay addGroundOverlay(GroundOverlayOptions options, @Nullable String tag) {
     if (mGoogleMap == null) {
       return null;
     }
 
+    GroundOverlay groundOverlay = mGoogleMap.addGroundOverlay(options);
+    groundOverlay.setTag(tag);
+    mGroundOverlays.put(groundOverlay.getId(), groundOverlay, tag);
+    return groundOverlay;
+  }
+
+  /**
+   * Reads the options of a ground overlay. Doesn't touch the map, so it can be done off the UI
+   * thread.
+   */
+  public static GroundOverlayOptions getGroundOverlayOptions(Map<String, Object> map) {
     String imagePath = CollectionUtil.getString("imgPath", map);
     float width = Double.valueOf(CollectionUtil.getDouble("width", map, 0)).floatValue();
     float height = Double.valueOf(CollectionUtil.getDouble("height", map, 0)).floatValue();
@@ -290,71 +428,121 @@ public class MapViewController {
 
     GroundOverlayOptions options = new GroundOverlayOptions();
     if (imagePath != null && !imagePath.isEmpty()) {
-      BitmapDescriptor bitmapDescriptor = BitmapDescriptorFactory.fromAsset(imagePath);
+      BitmapDescriptor bitmapDescriptor =
+          BitmapDescriptorCache.fromAsset(imagePath, BitmapDescriptorCache.Variant.NONE);
       options.image(bitmapDescriptor);
     }
     options.position(new LatLng(lat, lng), width, height);
     options.transparency(transparency);
     options.clickable(clickable);
     options.visible(visible);
-    GroundOverlay groundOverlay = mGoogleMap.addGroundOverlay(options);
-    groundOverlayList.add(groundOverlay);
-    return groundOverlay;
+    return options;
   }
 
   public void removeMarker(String id) {
     UiThreadUtil.runOnUiThread(
         () -> {
-          for (Marker m : markerList) {
-            if (m.getId().equals(id)) {
-              m.remove();
-              markerList.remove(m);
-              return;
-            }
+          if (removeCulledOverlay(OverlayBatch.Type.MARKER, id)) {
+            return;
+          }
+          Marker marker = mMarkers.remove(id);
+          if (marker != null) {
+            marker.remove();
           }
         });
   }
 
   public void removePolyline(String id) {
-    for (Polyline p : polylineList) {
-      if (p.getId().equals(id)) {
-        p.remove();
-        polylineList.remove(p);
-        return;
-      }
+    if (removeCulledOverlay(OverlayBatch.Type.POLYLINE, id)) {
+      return;
+    }
+    Polyline polyline = mPolylines.remove(id);
+    if (polyline != null) {
+      polyline.remove();
     }
   }
 
   public void removePolygon(String id) {
-    for (Polygon p : polygonList) {
-      if (p.getId().equals(id)) {
-        p.remove();
-        polygonList.remove(p);
-        return;
-      }
+    if (removeCulledOverlay(OverlayBatch.Type.POLYGON, id)) {
+      return;
+    }
+    Polygon polygon = mPolygons.remove(id);
+    if (polygon != null) {
+      polygon.remove();
     }
   }
 
   public void removeCircle(String id) {
-    for (Circle c : circleList) {
-      if (c.getId().equals(id)) {
-        c.remove();
-        circleList.remove(c);
-        return;
-      }
+    if (removeCulledOverlay(OverlayBatch.Type.CIRCLE, id)) {
+      return;
+    }
+    Circle circle = mCircles.remove(id);
+    if (circle != null) {
+      circle.remove();
     }
   }
 
   public void removeGroundOverlay(String id) {
-    for (GroundOverlay g : groundOverlayList) {
-      if (g.getId().equals(id)) {
-        g.remove();
-        groundOverlayList.remove(g);
-        return;
+    if (removeCulledOverlay(OverlayBatch.Type.GROUND_OVERLAY, id)) {
+      return;
+    }
+    GroundOverlay groundOverlay = mGroundOverlays.remove(id);
+    if (groundOverlay != null) {
+      groundOverlay.remove();
+    }
+  }
+
+  /** Removes the overlays of the type with the ids. Has to be called on the UI thread. */
+  public void removeOverlays(OverlayBatch.Type type, List<String> ids) {
+    for (String id : ids) {
+      switch (type) {
+        case MARKER:
+          if (removeCulledOverlay(OverlayBatch.Type.MARKER, id)) {
+            break;
+          }
+          Marker marker = mMarkers.remove(id);
+          if (marker != null) {
+            marker.remove();
+          }
+          break;
+        case POLYLINE:
+          removePolyline(id);
+          break;
+        case POLYGON:
+          removePolygon(id);
+          break;
+        case CIRCLE:
+          removeCircle(id);
+          break;
+        case GROUND_OVERLAY:
+          removeGroundOverlay(id);
+          break;
       }
     }
   }
 
+  /** Removes the overlays of every type added with the tag. */
+  public void removeOverlaysWithTag(String tag) {
+    if (mOverlayCuller != null) {
+      mOverlayCuller.removeWithTag(tag);
+    }
+    for (Marker marker : mMarkers.removeWithTag(tag)) {
+      marker.remove();
+    }
+    for (Polyline polyline : mPolylines.removeWithTag(tag)) {
+      polyline.remove();
+    }
+    for (Polygon polygon : mPolygons.removeWithTag(tag)) {
+      polygon.remove();
+    }
+    for (Circle circle : mCircles.removeWithTag(tag)) {
+      circle.remove();
+    }
+    for (GroundOverlay groundOverlay : mGroundOverlays.removeWithTag(tag)) {
+      groundOverlay.remove();
+    }
+  }
+
   public void setMapStyle(String url) {
     Executors.newSingleThreadExecutor()
         .execute(
@@ -517,6 +705,17 @@ public class MapViewController {
     }
 
     mGoogleMap.clear();
+    if (mMarkerClusterer != null) {
+      mMarkerClusterer.clear();
+    }
+    if (mOverlayCuller != null) {
+      mOverlayCuller.clear();
+    }
+    mMarkers.clear();
+    mPolylines.clear();
+    mPolygons.clear();
+    mCircles.clear();
+    mGroundOverlays.clear();
   }
 
   public void resetMinMaxZoomLevel() {
@@ -565,7 +764,7 @@ public class MapViewController {
     }
   }
 
-  private LatLng createLatLng(Map<String, Object> map) {
+  private static LatLng createLatLng(Map<String, Object> map) {
     Double lat = null;
     Double lng = null;
     if (map.containsKey("lat") && map.containsKey("lng")) {
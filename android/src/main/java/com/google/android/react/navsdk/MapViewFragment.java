@@ -34,8 +34,6 @@ import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.Polygon;
 import com.google.android.gms.maps.model.Polyline;
 import com.google.android.libraries.navigation.StylingOptions;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * A fragment that displays a view with a Google Map using MapFragment. This fragment's lifecycle is
@@ -49,11 +47,6 @@ public class MapViewFragment extends SupportMapFragment
   private MapViewController mMapViewController;
   private StylingOptions mStylingOptions;
 
-  private List<Marker> markerList = new ArrayList<>();
-  private List<Polyline> polylineList = new ArrayList<>();
-  private List<Polygon> polygonList = new ArrayList<>();
-  private List<GroundOverlay> groundOverlayList = new ArrayList<>();
-  private List<Circle> circleList = new ArrayList<>();
   private int viewTag; // React native view tag.
   private ReactApplicationContext reactContext;
 
@@ -0,0 +1,353 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.google.android.gms.maps.CameraUpdateFactory;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Shows a large set of points on a map as cluster markers and individual markers, depending on the
+ * zoom level. Only the clusters and points within the visible region, plus a margin, are added to
+ * the map, and they are recomputed when the camera stops moving. Markers that stay visible between
+ * two updates are kept as they are.
+ *
+ * <p>Tapping a cluster zooms in on its points. Markers of individual points are tagged with an
+ * {@link ItemTag}, so onMarkerClick reports them with the point's id like any other marker.
+ *
+ * <p>Everything except {@link #parse(ReadableArray, Map)} has to be called on the UI thread.
+ */
+public class MarkerClusterer {
+  // Fraction of the visible region added on each side, so short pans don't show empty areas.
+  private static final double VIEWPORT_MARGIN = 0.25;
+  private static final int EXPAND_PADDING_DP = 64;
+  private static final int DEFAULT_CLUSTER_COLOR = 0xFF1A73E8;
+
+  /** Tag of the marker of a point, so it is reported with the point's id. */
+  public static class ItemTag {
+    final String id;
+
+    ItemTag(String id) {
+      this.id = id;
+    }
+  }
+
+  /** The points to cluster with their index, read off the UI thread. */
+  public static class Data {
+    final String[] ids;
+    final String[] titles;
+    final String[] snippets;
+    final String[] imgPaths;
+    final ClusterIndex index;
+    final int clusterColor;
+
+    Data(
+        String[] ids,
+        String[] titles,
+        String[] snippets,
+        String[] imgPaths,
+        ClusterIndex index,
+        int clusterColor) {
+      this.ids = ids;
+      this.titles = titles;
+      this.snippets = snippets;
+      this.imgPaths = imgPaths;
+      this.index = index;
+      this.clusterColor = clusterColor;
+    }
+  }
+
+  private final GoogleMap mGoogleMap;
+  private final float mDensity = Resources.getSystem().getDisplayMetrics().density;
+  private @Nullable Data mData;
+  private final Map<String, Marker> mShownMarkers = new HashMap<>();
+  private final Map<String, BitmapDescriptor> mClusterIcons = new HashMap<>();
+
+  public MarkerClusterer(GoogleMap googleMap) {
+    mGoogleMap = googleMap;
+  }
+
+  /**
+   * Reads the points and builds their cluster index. Each point has an id and a position, and
+   * optionally a title, a snippet and an imgPath. Points without an id or a numeric position are
+   * left out.
+   */
+  public static Data parse(ReadableArray items, Map<String, Object> options) {
+    int size = items.size();
+    String[] ids = new String[size];
+    String[] titles = new String[size];
+    String[] snippets = new String[size];
+    String[] imgPaths = new String[size];
+    double[] lats = new double[size];
+    double[] lngs = new double[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      ReadableMap item = items.getType(i) == ReadableType.Map ? items.getMap(i) : null;
+      if (item == null) {
+        continue;
+      }
+      String id = WaypointParser.getString(item, "id");
+      ReadableMap position =
+          item.hasKey("position") && item.getType("position") == ReadableType.Map
+              ? item.getMap("position")
+              : null;
+      if (id == null
+          || position == null
+          || !WaypointParser.hasValue(position, "lat")
+          || !WaypointParser.hasValue(position, "lng")) {
+        continue;
+      }
+      Double lat = WaypointParser.getDouble(position, "lat");
+      Double lng = WaypointParser.getDouble(position, "lng");
+      if (lat == null || lng == null) {
+        continue;
+      }
+      ids[count] = id;
+      titles[count] = WaypointParser.getString(item, "title");
+      snippets[count] = WaypointParser.getString(item, "snippet");
+      imgPaths[count] = WaypointParser.getString(item, "imgPath");
+      lats[count] = lat;
+      lngs[count] = lng;
+      count++;
+    }
+    if (count < size) {
+      ids = Arrays.copyOf(ids, count);
+      titles = Arrays.copyOf(titles, count);
+      snippets = Arrays.copyOf(snippets, count);
+      imgPaths = Arrays.copyOf(imgPaths, count);
+      lats = Arrays.copyOf(lats, count);
+      lngs = Arrays.copyOf(lngs, count);
+    }
+
+    ClusterIndex index =
+        new ClusterIndex(
+            lats,
+            lngs,
+            CollectionUtil.getDouble("cellSize", options, 80),
+            CollectionUtil.getInt("maxClusterZoom", options, 16),
+            CollectionUtil.getInt("minClusterSize", options, 4));
+    return new Data(ids, titles, snippets, imgPaths, index, getClusterColor(options));
+  }
+
+  private static int getClusterColor(Map<String, Object> options) {
+    String clusterColor = CollectionUtil.getString("clusterColor", options);
+    if (clusterColor != null) {
+      try {
+        return Color.parseColor(clusterColor);
+      } catch (IllegalArgumentException e) {
+        // Falls back to the default color.
+      }
+    }
+    return DEFAULT_CLUSTER_COLOR;
+  }
+
+  /** Replaces the clustered points, or removes them if the data is null. */
+  public void setData(@Nullable Data data) {
+    for (Marker marker : mShownMarkers.values()) {
+      marker.remove();
+    }
+    mShownMarkers.clear();
+    mClusterIcons.clear();
+    mData = data;
+    update();
+  }
+
+  /** Forgets the shown markers, e.g. after the map was cleared. */
+  public void clear() {
+    mShownMarkers.clear();
+    mClusterIcons.clear();
+    mData = null;
+  }
+
+  public void onCameraIdle() {
+    update();
+  }
+
+  /** Zooms in on the cluster of the marker and returns true, or returns false if it isn't one. */
+  public boolean onMarkerClick(Marker marker) {
+    if (!(marker.getTag() instanceof ClusterIndex.Cell)) {
+      return false;
+    }
+    ClusterIndex.Cell cell = (ClusterIndex.Cell) marker.getTag();
+    if (cell.maxLat - cell.minLat < 1e-6 && cell.maxLng - cell.minLng < 1e-6) {
+      // The points share a position, zooming past the clustered levels shows them.
+      mGoogleMap.animateCamera(
+          CameraUpdateFactory.newLatLngZoom(
+              new LatLng(cell.lat, cell.lng), mData.index.getMaxLevel() + 1));
+    } else {
+      LatLngBounds bounds =
+          new LatLngBounds(
+              new LatLng(cell.minLat, cell.minLng), new LatLng(cell.maxLat, cell.maxLng));
+      mGoogleMap.animateCamera(
+          CameraUpdateFactory.newLatLngBounds(bounds, (int) (EXPAND_PADDING_DP * mDensity)));
+    }
+    return true;
+  }
+
+  private void update() {
+    if (mData == null) {
+      return;
+    }
+
+    LatLngBounds visible = mGoogleMap.getProjection().getVisibleRegion().latLngBounds;
+    double latMargin = (visible.northeast.latitude - visible.southwest.latitude) * VIEWPORT_MARGIN;
+    double lngSpan = visible.northeast.longitude - visible.southwest.longitude;
+    if (lngSpan < 0) {
+      lngSpan += 360;
+    }
+    double lngMargin = lngSpan * VIEWPORT_MARGIN;
+
+    ClusterIndex index = mData.index;
+    int level = (int) Math.floor(mGoogleMap.getCameraPosition().zoom);
+    boolean isPastClusterLevels = level > index.getMaxLevel();
+
+    // Clusters and points to show by marker key, mapped to their cell or point index.
+    Map<String, Object> toShow = new HashMap<>();
+    for (ClusterIndex.Cell cell :
+        index.getCells(
+            level,
+            visible.southwest.latitude - latMargin,
+            visible.southwest.longitude - lngMargin,
+            visible.northeast.latitude + latMargin,
+            visible.northeast.longitude + lngMargin)) {
+      if (!isPastClusterLevels && cell.count >= index.getMinClusterSize()) {
+        toShow.put("c" + cell.level + "/" + cell.key, cell);
+      } else {
+        for (int item : cell.items) {
+          toShow.put("i" + item, item);
+        }
+      }
+    }
+
+    // Markers still shown are kept as they are, the others are removed.
+    Iterator<Map.Entry<String, Marker>> iterator = mShownMarkers.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Marker> entry = iterator.next();
+      if (toShow.remove(entry.getKey()) == null) {
+        entry.getValue().remove();
+        iterator.remove();
+      }
+    }
+
+    for (Map.Entry<String, Object> entry : toShow.entrySet()) {
+      Marker marker;
+      if (entry.getValue() instanceof ClusterIndex.Cell) {
+        marker = addClusterMarker((ClusterIndex.Cell) entry.getValue());
+      } else {
+        marker = addItemMarker((Integer) entry.getValue());
+      }
+      mShownMarkers.put(entry.getKey(), marker);
+    }
+  }
+
+  private Marker addClusterMarker(ClusterIndex.Cell cell) {
+    MarkerOptions options =
+        new MarkerOptions()
+            .position(new LatLng(cell.lat, cell.lng))
+            .icon(getClusterIcon(cell.count))
+            .anchor(0.5f, 0.5f);
+    Marker marker = mGoogleMap.addMarker(options);
+    marker.setTag(cell);
+    return marker;
+  }
+
+  private Marker addItemMarker(int item) {
+    MarkerOptions options =
+        new MarkerOptions()
+            .position(new LatLng(mData.index.getLat(item), mData.index.getLng(item)));
+    if (mData.titles[item] != null) {
+      options.title(mData.titles[item]);
+    }
+    if (mData.snippets[item] != null) {
+      options.snippet(mData.snippets[item]);
+    }
+    String imgPath = mData.imgPaths[item];
+    if (imgPath != null && !imgPath.isEmpty()) {
+      options.icon(BitmapDescriptorCache.fromAsset(imgPath, BitmapDescriptorCache.Variant.NONE));
+    }
+    Marker marker = mGoogleMap.addMarker(options);
+    marker.setTag(new ItemTag(mData.ids[item]));
+    return marker;
+  }
+
+  /** Returns the icon of a cluster, shared by the clusters with the same label. */
+  private BitmapDescriptor getClusterIcon(int count) {
+    String label = getClusterLabel(count);
+    BitmapDescriptor icon = mClusterIcons.get(label);
+    if (icon == null) {
+      icon = BitmapDescriptorFactory.fromBitmap(drawClusterIcon(label, count));
+      mClusterIcons.put(label, icon);
+    }
+    return icon;
+  }
+
+  /** Returns the exact count for small clusters, and a rounded down count like 50+ otherwise. */
+  private static String getClusterLabel(int count) {
+    if (count < 10) {
+      return String.valueOf(count);
+    }
+    int bucket = 10;
+    while (true) {
+      if (count < bucket * 2) {
+        return bucket + "+";
+      }
+      if (count < bucket * 5) {
+        return bucket * 2 + "+";
+      }
+      if (count < bucket * 10) {
+        return bucket * 5 + "+";
+      }
+      bucket *= 10;
+    }
+  }
+
+  private Bitmap drawClusterIcon(String label, int count) {
+    float sizeDp = count < 10 ? 32 : count < 100 ? 38 : count < 1000 ? 44 : 50;
+    int size = (int) (sizeDp * mDensity);
+    float radius = size / 2f;
+    Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(bitmap);
+
+    Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    paint.setColor(Color.WHITE);
+    canvas.drawCircle(radius, radius, radius, paint);
+    paint.setColor(mData.clusterColor);
+    canvas.drawCircle(radius, radius, radius - 2 * mDensity, paint);
+
+    paint.setColor(Color.WHITE);
+    paint.setTextAlign(Paint.Align.CENTER);
+    paint.setTextSize(14 * mDensity);
+    paint.setFakeBoldText(true);
+    canvas.drawText(label, radius, radius - (paint.descent() + paint.ascent()) / 2, paint);
+    return bitmap;
+  }
+}
@@ -14,14 +14,13 @@
 package com.google.android.react.navsdk;
 
 import android.location.Location;
+import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
-import com.facebook.react.bridge.CatalystInstance;
-import com.facebook.react.bridge.NativeArray;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
@@ -34,6 +33,9 @@ import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.Polygon;
 import com.google.android.gms.maps.model.Polyline;
 import com.google.android.libraries.navigation.StylingOptions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -50,6 +52,9 @@ public class NavAutoModule extends ReactContextBaseJavaModule implements INaviga
   private MapViewController mMapViewController;
   private StylingOptions mStylingOptions;
   private INavigationViewController mNavigationViewController;
+  private final BatchedEventDispatcher mEventDispatcher =
+      new BatchedEventDispatcher(
+          Constants.NAV_AUTO_JAVASCRIPT_FLAG, this::getReactApplicationContext);
 
   public interface ModuleReadyListener {
     void onModuleReady();
@@ -58,6 +63,9 @@ public class NavAutoModule extends ReactContextBaseJavaModule implements INaviga
   public NavAutoModule(ReactApplicationContext reactContext) {
     super(reactContext);
     this.reactContext = reactContext;
+    // Availability is a state, only the latest one matters. Custom events stay lossless.
+    mEventDispatcher.setEventPolicy(
+        "onAutoScreenAvailabilityChanged", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
     instance = this;
     if (moduleReadyListener != null) {
       moduleReadyListener.onModuleReady();
@@ -196,6 +204,89 @@ public class NavAutoModule extends ReactContextBaseJavaModule implements INaviga
         });
   }
 
+  @ReactMethod
+  public void addMarkers(ReadableArray optionsArray, final Promise promise) {
+    addOverlays(OverlayBatch.fromArray(OverlayBatch.Type.MARKER, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addPolylines(ReadableArray optionsArray, final Promise promise) {
+    addOverlays(OverlayBatch.fromArray(OverlayBatch.Type.POLYLINE, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addPolygons(ReadableArray optionsArray, final Promise promise) {
+    addOverlays(OverlayBatch.fromArray(OverlayBatch.Type.POLYGON, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addCircles(ReadableArray optionsArray, final Promise promise) {
+    addOverlays(OverlayBatch.fromArray(OverlayBatch.Type.CIRCLE, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addGroundOverlays(ReadableArray optionsArray, final Promise promise) {
+    addOverlays(OverlayBatch.fromArray(OverlayBatch.Type.GROUND_OVERLAY, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void removeMarkers(ReadableArray ids) {
+    removeOverlays(OverlayBatch.Type.MARKER, ids);
+  }
+
+  @ReactMethod
+  public void removePolylines(ReadableArray ids) {
+    removeOverlays(OverlayBatch.Type.POLYLINE, ids);
+  }
+
+  @ReactMethod
+  public void removePolygons(ReadableArray ids) {
+    removeOverlays(OverlayBatch.Type.POLYGON, ids);
+  }
+
+  @ReactMethod
+  public void removeCircles(ReadableArray ids) {
+    removeOverlays(OverlayBatch.Type.CIRCLE, ids);
+  }
+
+  @ReactMethod
+  public void removeGroundOverlays(ReadableArray ids) {
+    removeOverlays(OverlayBatch.Type.GROUND_OVERLAY, ids);
+  }
+
+  /**
+   * Adds the overlays of the batch in a single UI thread task and resolves with their ids, null for
+   * the ones that couldn't be added. Only rejects if the batch as a whole can't be added.
+   */
+  private void addOverlays(OverlayBatch batch, final Promise promise) {
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mMapViewController == null) {
+            promise.reject(JsErrors.NO_MAP_ERROR_CODE, JsErrors.NO_MAP_ERROR_MESSAGE);
+            return;
+          }
+          try {
+            promise.resolve(batch.addTo(mMapViewController));
+          } catch (Exception e) {
+            promise.reject(JsErrors.ADD_OVERLAYS_ERROR_CODE, e);
+          }
+        });
+  }
+
+  private void removeOverlays(OverlayBatch.Type type, ReadableArray ids) {
+    List<String> idList = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      idList.add(ids.getString(i));
+    }
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mMapViewController == null) {
+            return;
+          }
+          mMapViewController.removeOverlays(type, idList);
+        });
+  }
+
   @ReactMethod
   public void removeCircle(String id) {
     UiThreadUtil.runOnUiThread(
@@ -240,6 +331,60 @@ public class NavAutoModule extends ReactContextBaseJavaModule implements INaviga
         });
   }
 
+  @ReactMethod
+  public void removeOverlaysWithTag(String tag) {
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mMapViewController == null) {
+            return;
+          }
+          mMapViewController.removeOverlaysWithTag(tag);
+        });
+  }
+
+  /** Shows the points on the map with clustering, replacing the previously set ones. */
+  @ReactMethod
+  public void setClusterItems(ReadableArray items, @Nullable ReadableMap options) {
+    MarkerClusterer.Data data =
+        MarkerClusterer.parse(
+            items, options != null ? options.toHashMap() : new HashMap<String, Object>());
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mMapViewController == null) {
+            return;
+          }
+          mMapViewController.setClusterData(data);
+        });
+  }
+
+  @ReactMethod
+  public void clearClusterItems() {
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mMapViewController == null) {
+            return;
+          }
+          mMapViewController.setClusterData(null);
+        });
+  }
+
+  /**
+   * Sets whether overlays added in bulk are only added to the map when they are near the visible
+   * region, see {@link OverlayCuller}.
+   */
+  @ReactMethod
+  public void setViewportCullingEnabled(boolean isOn, @Nullable ReadableMap options) {
+    Map<String, Object> optionsMap =
+        options != null ? options.toHashMap() : new HashMap<String, Object>();
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mMapViewController == null) {
+            return;
+          }
+          mMapViewController.setViewportCullingEnabled(isOn, optionsMap);
+        });
+  }
+
   @ReactMethod
   public void clearMapView() {
     UiThreadUtil.runOnUiThread(
@@ -539,12 +684,7 @@ public class NavAutoModule extends ReactContextBaseJavaModule implements INaviga
   }
 
   /** Send command to react native. */
-  private void sendCommandToReactNative(String functionName, NativeArray params) {
-    ReactContext reactContext = getReactApplicationContext();
-
-    if (reactContext != null) {
-      CatalystInstance catalystInstance = reactContext.getCatalystInstance();
-      catalystInstance.callFunction(Constants.NAV_AUTO_JAVASCRIPT_FLAG, functionName, params);
-    }
+  private void sendCommandToReactNative(String functionName, WritableNativeArray params) {
+    mEventDispatcher.dispatch(functionName, params);
   }
 }
@@ -18,14 +18,30 @@ import com.google.android.libraries.navigation.Navigator;
 
 /** Starts and stops the forwarding of turn-by-turn nav info from Nav SDK. */
 public class NavForwardingManager {
+  /** Number of steps to preview that makes each update carry all remaining steps. */
+  public static final int ALL_REMAINING_STEPS = Integer.MAX_VALUE;
+
   /** Registers a service to receive navigation updates from nav info */
   public static void startNavForwarding(
       Navigator navigator, Context context, INavigationCallback navigationCallback) {
+    startNavForwarding(navigator, context, navigationCallback, ALL_REMAINING_STEPS);
+  }
+
+  /**
+   * Registers a service to receive navigation updates from nav info, each update carrying at most
+   * {@code numNextStepsToPreview} remaining steps. Registering again replaces the previous
+   * registration.
+   */
+  public static void startNavForwarding(
+      Navigator navigator,
+      Context context,
+      INavigationCallback navigationCallback,
+      int numNextStepsToPreview) {
     boolean success =
         navigator.registerServiceForNavUpdates(
             context.getPackageName(),
             NavInfoReceivingService.class.getName(),
-            /* numNextStepsToPreview= */ Integer.MAX_VALUE); // Send all remaining steps.
+            numNextStepsToPreview);
     if (success) {
       navigationCallback.logDebugInfo("Successfully registered service for nav updates");
     } else {
@@ -0,0 +1,212 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.mapsplatform.turnbyturn.model.NavInfo;
+import com.google.android.libraries.mapsplatform.turnbyturn.model.StepInfo;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Converts {@link NavInfo} updates to the map sent with the onTurnByTurn event.
+ *
+ * <p>In delta mode the previously sent values are remembered and only the scalar fields that
+ * changed are sent, with null marking a field that is no longer available. The current and
+ * remaining steps are only sent again when the route changed or the current step moved. Delta
+ * updates are flagged with {@code isDelta} so the JS side can merge them into the last full one.
+ */
+public class NavInfoEncoder {
+  private boolean mDeltaEnabled = false;
+  private boolean mFullUpdateRequested = true;
+  private Map<String, Object> mLastValues = new HashMap<>();
+  private @Nullable Integer mLastStepNumber;
+  private int mMaxRemainingSteps = Integer.MAX_VALUE;
+  private final StepInfoCache<WritableMap> mStepMapCache =
+      new StepInfoCache<>(ObjectTranslationUtil::getMapFromStepInfo);
+  // Current and remaining steps as last sent, only rebuilt when the steps change. Updates merge it
+  // in, which copies it natively in one call rather than copying each step map.
+  private @Nullable WritableMap mStepsMap;
+  private @Nullable List<StepInfoCache.StepKey> mStepsMapKeys;
+
+  public synchronized void setDeltaEnabled(boolean deltaEnabled) {
+    mDeltaEnabled = deltaEnabled;
+    requestFullUpdate();
+  }
+
+  /** Limits the number of remaining steps sent with each update. */
+  public synchronized void setMaxRemainingSteps(int maxRemainingSteps) {
+    mMaxRemainingSteps = Math.max(0, maxRemainingSteps);
+    mStepsMap = null;
+    requestFullUpdate();
+  }
+
+  public synchronized boolean isDeltaEnabled() {
+    return mDeltaEnabled;
+  }
+
+  /** Makes the next update a full one, e.g. when a new listener needs the complete state. */
+  public synchronized void requestFullUpdate() {
+    mFullUpdateRequested = true;
+  }
+
+  /** Returns the map of the step, reusing the conversion done for a previous update. */
+  public synchronized WritableMap getStepMap(StepInfo stepInfo) {
+    return mStepMapCache.get(stepInfo).copy();
+  }
+
+  /** Returns the map to send for the update, or null if nothing changed since the last one. */
+  @Nullable
+  public synchronized WritableMap encode(NavInfo navInfo) {
+    mStepMapCache.onNavInfo(navInfo);
+
+    Map<String, Object> values = getValues(navInfo);
+    StepInfo currentStep = navInfo.getCurrentStep();
+    Integer stepNumber = currentStep != null ? currentStep.getStepNumber() : null;
+
+    boolean isFullUpdate = !mDeltaEnabled || mFullUpdateRequested;
+    boolean stepsChanged =
+        haveStepsChanged(isFullUpdate, navInfo.getRouteChanged(), stepNumber, mLastStepNumber);
+    Map<String, Object> changedValues = getChangedValues(values, mLastValues, isFullUpdate);
+
+    WritableMap map = Arguments.createMap();
+    for (Map.Entry<String, Object> entry : changedValues.entrySet()) {
+      putValue(map, entry.getKey(), entry.getValue());
+    }
+    boolean hasChanges = stepsChanged || !changedValues.isEmpty();
+
+    if (stepsChanged) {
+      map.merge(getStepsMap(navInfo));
+      if (currentStep == null && !isFullUpdate) {
+        map.putNull("currentStep");
+      }
+    }
+
+    mLastValues = values;
+    mLastStepNumber = stepNumber;
+    mFullUpdateRequested = false;
+
+    if (!hasChanges) {
+      return null;
+    }
+    if (mDeltaEnabled) {
+      map.putBoolean("isDelta", !isFullUpdate);
+    }
+    return map;
+  }
+
+  /**
+   * Returns the full map of the update, as sent without delta encoding. Unlike {@link
+   * #encode(NavInfo)} this doesn't change what the next delta is computed against.
+   */
+  public synchronized WritableMap encodeFull(NavInfo navInfo) {
+    WritableMap map = Arguments.createMap();
+    for (Map.Entry<String, Object> entry : getValues(navInfo).entrySet()) {
+      if (entry.getValue() != null) {
+        putValue(map, entry.getKey(), entry.getValue());
+      }
+    }
+    map.merge(getStepsMap(navInfo));
+    return map;
+  }
+
+  /**
+   * Returns the values to send: the available ones for a full update, otherwise the ones that
+   * changed since the last update, with null for the ones no longer available.
+   */
+  static Map<String, Object> getChangedValues(
+      Map<String, Object> values, Map<String, Object> lastValues, boolean isFullUpdate) {
+    Map<String, Object> changedValues = new LinkedHashMap<>();
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      Object value = entry.getValue();
+      if (isFullUpdate ? value != null : !Objects.equals(value, lastValues.get(entry.getKey()))) {
+        changedValues.put(entry.getKey(), value);
+      }
+    }
+    return changedValues;
+  }
+
+  /** Returns whether the current and remaining steps have to be sent again. */
+  static boolean haveStepsChanged(
+      boolean isFullUpdate,
+      boolean routeChanged,
+      @Nullable Integer stepNumber,
+      @Nullable Integer lastStepNumber) {
+    return isFullUpdate || routeChanged || !Objects.equals(stepNumber, lastStepNumber);
+  }
+
+  private static Map<String, Object> getValues(NavInfo navInfo) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("navState", navInfo.getNavState());
+    values.put("routeChanged", navInfo.getRouteChanged());
+    values.put("distanceToCurrentStepMeters", navInfo.getDistanceToCurrentStepMeters());
+    values.put("distanceToFinalDestinationMeters", navInfo.getDistanceToFinalDestinationMeters());
+    values.put("distanceToNextDestinationMeters", navInfo.getDistanceToNextDestinationMeters());
+    values.put("timeToCurrentStepSeconds", navInfo.getTimeToCurrentStepSeconds());
+    values.put("timeToFinalDestinationSeconds", navInfo.getTimeToFinalDestinationSeconds());
+    values.put("timeToNextDestinationSeconds", navInfo.getTimeToNextDestinationSeconds());
+    return values;
+  }
+
+  /** Returns the map holding the current and remaining steps, built again only if they changed. */
+  private WritableMap getStepsMap(NavInfo navInfo) {
+    List<StepInfoCache.StepKey> keys = new ArrayList<>();
+    StepInfo currentStep = navInfo.getCurrentStep();
+    keys.add(currentStep != null ? new StepInfoCache.StepKey(currentStep) : null);
+    StepInfo[] steps = navInfo.getRemainingSteps();
+    for (int i = 0; steps != null && i < steps.length && i < mMaxRemainingSteps; i++) {
+      keys.add(new StepInfoCache.StepKey(steps[i]));
+    }
+    if (mStepsMap != null && keys.equals(mStepsMapKeys)) {
+      return mStepsMap;
+    }
+
+    WritableMap stepsMap = Arguments.createMap();
+    if (currentStep != null) {
+      stepsMap.putMap("currentStep", getStepMap(currentStep));
+    }
+    stepsMap.putArray("getRemainingSteps", getRemainingStepsArray(navInfo));
+    mStepsMap = stepsMap;
+    mStepsMapKeys = keys;
+    return stepsMap;
+  }
+
+  private WritableArray getRemainingStepsArray(NavInfo navInfo) {
+    WritableArray remainingSteps = Arguments.createArray();
+    if (navInfo.getRemainingSteps() != null) {
+      StepInfo[] steps = navInfo.getRemainingSteps();
+      for (int i = 0; i < steps.length && i < mMaxRemainingSteps; i++) {
+        remainingSteps.pushMap(getStepMap(steps[i]));
+      }
+    }
+    return remainingSteps;
+  }
+
+  private static void putValue(WritableMap map, String key, @Nullable Object value) {
+    if (value == null) {
+      map.putNull(key);
+    } else if (value instanceof Boolean) {
+      map.putBoolean(key, (Boolean) value);
+    } else if (value instanceof Integer) {
+      map.putInt(key, (Integer) value);
+    }
+  }
+}
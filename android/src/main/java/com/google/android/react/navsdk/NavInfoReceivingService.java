@@ -27,6 +27,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import com.google.android.libraries.mapsplatform.turnbyturn.TurnByTurnManager;
 import com.google.android.libraries.mapsplatform.turnbyturn.model.NavInfo;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Receives turn-by-turn navigation information forwarded from NavSDK and posts each update to live
@@ -44,6 +45,14 @@ public class NavInfoReceivingService extends Service {
 
   private static final MutableLiveData<NavInfo> mNavInfoMutableLiveData = new MutableLiveData<>();
 
+  /** Receives nav info updates on the thread that parsed them. */
+  public interface NavInfoListener {
+    void onNavInfo(@Nullable NavInfo navInfo);
+  }
+
+  private static final CopyOnWriteArrayList<NavInfoListener> mNavInfoListeners =
+      new CopyOnWriteArrayList<>();
+
   private final class IncomingNavStepHandler extends Handler {
     public IncomingNavStepHandler(Looper looper) {
       super(looper);
@@ -54,8 +63,7 @@ public class NavInfoReceivingService extends Service {
       if (TurnByTurnManager.MSG_NAV_INFO == msg.what) {
         // Read the nav info from the message data.
         NavInfo navInfo = mTurnByTurnManager.readNavInfoFromBundle(msg.getData());
-        // Post the value to LiveData to be displayed in the nav info header.
-        mNavInfoMutableLiveData.postValue(navInfo);
+        dispatchNavInfo(navInfo);
       }
     }
   }
@@ -68,10 +76,18 @@ public class NavInfoReceivingService extends Service {
 
   @Override
   public boolean onUnbind(Intent intent) {
-    mNavInfoMutableLiveData.postValue(null);
+    dispatchNavInfo(null);
     return super.onUnbind(intent);
   }
 
+  private static void dispatchNavInfo(@Nullable NavInfo navInfo) {
+    for (NavInfoListener listener : mNavInfoListeners) {
+      listener.onNavInfo(navInfo);
+    }
+    // Posted even without observers, so ones added later still receive the latest value.
+    mNavInfoMutableLiveData.postValue(navInfo);
+  }
+
   @Override
   public void onCreate() {
     mTurnByTurnManager = TurnByTurnManager.createInstance();
@@ -84,4 +100,16 @@ public class NavInfoReceivingService extends Service {
   public static LiveData<NavInfo> getNavInfoLiveData() {
     return mNavInfoMutableLiveData;
   }
+
+  /**
+   * Adds a listener called on the service's background thread for each update, which avoids the
+   * main thread hop of {@link #getNavInfoLiveData()}.
+   */
+  public static void addNavInfoListener(NavInfoListener listener) {
+    mNavInfoListeners.addIfAbsent(listener);
+  }
+
+  public static void removeNavInfoListener(NavInfoListener listener) {
+    mNavInfoListeners.remove(listener);
+  }
 }
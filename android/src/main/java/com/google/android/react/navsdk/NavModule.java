@@ -14,20 +14,18 @@
 package com.google.android.react.navsdk;
 
 import android.location.Location;
+import android.os.SystemClock;
+import android.text.TextUtils;
 import androidx.annotation.Nullable;
-import androidx.lifecycle.LifecycleOwner;
-import androidx.lifecycle.Observer;
 import com.facebook.react.bridge.Arguments;
-import com.facebook.react.bridge.CatalystInstance;
 import com.facebook.react.bridge.LifecycleEventListener;
-import com.facebook.react.bridge.NativeArray;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
@@ -50,9 +48,12 @@ import com.google.android.libraries.navigation.TermsAndConditionsCheckOption;
 import com.google.android.libraries.navigation.TimeAndDistance;
 import com.google.android.libraries.navigation.Waypoint;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -66,21 +67,73 @@ public class NavModule extends ReactContextBaseJavaModule
   private static NavModule instance;
   private static ModuleReadyListener moduleReadyListener;
 
+  // How long a remaining distance from turn-by-turn or route progress updates is used for the
+  // adaptive thresholds before asking the navigator again.
+  private static final long REMAINING_METERS_MAX_AGE_MS = 5000;
+
+  // Events backed by a navigator listener, or by polling the navigator, attached only while they
+  // have subscribers.
+  private static final String[] NAVIGATOR_EVENTS = {
+    "onArrival",
+    "onRouteChanged",
+    "onTrafficUpdated",
+    "onReroutingRequestedByOffRoute",
+    "onRemainingTimeOrDistanceChanged",
+    "onTraveledPathUpdated",
+    "onUpcomingPoisChanged",
+    "onGeofenceTransitions",
+    "onRouteProgress"
+  };
+
   ReactApplicationContext reactContext;
   private Navigator mNavigator;
   private ArrayList<Waypoint> mWaypoints = new ArrayList<>();
-  private ListenableResultFuture<Navigator.RouteStatus> pendingRoute;
+  private final Object mRouteRequestLock = new Object();
+  private RouteRequest mRouteRequest;
   private RoadSnappedLocationProvider mRoadSnappedLocationProvider;
   private NavViewManager mNavViewManager;
   private final CopyOnWriteArrayList<NavigationReadyListener> mNavigationReadyListeners =
       new CopyOnWriteArrayList<>();
   private boolean mIsListeningRoadSnappedLocation = false;
   private LocationListener mLocationListener;
+  private final NavInfoReceivingService.NavInfoListener mNavInfoListener = this::showNavInfo;
+  private final NavInfoEncoder mNavInfoEncoder = new NavInfoEncoder();
+  // Written by the nav info thread, the update and its reception time are replaced together.
+  private volatile @Nullable ReceivedNavInfo mLastNavInfo;
+  private final RemainingStepsCache mRemainingStepsCache = new RemainingStepsCache();
+  private final RouteGeometryCache mRouteGeometryCache = new RouteGeometryCache();
+  private final TraveledPathTracker mTraveledPathTracker =
+      new TraveledPathTracker(this::onTraveledPathUpdated);
+  private volatile CustomTypes.GeometryFormat mTraveledPathUpdateFormat =
+      CustomTypes.GeometryFormat.LAT_LNG_LIST;
+  private final AlongRoutePoiTracker mAlongRoutePoiTracker =
+      new AlongRoutePoiTracker(this::onUpcomingPoisChanged, mRouteGeometryCache);
+  private final GeofenceEvaluator mGeofenceEvaluator =
+      new GeofenceEvaluator(this::onGeofenceTransitions);
+  private final RouteProgressTracker mRouteProgressTracker =
+      new RouteProgressTracker(this::onRouteProgress, mRouteGeometryCache);
+  private volatile int mNumNextStepsToPreview = NavForwardingManager.ALL_REMAINING_STEPS;
+  private final LocationFilter mLocationFilter = new LocationFilter();
+  private final LocationFilter mRawLocationFilter = new LocationFilter();
+  private final PackedLocationBuffer mPackedLocations = new PackedLocationBuffer();
+  private final PackedLocationBuffer mPackedRawLocations = new PackedLocationBuffer();
   private Navigator.ArrivalListener mArrivalListener;
   private Navigator.RouteChangedListener mRouteChangedListener;
   private Navigator.TrafficUpdatedListener mTrafficUpdatedListener;
   private Navigator.ReroutingListener mReroutingListener;
   private Navigator.RemainingTimeOrDistanceChangedListener mRemainingTimeOrDistanceChangedListener;
+  private volatile RemainingTimeOrDistanceThresholds mRemainingTimeOrDistanceThresholds =
+      RemainingTimeOrDistanceThresholds.DEFAULT;
+  private volatile boolean mIsNearDestinationBandRegistered = false;
+  // Latest remaining distance reported by turn-by-turn or route progress updates, so the adaptive
+  // thresholds don't have to ask the navigator for it.
+  private volatile int mLastRemainingMeters = -1;
+  private volatile long mLastRemainingMetersTimeMs = 0;
+
+  private final EventSubscriptionRegistry mEventSubscriptions =
+      new EventSubscriptionRegistry(this::onEventSubscriptionChanged);
+  private final BatchedEventDispatcher mEventDispatcher =
+      new BatchedEventDispatcher(Constants.NAV_JAVASCRIPT_FLAG, this::getReactApplicationContext);
 
   private HashMap<String, Object> tocParamsMap;
   private @Navigator.TaskRemovedBehavior int taskRemovedBehaviour;
@@ -95,6 +148,7 @@ public class NavModule extends ReactContextBaseJavaModule
 
   public NavModule(ReactApplicationContext reactContext, NavViewManager navViewManager) {
     super(reactContext);
+    setEventPolicies();
     setReactContext(reactContext);
     setViewManager(navViewManager);
     if (moduleReadyListener != null) {
@@ -102,6 +156,29 @@ public class NavModule extends ReactContextBaseJavaModule
     }
   }
 
+  private void setEventPolicies() {
+    // Only the latest value of these matters once it reaches JS.
+    mEventDispatcher.setEventPolicy(
+        "onLocationChanged", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+    mEventDispatcher.setEventPolicy(
+        "onRawLocationChanged", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+    mEventDispatcher.setEventPolicy(
+        "onRemainingTimeOrDistanceChanged", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+    mEventDispatcher.setEventPolicy("onTurnByTurn", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+    mEventDispatcher.setEventPolicy(
+        "onUpcomingPoisChanged", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+    mEventDispatcher.setEventPolicy(
+        "onRouteProgress", BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+    // Notifications without payload, a pending one already covers the new one.
+    mEventDispatcher.setEventPolicy(
+        "onTrafficUpdated", BatchedEventDispatcher.EventPolicy.COLLAPSE_DUPLICATES);
+    mEventDispatcher.setEventPolicy(
+        "onRouteChanged", BatchedEventDispatcher.EventPolicy.COLLAPSE_DUPLICATES);
+    mEventDispatcher.setEventPolicy(
+        "onReroutingRequestedByOffRoute", BatchedEventDispatcher.EventPolicy.COLLAPSE_DUPLICATES);
+    // Other events, e.g. arrival and route status, are lossless.
+  }
+
   public static synchronized NavModule getInstance(
       ReactApplicationContext reactContext, NavViewManager navViewManager) {
     if (instance == null) {
@@ -121,6 +198,10 @@ public class NavModule extends ReactContextBaseJavaModule
   }
 
   public void setReactContext(ReactApplicationContext reactContext) {
+    if (this.reactContext != reactContext) {
+      // Subscriptions were made by the previous JS context.
+      mEventSubscriptions.clear();
+    }
     this.reactContext = reactContext;
     this.reactContext.addLifecycleEventListener(this);
   }
@@ -155,6 +236,11 @@ public class NavModule extends ReactContextBaseJavaModule
   private void cleanup() {
     stopUpdatingLocation();
     removeNavigationListeners();
+    NavInfoReceivingService.removeNavInfoListener(mNavInfoListener);
+    mLastNavInfo = null;
+    synchronized (mRouteRequestLock) {
+      cancelRouteRequest();
+    }
     mWaypoints.clear();
 
     for (NavigationReadyListener listener : mNavigationReadyListeners) {
@@ -163,6 +249,7 @@ public class NavModule extends ReactContextBaseJavaModule
 
     UiThreadUtil.runOnUiThread(
         () -> {
+          mRouteGeometryCache.detach(mNavigator);
           mNavigator.clearDestinations();
           mNavigator.cleanup();
         });
@@ -181,20 +268,15 @@ public class NavModule extends ReactContextBaseJavaModule
       this.showTermsAndConditionsDialog();
     }
 
-    // Observe live data for nav info updates.
-    Observer<NavInfo> navInfoObserver = this::showNavInfo;
-
-    UiThreadUtil.runOnUiThread(
-        () -> {
-          NavInfoReceivingService.getNavInfoLiveData()
-              .observe((LifecycleOwner) getCurrentActivity(), navInfoObserver);
-        });
+    // Nav info updates are converted and sent on the thread they are received on, keeping the
+    // work off the main thread.
+    NavInfoReceivingService.addNavInfoListener(mNavInfoListener);
   }
 
   private void onNavigationReady() {
     mNavViewManager.applyStylingOptions();
 
-    sendCommandToReactNative("onNavigationReady", (NativeArray) null);
+    sendCommandToReactNative("onNavigationReady", (WritableNativeArray) null);
 
     for (NavigationReadyListener listener : mNavigationReadyListeners) {
       listener.onReady(true);
@@ -234,6 +316,7 @@ public class NavModule extends ReactContextBaseJavaModule
                       getCurrentActivity().getApplication());
             }
             registerNavigationListeners();
+            mRouteGeometryCache.attach(mNavigator);
             onNavigationReady();
           }
 
@@ -273,195 +356,419 @@ public class NavModule extends ReactContextBaseJavaModule
    * @param isEnabled
    */
   @ReactMethod
-  public void setTurnByTurnLoggingEnabled(boolean isEnabled) {
+  public void setTurnByTurnLoggingEnabled(boolean isEnabled, @Nullable ReadableMap options) {
+    HashMap<String, Object> optionsMap =
+        options != null ? options.toHashMap() : new HashMap<String, Object>();
+    mNumNextStepsToPreview =
+        CollectionUtil.getInt(
+            "numNextStepsToPreview", optionsMap, NavForwardingManager.ALL_REMAINING_STEPS);
+    mNavInfoEncoder.setMaxRemainingSteps(mNumNextStepsToPreview);
+    mRemainingStepsCache.reset(mNumNextStepsToPreview);
+    mLastNavInfo = null;
+
     if (isEnabled) {
-      NavForwardingManager.startNavForwarding(mNavigator, getCurrentActivity(), this);
+      NavForwardingManager.startNavForwarding(
+          mNavigator, getCurrentActivity(), this, mNumNextStepsToPreview);
     } else {
       NavForwardingManager.stopNavForwarding(mNavigator, getCurrentActivity(), this);
     }
   }
 
   /**
-   * Registers a number of example event listeners that show an on screen message when certain
-   * navigation events occur (e.g. the driver's route changes or the destination is reached).
+   * Returns a page of the remaining steps of the current route. Steps are collected from the
+   * turn-by-turn updates, so turn-by-turn logging has to be enabled. With a limited preview window,
+   * steps past the window are only known once they enter it, which isComplete tells.
+   */
+  @ReactMethod
+  public void getRemainingSteps(int offset, int limit, final Promise promise) {
+    if (mNavigator == null) {
+      promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
+      return;
+    }
+
+    WritableArray steps = Arguments.createArray();
+    for (StepInfo step : mRemainingStepsCache.getSteps(Math.max(0, offset), Math.max(0, limit))) {
+      steps.pushMap(mNavInfoEncoder.getStepMap(step));
+    }
+
+    WritableMap map = Arguments.createMap();
+    map.putInt("totalCount", mRemainingStepsCache.getCount());
+    map.putBoolean("isComplete", mRemainingStepsCache.isComplete());
+    map.putArray("steps", steps);
+    promise.resolve(map);
+  }
+
+  /**
+   * Registers the navigator listeners of the events that have subscribers on the JS side. Events
+   * nobody listens to are not observed, so their payloads are never built.
    */
   private void registerNavigationListeners() {
     removeNavigationListeners();
 
-    mArrivalListener =
-        new Navigator.ArrivalListener() {
-          @Override
-          public void onArrival(ArrivalEvent arrivalEvent) {
-            WritableMap map = Arguments.createMap();
-            map.putMap(
-                "waypoint", ObjectTranslationUtil.getMapFromWaypoint(arrivalEvent.getWaypoint()));
-            map.putBoolean("isFinalDestination", arrivalEvent.isFinalDestination());
-
-            WritableNativeArray params = new WritableNativeArray();
-            params.pushMap(map);
+    for (String eventName : NAVIGATOR_EVENTS) {
+      if (mEventSubscriptions.isSubscribed(eventName)) {
+        addNavigationListener(eventName);
+      }
+    }
+  }
 
-            sendCommandToReactNative("onArrival", params);
-          }
-        };
-    mNavigator.addArrivalListener(mArrivalListener);
+  private void addNavigationListener(String eventName) {
+    if (mNavigator == null) {
+      return;
+    }
 
-    mRouteChangedListener =
-        new Navigator.RouteChangedListener() {
-          @Override
-          public void onRouteChanged() {
-            sendCommandToReactNative("onRouteChanged", (NativeArray) null);
-          }
-        };
-    mNavigator.addRouteChangedListener(mRouteChangedListener);
+    switch (eventName) {
+      case "onArrival":
+        if (mArrivalListener == null) {
+          mArrivalListener =
+              new Navigator.ArrivalListener() {
+                @Override
+                public void onArrival(ArrivalEvent arrivalEvent) {
+                  WritableMap map = Arguments.createMap();
+                  map.putMap(
+                      "waypoint",
+                      ObjectTranslationUtil.getMapFromWaypoint(arrivalEvent.getWaypoint()));
+                  map.putBoolean("isFinalDestination", arrivalEvent.isFinalDestination());
+
+                  WritableNativeArray params = new WritableNativeArray();
+                  params.pushMap(map);
+
+                  sendCommandToReactNative("onArrival", params);
+                }
+              };
+          mNavigator.addArrivalListener(mArrivalListener);
+        }
+        break;
+      case "onRouteChanged":
+        if (mRouteChangedListener == null) {
+          mRouteChangedListener =
+              new Navigator.RouteChangedListener() {
+                @Override
+                public void onRouteChanged() {
+                  sendCommandToReactNative("onRouteChanged", (WritableNativeArray) null);
+                }
+              };
+          mNavigator.addRouteChangedListener(mRouteChangedListener);
+        }
+        break;
+      case "onTrafficUpdated":
+        if (mTrafficUpdatedListener == null) {
+          mTrafficUpdatedListener =
+              new Navigator.TrafficUpdatedListener() {
+                @Override
+                public void onTrafficUpdated() {
+                  sendCommandToReactNative("onTrafficUpdated", (WritableNativeArray) null);
+                }
+              };
+          mNavigator.addTrafficUpdatedListener(mTrafficUpdatedListener);
+        }
+        break;
+      case "onReroutingRequestedByOffRoute":
+        if (mReroutingListener == null) {
+          mReroutingListener =
+              new Navigator.ReroutingListener() {
+                @Override
+                public void onReroutingRequestedByOffRoute() {
+                  sendCommandToReactNative(
+                      "onReroutingRequestedByOffRoute", (WritableNativeArray) null);
+                }
+              };
+          mNavigator.addReroutingListener(mReroutingListener);
+        }
+        break;
+      case "onRemainingTimeOrDistanceChanged":
+        if (mRemainingTimeOrDistanceChangedListener == null) {
+          mRemainingTimeOrDistanceChangedListener =
+              new Navigator.RemainingTimeOrDistanceChangedListener() {
+                @Override
+                public void onRemainingTimeOrDistanceChanged() {
+                  sendCommandToReactNative(
+                      "onRemainingTimeOrDistanceChanged", (WritableNativeArray) null);
+                  if (mRemainingTimeOrDistanceThresholds.isAdaptive()
+                      && SystemClock.elapsedRealtime() - mLastRemainingMetersTimeMs
+                          > REMAINING_METERS_MAX_AGE_MS
+                      && isNearDestination() != mIsNearDestinationBandRegistered) {
+                    // Nothing else reports the remaining distance, re-register outside of the
+                    // listener callback.
+                    UiThreadUtil.runOnUiThread(
+                        NavModule.this::updateRemainingTimeOrDistanceThresholds);
+                  }
+                }
+              };
+          registerRemainingTimeOrDistanceListener();
+        }
+        break;
+      case "onTraveledPathUpdated":
+        mTraveledPathTracker.start(mNavigator);
+        break;
+      case "onUpcomingPoisChanged":
+        if (mRoadSnappedLocationProvider != null) {
+          mAlongRoutePoiTracker.attach(mNavigator, mRoadSnappedLocationProvider);
+        }
+        break;
+      case "onGeofenceTransitions":
+        if (mRoadSnappedLocationProvider != null) {
+          mGeofenceEvaluator.attach(mRoadSnappedLocationProvider);
+        }
+        break;
+      case "onRouteProgress":
+        if (mRoadSnappedLocationProvider != null) {
+          mRouteProgressTracker.attach(mNavigator, mRoadSnappedLocationProvider);
+        }
+        break;
+      default:
+        break;
+    }
+  }
 
-    mTrafficUpdatedListener =
-        new Navigator.TrafficUpdatedListener() {
-          @Override
-          public void onTrafficUpdated() {
-            sendCommandToReactNative("onTrafficUpdated", (NativeArray) null);
-          }
-        };
-    mNavigator.addTrafficUpdatedListener(mTrafficUpdatedListener);
+  private void removeNavigationListener(String eventName) {
+    if (mNavigator == null) {
+      return;
+    }
 
-    mReroutingListener =
-        new Navigator.ReroutingListener() {
-          @Override
-          public void onReroutingRequestedByOffRoute() {
-            sendCommandToReactNative("onReroutingRequestedByOffRoute", (NativeArray) null);
-          }
-        };
-    mNavigator.addReroutingListener(mReroutingListener);
+    switch (eventName) {
+      case "onArrival":
+        if (mArrivalListener != null) {
+          mNavigator.removeArrivalListener(mArrivalListener);
+          mArrivalListener = null;
+        }
+        break;
+      case "onRouteChanged":
+        if (mRouteChangedListener != null) {
+          mNavigator.removeRouteChangedListener(mRouteChangedListener);
+          mRouteChangedListener = null;
+        }
+        break;
+      case "onTrafficUpdated":
+        if (mTrafficUpdatedListener != null) {
+          mNavigator.removeTrafficUpdatedListener(mTrafficUpdatedListener);
+          mTrafficUpdatedListener = null;
+        }
+        break;
+      case "onReroutingRequestedByOffRoute":
+        if (mReroutingListener != null) {
+          mNavigator.removeReroutingListener(mReroutingListener);
+          mReroutingListener = null;
+        }
+        break;
+      case "onRemainingTimeOrDistanceChanged":
+        if (mRemainingTimeOrDistanceChangedListener != null) {
+          mNavigator.removeRemainingTimeOrDistanceChangedListener(
+              mRemainingTimeOrDistanceChangedListener);
+          mRemainingTimeOrDistanceChangedListener = null;
+        }
+        break;
+      case "onTraveledPathUpdated":
+        mTraveledPathTracker.stop();
+        break;
+      case "onUpcomingPoisChanged":
+        mAlongRoutePoiTracker.detach();
+        break;
+      case "onGeofenceTransitions":
+        mGeofenceEvaluator.detach();
+        break;
+      case "onRouteProgress":
+        mRouteProgressTracker.detach();
+        break;
+      default:
+        break;
+    }
+  }
 
-    mRemainingTimeOrDistanceChangedListener =
-        new Navigator.RemainingTimeOrDistanceChangedListener() {
-          @Override
-          public void onRemainingTimeOrDistanceChanged() {
-            sendCommandToReactNative("onRemainingTimeOrDistanceChanged", (NativeArray) null);
-          }
-        };
+  private void registerRemainingTimeOrDistanceListener() {
+    mIsNearDestinationBandRegistered = isNearDestination();
     mNavigator.addRemainingTimeOrDistanceChangedListener(
-        0, 0, mRemainingTimeOrDistanceChangedListener);
+        mRemainingTimeOrDistanceThresholds.getTimeSeconds(mIsNearDestinationBandRegistered),
+        mRemainingTimeOrDistanceThresholds.getDistanceMeters(mIsNearDestinationBandRegistered),
+        mRemainingTimeOrDistanceChangedListener);
   }
 
-  private void removeNavigationListeners() {
-    if (mArrivalListener != null) {
-      mNavigator.removeArrivalListener(mArrivalListener);
-    }
-    if (mRouteChangedListener != null) {
-      mNavigator.removeRouteChangedListener(mRouteChangedListener);
+  /** Re-registers the attached remaining time or distance listener with the current thresholds. */
+  private void updateRemainingTimeOrDistanceThresholds() {
+    if (mNavigator == null || mRemainingTimeOrDistanceChangedListener == null) {
+      return;
     }
-    if (mTrafficUpdatedListener != null) {
-      mNavigator.removeTrafficUpdatedListener(mTrafficUpdatedListener);
+    mNavigator.removeRemainingTimeOrDistanceChangedListener(
+        mRemainingTimeOrDistanceChangedListener);
+    registerRemainingTimeOrDistanceListener();
+  }
+
+  /**
+   * Switches the remaining time or distance listener to the other band of adaptive thresholds as
+   * soon as a turn-by-turn or route progress update shows the remaining distance crossed the
+   * boundary, rather than at the next time the coarse thresholds fire.
+   */
+  private void onRemainingMetersUpdated(int remainingMeters) {
+    mLastRemainingMeters = remainingMeters;
+    mLastRemainingMetersTimeMs = SystemClock.elapsedRealtime();
+    if (mRemainingTimeOrDistanceChangedListener != null
+        && mRemainingTimeOrDistanceThresholds.isAdaptive()
+        && mRemainingTimeOrDistanceThresholds.isNearDestination(remainingMeters)
+            != mIsNearDestinationBandRegistered) {
+      UiThreadUtil.runOnUiThread(this::updateRemainingTimeOrDistanceThresholds);
     }
-    if (mReroutingListener != null) {
-      mNavigator.removeReroutingListener(mReroutingListener);
+  }
+
+  private boolean isNearDestination() {
+    if (!mRemainingTimeOrDistanceThresholds.isAdaptive() || mNavigator == null) {
+      return false;
     }
-    if (mRemainingTimeOrDistanceChangedListener != null) {
-      mNavigator.removeRemainingTimeOrDistanceChangedListener(
-          mRemainingTimeOrDistanceChangedListener);
+    if (SystemClock.elapsedRealtime() - mLastRemainingMetersTimeMs <= REMAINING_METERS_MAX_AGE_MS) {
+      return mRemainingTimeOrDistanceThresholds.isNearDestination(mLastRemainingMeters);
     }
+    TimeAndDistance timeAndDistance = mNavigator.getCurrentTimeAndDistance();
+    return timeAndDistance != null
+        && mRemainingTimeOrDistanceThresholds.isNearDestination(timeAndDistance.getMeters());
   }
 
-  private void createWaypoint(Map map) {
-    String placeId = CollectionUtil.getString("placeId", map);
-    String title = CollectionUtil.getString("title", map);
-
-    Double lat = null;
-    Double lng = null;
+  /**
+   * Sets the thresholds the remaining time or distance listener is registered with. If the
+   * listener is attached, it is re-registered right away.
+   */
+  @ReactMethod
+  public void setRemainingTimeOrDistanceThresholds(ReadableMap options) {
+    mRemainingTimeOrDistanceThresholds =
+        RemainingTimeOrDistanceThresholds.fromMap(options.toHashMap());
+    UiThreadUtil.runOnUiThread(this::updateRemainingTimeOrDistanceThresholds);
+  }
 
-    if (map.containsKey("position")) {
-      Map latlng = (Map) map.get("position");
-      if (latlng.get("lat") != null) lat = Double.parseDouble(latlng.get("lat").toString());
-      if (latlng.get("lng") != null) lng = Double.parseDouble(latlng.get("lng").toString());
+  private void removeNavigationListeners() {
+    for (String eventName : NAVIGATOR_EVENTS) {
+      removeNavigationListener(eventName);
     }
+  }
 
-    boolean vehicleStopover = CollectionUtil.getBool("vehicleStopover", map, false);
-    boolean preferSameSideOfRoad = CollectionUtil.getBool("preferSameSideOfRoad", map, false);
-
-    try {
-      Waypoint.Builder waypointBuilder =
-          Waypoint.builder()
-              .setTitle(title)
-              .setVehicleStopover(vehicleStopover)
-              .setPreferSameSideOfRoad(preferSameSideOfRoad);
-
-      if (map.containsKey("preferredHeading")) {
-        int preferredHeading = (int) map.get("preferredHeading");
-        waypointBuilder.setPreferredHeading(preferredHeading);
-      }
+  private void onEventSubscriptionChanged(String eventName, boolean isSubscribed) {
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          // Subscriptions may have changed again by the time this runs, so the current state is
+          // used rather than the one that triggered the update.
+          if (mEventSubscriptions.isSubscribed(eventName)) {
+            addNavigationListener(eventName);
+          } else {
+            removeNavigationListener(eventName);
+          }
+        });
+  }
 
-      if (placeId == null || placeId.isEmpty() && lat != null && lng != null) {
-        mWaypoints.add(waypointBuilder.setLatLng(lat, lng).build());
-      } else {
-        mWaypoints.add(waypointBuilder.setPlaceIdString(placeId).build());
-      }
-    } catch (Waypoint.UnsupportedPlaceIdException e) {
-      logDebugInfo("Error starting navigation: Place ID is not supported: " + placeId);
-    } catch (Waypoint.InvalidSegmentHeadingException e) {
-      logDebugInfo("Error starting navigation: Preferred heading has to be between 0 and 360");
+  /**
+   * Subscribes to an event emitted to the JS side. Subscriptions are reference counted, the
+   * matching native listener is attached on the first one.
+   */
+  @ReactMethod
+  public void subscribe(String eventName) {
+    if (eventName.equals("onTurnByTurn")) {
+      // A new listener has no previous state to apply deltas to.
+      mNavInfoEncoder.requestFullUpdate();
     }
+    mEventSubscriptions.subscribe(eventName);
+  }
+
+  /** Removes a subscription added with {@link #subscribe(String)}. */
+  @ReactMethod
+  public void unsubscribe(String eventName) {
+    mEventSubscriptions.unsubscribe(eventName);
   }
 
   @ReactMethod
   public void setDestination(
       ReadableMap waypoint,
       @Nullable ReadableMap routingOptions,
-      @Nullable ReadableMap displayOptions) {
+      @Nullable ReadableMap displayOptions,
+      final Promise promise) {
     WritableArray array = new WritableNativeArray();
     array.pushMap(waypoint);
-    setDestinations(array, routingOptions, displayOptions);
+    setDestinations(array, routingOptions, displayOptions, promise);
   }
 
+  /**
+   * Sets the destinations and resolves once the route has been calculated. A request identical to
+   * the one still being calculated waits for that result instead of starting over, any other
+   * request cancels the one in progress, resolving it with ROUTE_CANCELED. The onRouteStatusResult
+   * event is only sent for routes the Navigator calculated, not for requests cancelled here.
+   */
   @ReactMethod
   public void setDestinations(
       ReadableArray waypoints,
       @Nullable ReadableMap routingOptions,
-      @Nullable ReadableMap displayOptions) {
+      @Nullable ReadableMap displayOptions,
+      final Promise promise) {
     if (mNavigator == null) {
-      // TODO: HANDLE THIS
+      promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
       return;
     }
 
-    pendingRoute = null; // reset pendingRoute.
+    // Parse the request once, the parsed values both identify it and start it.
+    WaypointParser.Result parsedWaypoints = WaypointParser.parse(waypoints);
+    Map<String, Object> routingOptionsMap =
+        routingOptions != null ? routingOptions.toHashMap() : null;
+    Map<String, Object> displayOptionsMap =
+        displayOptions != null ? displayOptions.toHashMap() : null;
+    List<Object> signature =
+        getRouteSignature(parsedWaypoints, routingOptionsMap, displayOptionsMap);
+
+    RouteRequest request;
+    synchronized (mRouteRequestLock) {
+      if (mRouteRequest != null
+          && !mRouteRequest.isCompleted
+          && mRouteRequest.signature.equals(signature)) {
+        mRouteRequest.promises.add(promise);
+        return;
+      }
+      cancelRouteRequest();
+      request = new RouteRequest(signature);
+      request.promises.add(promise);
+      mRouteRequest = request;
+    }
+
     mWaypoints.clear(); // reset waypoints
 
     // Set up a waypoint for each place that we want to go to.
-    for (int i = 0; i < waypoints.size(); i++) {
-      Map map = waypoints.getMap(i).toHashMap();
-      createWaypoint(map);
+    mWaypoints.addAll(parsedWaypoints.waypoints);
+    request.waypointErrors = parsedWaypoints.errors;
+    if (parsedWaypoints.hasErrors()) {
+      logDebugInfo(
+          "Error starting navigation, skipped invalid waypoints:\n"
+              + TextUtils.join("\n", parsedWaypoints.errors));
     }
 
-    if (routingOptions != null) {
-      if (displayOptions != null) {
-        pendingRoute =
+    ListenableResultFuture<Navigator.RouteStatus> future;
+    if (routingOptionsMap != null) {
+      if (displayOptionsMap != null) {
+        future =
             mNavigator.setDestinations(
                 mWaypoints,
-                ObjectTranslationUtil.getRoutingOptionsFromMap(routingOptions.toHashMap()),
-                ObjectTranslationUtil.getDisplayOptionsFromMap(displayOptions.toHashMap()));
+                ObjectTranslationUtil.getRoutingOptionsFromMap(routingOptionsMap),
+                ObjectTranslationUtil.getDisplayOptionsFromMap(displayOptionsMap));
       } else {
-        pendingRoute =
+        future =
             mNavigator.setDestinations(
-                mWaypoints,
-                ObjectTranslationUtil.getRoutingOptionsFromMap(routingOptions.toHashMap()));
+                mWaypoints, ObjectTranslationUtil.getRoutingOptionsFromMap(routingOptionsMap));
       }
     } else {
-      pendingRoute = mNavigator.setDestinations(mWaypoints);
+      future = mNavigator.setDestinations(mWaypoints);
     }
 
-    setOnResultListener(
-        new IRouteStatusResult() {
-          @Override
-          public void onResult(Navigator.RouteStatus code) {
-            sendCommandToReactNative("onRouteStatusResult", code.toString());
-          }
-        });
+    mRouteGeometryCache.clear();
+    mTraveledPathTracker.startNewGeneration();
+
+    synchronized (mRouteRequestLock) {
+      request.future = future;
+    }
+    // Set an action to perform when a route is determined to the destination
+    future.setOnResultListener(code -> completeRouteRequest(request, code.toString(), true));
   }
 
   @ReactMethod
   public void clearDestinations() {
     if (mNavigator != null) {
+      synchronized (mRouteRequestLock) {
+        cancelRouteRequest();
+      }
       mWaypoints.clear(); // reset waypoints
       mNavigator.clearDestinations();
+      mRouteGeometryCache.clear();
+      mTraveledPathTracker.startNewGeneration();
     }
   }
 
@@ -469,19 +776,74 @@ public class NavModule extends ReactContextBaseJavaModule
   public void continueToNextDestination() {
     if (mNavigator != null) {
       mNavigator.continueToNextDestination();
+      mRouteGeometryCache.clear();
     }
   }
 
-  private void setOnResultListener(IRouteStatusResult listener) {
-    // Set an action to perform when a route is determined to the destination
-    if (pendingRoute != null)
-      pendingRoute.setOnResultListener(
-          new ListenableResultFuture.OnResultListener<Navigator.RouteStatus>() {
-            @Override
-            public void onResult(Navigator.RouteStatus code) {
-              listener.onResult(code);
-            }
-          });
+  /**
+   * Returns what identifies a setDestinations request. Compares as a list, so it doesn't depend on
+   * the iteration order of the option maps.
+   */
+  private static List<Object> getRouteSignature(
+      WaypointParser.Result parsedWaypoints,
+      @Nullable Map<String, Object> routingOptions,
+      @Nullable Map<String, Object> displayOptions) {
+    List<Object> signature = new ArrayList<>();
+    for (Waypoint waypoint : parsedWaypoints.waypoints) {
+      signature.add(
+          Arrays.asList(
+              waypoint.getTitle(),
+              waypoint.getPlaceId(),
+              waypoint.getPosition(),
+              waypoint.getVehicleStopover(),
+              waypoint.getPreferSameSideOfRoad(),
+              waypoint.getPreferredHeading()));
+    }
+    signature.add(parsedWaypoints.errors);
+    signature.add(routingOptions);
+    signature.add(displayOptions);
+    return signature;
+  }
+
+  /**
+   * Cancels the route calculation in progress, if any, settling its promises without sending
+   * onRouteStatusResult. Must hold {@code mRouteRequestLock}.
+   */
+  private void cancelRouteRequest() {
+    if (mRouteRequest == null || mRouteRequest.isCompleted) {
+      return;
+    }
+    if (mRouteRequest.future != null) {
+      mRouteRequest.future.cancel(true);
+    }
+    completeRouteRequest(mRouteRequest, Navigator.RouteStatus.ROUTE_CANCELED.toString(), false);
+  }
+
+  private void completeRouteRequest(
+      RouteRequest request, String routeStatus, boolean notifyListeners) {
+    synchronized (mRouteRequestLock) {
+      // Requests cancelled in favor of a newer one have been completed already.
+      if (request.isCompleted) {
+        return;
+      }
+      request.isCompleted = true;
+    }
+
+    if (notifyListeners) {
+      sendCommandToReactNative("onRouteStatusResult", routeStatus);
+    }
+
+    for (Promise promise : request.promises) {
+      WritableMap map = Arguments.createMap();
+      map.putString("routeStatus", routeStatus);
+      map.putDouble("latencyMs", SystemClock.elapsedRealtime() - request.startTimeMs);
+      WritableArray errors = Arguments.createArray();
+      for (String error : request.waypointErrors) {
+        errors.pushString(error);
+      }
+      map.putArray("waypointErrors", errors);
+      promise.resolve(map);
+    }
   }
 
   @ReactMethod
@@ -491,7 +853,8 @@ public class NavModule extends ReactContextBaseJavaModule
     }
 
     mNavigator.startGuidance();
-    sendCommandToReactNative("onStartGuidance", (NativeArray) null);
+    mTraveledPathTracker.startNewGeneration();
+    sendCommandToReactNative("onStartGuidance", (WritableNativeArray) null);
   }
 
   @ReactMethod
@@ -526,6 +889,30 @@ public class NavModule extends ReactContextBaseJavaModule
     mNavigator.getSimulator().resume();
   }
 
+  @ReactMethod
+  public void setEventBatchingOptions(ReadableMap options) {
+    HashMap<String, Object> optionsMap = options.toHashMap();
+
+    boolean enabled = CollectionUtil.getBool("enabled", optionsMap, true);
+    int flushIntervalMs = CollectionUtil.getInt("flushIntervalMs", optionsMap, 0);
+    int maxQueueSize =
+        CollectionUtil.getInt(
+            "maxQueueSize", optionsMap, BatchedEventDispatcher.DEFAULT_MAX_QUEUE_SIZE);
+
+    mEventDispatcher.setMaxQueueSize(maxQueueSize);
+    mEventDispatcher.setBatchingOptions(enabled, flushIntervalMs);
+  }
+
+  @ReactMethod
+  public void getEventQueueStats(final Promise promise) {
+    WritableMap map = Arguments.createMap();
+    map.putDouble("droppedEvents", mEventDispatcher.getDroppedEventCount());
+    map.putDouble("collapsedEvents", mEventDispatcher.getCollapsedEventCount());
+    map.putDouble("overflowedEvents", mEventDispatcher.getOverflowedEventCount());
+    map.putInt("queuedEvents", mEventDispatcher.getQueuedEventCount());
+    promise.resolve(map);
+  }
+
   @ReactMethod
   public void setAbnormalTerminatingReportingEnabled(boolean isOn) {
     NavigationApi.setAbnormalTerminationReportingEnabled(isOn);
@@ -580,68 +967,332 @@ public class NavModule extends ReactContextBaseJavaModule
       return;
     }
 
-    TimeAndDistance timeAndDistance = mNavigator.getCurrentTimeAndDistance();
+    promise.resolve(getMapFromTimeAndDistance(mNavigator.getCurrentTimeAndDistance()));
+  }
 
+  @Nullable
+  private static WritableMap getMapFromTimeAndDistance(@Nullable TimeAndDistance timeAndDistance) {
     if (timeAndDistance == null) {
-      promise.resolve(null);
-      return;
+      return null;
     }
 
     WritableMap map = Arguments.createMap();
     map.putInt("delaySeverity", timeAndDistance.getDelaySeverity());
     map.putInt("meters", timeAndDistance.getMeters());
     map.putInt("seconds", timeAndDistance.getSeconds());
-    promise.resolve(map);
+    return map;
   }
 
+  /**
+   * Returns the requested fields of the navigation state in one payload. The fields are read
+   * together on the UI thread, where the navigator's listeners run, so they describe the same
+   * moment of the trip. Fields not requested are left out, unknown ones are ignored.
+   *
+   * <p>The fields are timeAndDistance, currentRouteSegment, routeSegments, traveledPath and
+   * turnByTurn. The latter is the last turn-by-turn update in full, and is null unless turn-by-turn
+   * logging is enabled and an update was received. The other fields are read on the UI thread when
+   * the snapshot is taken, while the turn-by-turn update arrives on the nav info thread and may be
+   * older, so its reception time is sent as turnByTurnTimestamp.
+   */
   @ReactMethod
-  public void getCurrentRouteSegment(final Promise promise) {
+  public void getNavigationSnapshot(
+      ReadableArray fields,
+      int geometryFormatJsValue,
+      @Nullable ReadableMap simplification,
+      final Promise promise) {
     if (mNavigator == null) {
       promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
       return;
     }
 
-    RouteSegment routeSegment = mNavigator.getCurrentRouteSegment();
+    Set<String> requestedFields = new HashSet<>();
+    for (int i = 0; i < fields.size(); i++) {
+      requestedFields.add(fields.getString(i));
+    }
+    CustomTypes.GeometryFormat geometryFormat =
+        EnumTranslationUtil.getGeometryFormatFromJsValue(geometryFormatJsValue);
+    PathSimplifier simplifier = getPathSimplifier(simplification);
 
-    if (routeSegment == null) {
-      promise.resolve(null);
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          Navigator navigator = mNavigator;
+          if (navigator == null) {
+            promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
+            return;
+          }
+
+          WritableMap snapshot = Arguments.createMap();
+          if (requestedFields.contains("timeAndDistance")) {
+            snapshot.putMap(
+                "timeAndDistance",
+                getMapFromTimeAndDistance(navigator.getCurrentTimeAndDistance()));
+          }
+          if (requestedFields.contains("currentRouteSegment")) {
+            snapshot.putMap(
+                "currentRouteSegment",
+                getCurrentRouteSegment(navigator, geometryFormat, simplifier));
+          }
+          if (requestedFields.contains("routeSegments")) {
+            snapshot.putArray(
+                "routeSegments",
+                mRouteGeometryCache.getRouteSegments(navigator, geometryFormat, simplifier));
+          }
+          if (requestedFields.contains("traveledPath")) {
+            Object path =
+                ObjectTranslationUtil.getPath(
+                    simplifier.simplify(navigator.getTraveledRoute()), geometryFormat);
+            if (path instanceof String) {
+              snapshot.putString("traveledPath", (String) path);
+            } else {
+              snapshot.putArray("traveledPath", (WritableArray) path);
+            }
+          }
+          if (requestedFields.contains("turnByTurn")) {
+            ReceivedNavInfo lastNavInfo = mLastNavInfo;
+            if (lastNavInfo != null) {
+              snapshot.putMap("turnByTurn", mNavInfoEncoder.encodeFull(lastNavInfo.navInfo));
+              snapshot.putDouble("turnByTurnTimestamp", lastNavInfo.timestampMs);
+            } else {
+              snapshot.putNull("turnByTurn");
+              snapshot.putNull("turnByTurnTimestamp");
+            }
+          }
+          snapshot.putDouble("timestamp", System.currentTimeMillis());
+          promise.resolve(snapshot);
+        });
+  }
+
+  @ReactMethod
+  public void getCurrentRouteSegment(
+      int geometryFormatJsValue, @Nullable ReadableMap simplification, final Promise promise) {
+    if (mNavigator == null) {
+      promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
       return;
     }
 
-    promise.resolve(ObjectTranslationUtil.getMapFromRouteSegment(routeSegment));
+    promise.resolve(
+        getCurrentRouteSegment(
+            mNavigator,
+            EnumTranslationUtil.getGeometryFormatFromJsValue(geometryFormatJsValue),
+            getPathSimplifier(simplification)));
+  }
+
+  @Nullable
+  private static WritableMap getCurrentRouteSegment(
+      Navigator navigator,
+      CustomTypes.GeometryFormat geometryFormat,
+      PathSimplifier pathSimplifier) {
+    RouteSegment routeSegment = navigator.getCurrentRouteSegment();
+    if (routeSegment == null) {
+      return null;
+    }
+    return ObjectTranslationUtil.getMapFromRouteSegment(
+        routeSegment, geometryFormat, pathSimplifier);
   }
 
   @ReactMethod
-  public void getRouteSegments(final Promise promise) {
+  public void getRouteSegments(
+      int geometryFormatJsValue, @Nullable ReadableMap simplification, final Promise promise) {
     if (mNavigator == null) {
       promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
       return;
     }
 
-    List<RouteSegment> routeSegmentList = mNavigator.getRouteSegments();
-    WritableArray arr = Arguments.createArray();
+    promise.resolve(
+        mRouteGeometryCache.getRouteSegments(
+            mNavigator,
+            EnumTranslationUtil.getGeometryFormatFromJsValue(geometryFormatJsValue),
+            getPathSimplifier(simplification)));
+  }
 
-    for (RouteSegment segment : routeSegmentList) {
-      arr.pushMap(ObjectTranslationUtil.getMapFromRouteSegment(segment));
+  @ReactMethod
+  public void getTraveledPath(
+      int geometryFormatJsValue, @Nullable ReadableMap simplification, final Promise promise) {
+    if (mNavigator == null) {
+      promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
+      return;
     }
 
-    promise.resolve(arr);
+    promise.resolve(
+        ObjectTranslationUtil.getPath(
+            getPathSimplifier(simplification).simplify(mNavigator.getTraveledRoute()),
+            EnumTranslationUtil.getGeometryFormatFromJsValue(geometryFormatJsValue)));
   }
 
+  private static PathSimplifier getPathSimplifier(@Nullable ReadableMap simplification) {
+    return PathSimplifier.fromMap(simplification != null ? simplification.toHashMap() : null);
+  }
+
+  /**
+   * Returns the points traveled from {@code index} on, so the path can be read incrementally by
+   * passing the returned nextIndex and generation to the following call. A cursor from an earlier
+   * trip reads the new path from the start, {@link TraveledPathTracker#ANY_GENERATION} only checks
+   * the index.
+   */
   @ReactMethod
-  public void getTraveledPath(final Promise promise) {
+  public void getTraveledPathSince(
+      int index, int generation, int geometryFormatJsValue, final Promise promise) {
     if (mNavigator == null) {
       promise.reject(JsErrors.NO_NAVIGATOR_ERROR_CODE, JsErrors.NO_NAVIGATOR_ERROR_MESSAGE);
       return;
     }
 
-    WritableArray arr = Arguments.createArray();
+    promise.resolve(
+        getMapFromTraveledPath(
+            mTraveledPathTracker.getSince(mNavigator.getTraveledRoute(), index, generation),
+            EnumTranslationUtil.getGeometryFormatFromJsValue(geometryFormatJsValue)));
+  }
+
+  /** Sets how often onTraveledPathUpdated is sent and the format of its points. */
+  @ReactMethod
+  public void setTraveledPathUpdateOptions(ReadableMap options) {
+    Map<String, Object> optionsMap = options.toHashMap();
+    mTraveledPathUpdateFormat =
+        EnumTranslationUtil.getGeometryFormatFromJsValue(
+            CollectionUtil.getInt("geometryFormat", optionsMap, 0));
+    long intervalMs =
+        CollectionUtil.getInt(
+            "intervalMs", optionsMap, (int) TraveledPathTracker.DEFAULT_INTERVAL_MS);
+    UiThreadUtil.runOnUiThread(() -> mTraveledPathTracker.setIntervalMs(intervalMs));
+  }
+
+  private void onTraveledPathUpdated(TraveledPathTracker.Slice slice) {
+    WritableNativeArray params = new WritableNativeArray();
+    params.pushMap(getMapFromTraveledPath(slice, mTraveledPathUpdateFormat));
+    sendCommandToReactNative("onTraveledPathUpdated", params);
+  }
+
+  private static WritableMap getMapFromTraveledPath(
+      TraveledPathTracker.Slice slice, CustomTypes.GeometryFormat geometryFormat) {
+    WritableMap map = Arguments.createMap();
+    Object points = ObjectTranslationUtil.getPath(slice.points, geometryFormat);
+    if (points instanceof String) {
+      map.putString("points", (String) points);
+    } else {
+      map.putArray("points", (WritableArray) points);
+    }
+    map.putInt("startIndex", slice.startIndex);
+    map.putInt("nextIndex", slice.getNextIndex());
+    map.putInt("generation", slice.generation);
+    map.putBoolean("isReset", slice.isReset);
+    return map;
+  }
+
+  /**
+   * Sets the points of interest reported by onUpcomingPoisChanged. Each one has an id and a
+   * position; entries without them are ignored.
+   */
+  @ReactMethod
+  public void setAlongRoutePois(ReadableArray pois) {
+    mAlongRoutePoiTracker.setPois(AlongRoutePoiTracker.parsePois(pois));
+  }
+
+  @ReactMethod
+  public void setAlongRoutePoiOptions(ReadableMap options) {
+    mAlongRoutePoiTracker.setOptions(options.toHashMap());
+  }
+
+  private void onUpcomingPoisChanged(List<AlongRoutePoiTracker.UpcomingPoi> upcomingPois) {
+    WritableArray array = Arguments.createArray();
+    for (AlongRoutePoiTracker.UpcomingPoi upcomingPoi : upcomingPois) {
+      WritableMap map = Arguments.createMap();
+      map.putString("id", upcomingPoi.poi.id);
+      map.putDouble("distanceMeters", upcomingPoi.distanceMeters);
+      map.putDouble("offsetMeters", upcomingPoi.offsetMeters);
+      array.pushMap(map);
+    }
+
+    WritableNativeArray params = new WritableNativeArray();
+    params.pushArray(array);
+    sendCommandToReactNative("onUpcomingPoisChanged", params);
+  }
+
+  /**
+   * Adds geofences checked against the road-snapped locations while onGeofenceTransitions has
+   * subscribers. Resolves with the errors of the geofences that were skipped because they were
+   * invalid.
+   */
+  @ReactMethod
+  public void addGeofences(ReadableArray geofences, final Promise promise) {
+    try {
+      GeofenceEvaluator.ParseResult result = GeofenceEvaluator.parse(geofences);
+      mGeofenceEvaluator.addGeofences(result.geofences);
+
+      WritableArray errors = Arguments.createArray();
+      for (String error : result.errors) {
+        errors.pushString(error);
+      }
+      WritableMap map = Arguments.createMap();
+      map.putArray("errors", errors);
+      promise.resolve(map);
+    } catch (RuntimeException e) {
+      promise.reject(JsErrors.ADD_GEOFENCES_ERROR_CODE, e);
+    }
+  }
+
+  @ReactMethod
+  public void removeGeofences(ReadableArray ids) {
+    List<String> idList = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      if (ids.getType(i) == ReadableType.String) {
+        idList.add(ids.getString(i));
+      }
+    }
+    mGeofenceEvaluator.removeGeofences(idList);
+  }
+
+  @ReactMethod
+  public void clearGeofences() {
+    mGeofenceEvaluator.clear();
+  }
+
+  private void onGeofenceTransitions(List<GeofenceEvaluator.Transition> transitions) {
+    WritableArray array = Arguments.createArray();
+    for (GeofenceEvaluator.Transition transition : transitions) {
+      WritableMap map = Arguments.createMap();
+      map.putString("id", transition.id);
+      map.putInt("transition", transition.type);
+      array.pushMap(map);
+    }
+
+    WritableNativeArray params = new WritableNativeArray();
+    params.pushArray(array);
+    sendCommandToReactNative("onGeofenceTransitions", params);
+  }
+
+  /** Sets the update interval and the maximum cross track error of onRouteProgress. */
+  @ReactMethod
+  public void setRouteProgressOptions(ReadableMap options) {
+    mRouteProgressTracker.setOptions(options.toHashMap());
+  }
 
-    for (LatLng latLng : mNavigator.getTraveledRoute()) {
-      arr.pushMap(ObjectTranslationUtil.getMapFromLatLng(latLng));
+  private void onRouteProgress(RouteProgressTracker.Progress progress) {
+    if (!progress.isOffRoute) {
+      onRemainingMetersUpdated((int) progress.distanceRemainingMeters);
+    }
+    WritableArray waypointDistances = Arguments.createArray();
+    for (RouteProgressTracker.WaypointDistance waypointDistance : progress.waypointDistances) {
+      WritableMap waypointDistanceMap = Arguments.createMap();
+      waypointDistanceMap.putInt("index", waypointDistance.index);
+      waypointDistanceMap.putDouble("distanceMeters", waypointDistance.distanceMeters);
+      waypointDistances.pushMap(waypointDistanceMap);
     }
 
-    promise.resolve(arr);
+    WritableMap map = Arguments.createMap();
+    map.putDouble("distanceTraveledMeters", progress.distanceTraveledMeters);
+    map.putDouble("distanceRemainingMeters", progress.distanceRemainingMeters);
+    map.putDouble("fractionComplete", progress.fractionComplete);
+    if (progress.isOffRoute) {
+      map.putNull("crossTrackErrorMeters");
+    } else {
+      map.putDouble("crossTrackErrorMeters", progress.crossTrackErrorMeters);
+    }
+    map.putArray("waypointDistances", waypointDistances);
+    map.putBoolean("isOffRoute", progress.isOffRoute);
+
+    WritableNativeArray params = new WritableNativeArray();
+    params.pushMap(map);
+    sendCommandToReactNative("onRouteProgress", params);
   }
 
   /** Send command to react native with string param. */
@@ -655,13 +1306,8 @@ public class NavModule extends ReactContextBaseJavaModule
   }
 
   /** Send command to react native. */
-  private void sendCommandToReactNative(String functionName, NativeArray params) {
-    ReactContext reactContext = getReactApplicationContext();
-
-    if (reactContext != null) {
-      CatalystInstance catalystInstance = reactContext.getCatalystInstance();
-      catalystInstance.callFunction(Constants.NAV_JAVASCRIPT_FLAG, functionName, params);
-    }
+  private void sendCommandToReactNative(String functionName, WritableNativeArray params) {
+    mEventDispatcher.dispatch(functionName, params);
   }
 
   @ReactMethod
@@ -727,8 +1373,27 @@ public class NavModule extends ReactContextBaseJavaModule
     NavigationApi.resetTermsAccepted(getCurrentActivity().getApplication());
   }
 
+  /**
+   * Sets the filters applied to the road-snapped and raw location streams before fixes are sent
+   * to JS. Each stream is configured independently, a missing entry resets it to accept all fixes.
+   */
+  @ReactMethod
+  public void setLocationFilterOptions(ReadableMap options) {
+    HashMap<String, Object> optionsMap = options.toHashMap();
+    mLocationFilter.setOptions(getFilterOptions(optionsMap, "roadSnapped"));
+    mRawLocationFilter.setOptions(getFilterOptions(optionsMap, "raw"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getFilterOptions(Map<String, Object> options, String key) {
+    Object value = options.get(key);
+    return value instanceof Map ? (Map<String, Object>) value : new HashMap<>();
+  }
+
   @ReactMethod
   public void startUpdatingLocation() {
+    mLocationFilter.reset();
+    mRawLocationFilter.reset();
     registerLocationListener();
     mIsListeningRoadSnappedLocation = true;
   }
@@ -748,22 +1413,34 @@ public class NavModule extends ReactContextBaseJavaModule
           new LocationListener() {
             @Override
             public void onLocationChanged(final Location location) {
-              if (mIsListeningRoadSnappedLocation) {
+              if (!mIsListeningRoadSnappedLocation || !mLocationFilter.accept(location)) {
+                return;
+              }
+              if (mEventSubscriptions.isSubscribed("onLocationChanged")) {
                 WritableNativeArray params = new WritableNativeArray();
                 params.pushMap(ObjectTranslationUtil.getMapFromLocation(location));
 
                 sendCommandToReactNative("onLocationChanged", params);
               }
+              if (mEventSubscriptions.isSubscribed("onPackedLocationsChanged")) {
+                sendPackedLocations("onPackedLocationsChanged", mPackedLocations, location);
+              }
             }
 
             @Override
             public void onRawLocationUpdate(final Location location) {
-              if (mIsListeningRoadSnappedLocation) {
+              if (!mIsListeningRoadSnappedLocation || !mRawLocationFilter.accept(location)) {
+                return;
+              }
+              if (mEventSubscriptions.isSubscribed("onRawLocationChanged")) {
                 WritableNativeArray params = new WritableNativeArray();
                 params.pushMap(ObjectTranslationUtil.getMapFromLocation(location));
 
                 sendCommandToReactNative("onRawLocationChanged", params);
               }
+              if (mEventSubscriptions.isSubscribed("onPackedRawLocationsChanged")) {
+                sendPackedLocations("onPackedRawLocationsChanged", mPackedRawLocations, location);
+              }
             }
           };
 
@@ -772,6 +1449,25 @@ public class NavModule extends ReactContextBaseJavaModule
     }
   }
 
+  /**
+   * Appends a fix to the given buffer. The buffer is drained when the event is delivered, so all
+   * fixes received until the next flush are sent together in one primitive array.
+   */
+  private void sendPackedLocations(
+      String functionName, PackedLocationBuffer buffer, Location location) {
+    boolean wasEmpty = buffer.isEmpty();
+    buffer.add(location);
+    if (wasEmpty) {
+      mEventDispatcher.dispatch(
+          functionName,
+          () -> {
+            WritableNativeArray params = new WritableNativeArray();
+            params.pushArray(buffer.drain());
+            return params;
+          });
+    }
+  }
+
   private void removeLocationListener() {
     if (mRoadSnappedLocationProvider != null && mLocationListener != null) {
       mRoadSnappedLocationProvider.removeLocationListener(mLocationListener);
@@ -779,42 +1475,51 @@ public class NavModule extends ReactContextBaseJavaModule
     }
   }
 
-  private void showNavInfo(NavInfo navInfo) {
-    if (navInfo == null || reactContext == null) {
+  private void showNavInfo(@Nullable NavInfo navInfo) {
+    if (navInfo == null) {
+      // The service was unbound, the last update no longer describes the trip.
+      mLastNavInfo = null;
       return;
     }
-    WritableMap map = Arguments.createMap();
 
-    map.putInt("navState", navInfo.getNavState());
-    map.putBoolean("routeChanged", navInfo.getRouteChanged());
-    if (navInfo.getDistanceToCurrentStepMeters() != null)
-      map.putInt("distanceToCurrentStepMeters", navInfo.getDistanceToCurrentStepMeters());
-    if (navInfo.getDistanceToFinalDestinationMeters() != null)
-      map.putInt("distanceToFinalDestinationMeters", navInfo.getDistanceToFinalDestinationMeters());
-    if (navInfo.getDistanceToNextDestinationMeters() != null)
-      map.putInt("distanceToNextDestinationMeters", navInfo.getDistanceToNextDestinationMeters());
-    if (navInfo.getTimeToCurrentStepSeconds() != null)
-      map.putInt("timeToCurrentStepSeconds", navInfo.getTimeToCurrentStepSeconds());
-    if (navInfo.getTimeToFinalDestinationSeconds() != null)
-      map.putInt("timeToFinalDestinationSeconds", navInfo.getTimeToFinalDestinationSeconds());
-    if (navInfo.getTimeToNextDestinationSeconds() != null)
-      map.putInt("timeToNextDestinationSeconds", navInfo.getTimeToNextDestinationSeconds());
-    if (navInfo.getCurrentStep() != null)
-      map.putMap("currentStep", ObjectTranslationUtil.getMapFromStepInfo(navInfo.getCurrentStep()));
-
-    WritableArray remainingSteps = Arguments.createArray();
-    if (navInfo.getRemainingSteps() != null) {
-      for (StepInfo info : navInfo.getRemainingSteps()) {
-        remainingSteps.pushMap(ObjectTranslationUtil.getMapFromStepInfo(info));
-      }
+    mLastNavInfo = new ReceivedNavInfo(navInfo, System.currentTimeMillis());
+    mRemainingStepsCache.update(navInfo);
+    if (navInfo.getDistanceToFinalDestinationMeters() != null) {
+      onRemainingMetersUpdated(navInfo.getDistanceToFinalDestinationMeters());
+    }
+
+    if (reactContext == null || !mEventSubscriptions.isSubscribed("onTurnByTurn")) {
+      return;
+    }
+
+    WritableMap map = mNavInfoEncoder.encode(navInfo);
+    if (map == null) {
+      return;
     }
-    map.putArray("getRemainingSteps", remainingSteps);
 
     WritableNativeArray params = new WritableNativeArray();
     params.pushMap(map);
     sendCommandToReactNative("onTurnByTurn", params);
   }
 
+  /**
+   * Sets options of the onTurnByTurn event. With delta encoding enabled, only the fields that
+   * changed since the previous update are sent.
+   */
+  @ReactMethod
+  public void setTurnByTurnEventOptions(ReadableMap options) {
+    HashMap<String, Object> optionsMap = options.toHashMap();
+    boolean deltaEnabled = CollectionUtil.getBool("deltaEncoding", optionsMap, false);
+
+    mNavInfoEncoder.setDeltaEnabled(deltaEnabled);
+    // Every delta has to reach JS for the merged state to be correct.
+    mEventDispatcher.setEventPolicy(
+        "onTurnByTurn",
+        deltaEnabled
+            ? BatchedEventDispatcher.EventPolicy.LOSSLESS
+            : BatchedEventDispatcher.EventPolicy.LATEST_WINS);
+  }
+
   @Override
   public void logDebugInfo(String info) {
     sendCommandToReactNative("logDebugInfo", info);
@@ -842,7 +1547,28 @@ public class NavModule extends ReactContextBaseJavaModule
   @Override
   public void onHostDestroy() {}
 
-  private interface IRouteStatusResult {
-    void onResult(Navigator.RouteStatus code);
+  /** A turn-by-turn update and the time it was received, in milliseconds since the epoch. */
+  private static class ReceivedNavInfo {
+    final NavInfo navInfo;
+    final long timestampMs;
+
+    ReceivedNavInfo(NavInfo navInfo, long timestampMs) {
+      this.navInfo = navInfo;
+      this.timestampMs = timestampMs;
+    }
+  }
+
+  /** A route calculation started by setDestinations and the promises waiting for its result. */
+  private static class RouteRequest {
+    final List<Object> signature;
+    final long startTimeMs = SystemClock.elapsedRealtime();
+    final List<Promise> promises = new ArrayList<>();
+    List<String> waypointErrors = new ArrayList<>();
+    @Nullable ListenableResultFuture<Navigator.RouteStatus> future;
+    boolean isCompleted = false;
+
+    RouteRequest(List<Object> signature) {
+      this.signature = signature;
+    }
   }
 }
@@ -120,6 +120,7 @@ public class NavViewManager extends SimpleViewManager<FrameLayout> {
     map.put(SET_HEADER_ENABLED.toString(), SET_HEADER_ENABLED.getValue());
     map.put(SET_FOOTER_ENABLED.toString(), SET_FOOTER_ENABLED.getValue());
     map.put(SET_PADDING.toString(), SET_PADDING.getValue());
+    map.put(REMOVE_OVERLAYS_WITH_TAG.toString(), REMOVE_OVERLAYS_WITH_TAG.getValue());
     return map;
   }
 
@@ -299,6 +300,9 @@ public class NavViewManager extends SimpleViewManager<FrameLayout> {
       case REMOVE_GROUND_OVERLAY:
         getFragmentForRoot(root).getMapController().removeGroundOverlay(args.getString(0));
         break;
+      case REMOVE_OVERLAYS_WITH_TAG:
+        getFragmentForRoot(root).getMapController().removeOverlaysWithTag(args.getString(0));
+        break;
       case SET_PADDING:
         getFragmentForRoot(root)
             .getMapController()
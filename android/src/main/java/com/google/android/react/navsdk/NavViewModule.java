@@ -14,11 +14,13 @@
 package com.google.android.react.navsdk;
 
 import android.location.Location;
+import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
@@ -30,7 +32,9 @@ import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.Polygon;
 import com.google.android.gms.maps.model.Polyline;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -244,6 +248,144 @@ public class NavViewModule extends ReactContextBaseJavaModule {
         });
   }
 
+  @ReactMethod
+  public void addMarkers(int viewId, ReadableArray optionsArray, final Promise promise) {
+    addOverlays(viewId, OverlayBatch.fromArray(OverlayBatch.Type.MARKER, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addPolylines(int viewId, ReadableArray optionsArray, final Promise promise) {
+    addOverlays(viewId, OverlayBatch.fromArray(OverlayBatch.Type.POLYLINE, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addPolygons(int viewId, ReadableArray optionsArray, final Promise promise) {
+    addOverlays(viewId, OverlayBatch.fromArray(OverlayBatch.Type.POLYGON, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addCircles(int viewId, ReadableArray optionsArray, final Promise promise) {
+    addOverlays(viewId, OverlayBatch.fromArray(OverlayBatch.Type.CIRCLE, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void addGroundOverlays(int viewId, ReadableArray optionsArray, final Promise promise) {
+    addOverlays(
+        viewId, OverlayBatch.fromArray(OverlayBatch.Type.GROUND_OVERLAY, optionsArray), promise);
+  }
+
+  @ReactMethod
+  public void removeMarkers(int viewId, ReadableArray ids) {
+    removeOverlays(viewId, OverlayBatch.Type.MARKER, ids);
+  }
+
+  @ReactMethod
+  public void removePolylines(int viewId, ReadableArray ids) {
+    removeOverlays(viewId, OverlayBatch.Type.POLYLINE, ids);
+  }
+
+  @ReactMethod
+  public void removePolygons(int viewId, ReadableArray ids) {
+    removeOverlays(viewId, OverlayBatch.Type.POLYGON, ids);
+  }
+
+  @ReactMethod
+  public void removeCircles(int viewId, ReadableArray ids) {
+    removeOverlays(viewId, OverlayBatch.Type.CIRCLE, ids);
+  }
+
+  @ReactMethod
+  public void removeGroundOverlays(int viewId, ReadableArray ids) {
+    removeOverlays(viewId, OverlayBatch.Type.GROUND_OVERLAY, ids);
+  }
+
+  /**
+   * Adds the overlays of the batch in a single UI thread task and resolves with their ids, null for
+   * the ones that couldn't be added. Only rejects if the batch as a whole can't be added.
+   */
+  private void addOverlays(int viewId, OverlayBatch batch, final Promise promise) {
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mNavViewManager.getGoogleMap(viewId) == null) {
+            promise.reject(JsErrors.NO_MAP_ERROR_CODE, JsErrors.NO_MAP_ERROR_MESSAGE);
+            return;
+          }
+          try {
+            promise.resolve(
+                batch.addTo(mNavViewManager.getFragmentForViewId(viewId).getMapController()));
+          } catch (Exception e) {
+            promise.reject(JsErrors.ADD_OVERLAYS_ERROR_CODE, e);
+          }
+        });
+  }
+
+  private void removeOverlays(int viewId, OverlayBatch.Type type, ReadableArray ids) {
+    List<String> idList = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      idList.add(ids.getString(i));
+    }
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mNavViewManager.getGoogleMap(viewId) == null) {
+            return;
+          }
+          mNavViewManager
+              .getFragmentForViewId(viewId)
+              .getMapController()
+              .removeOverlays(type, idList);
+        });
+  }
+
+  /**
+   * Shows the points on the map with clustering, replacing the previously set ones. The points and
+   * their clusters are prepared on the calling thread, only the visible markers are added on the UI
+   * thread.
+   */
+  @ReactMethod
+  public void setClusterItems(int viewId, ReadableArray items, @Nullable ReadableMap options) {
+    MarkerClusterer.Data data =
+        MarkerClusterer.parse(
+            items, options != null ? options.toHashMap() : new HashMap<String, Object>());
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mNavViewManager.getGoogleMap(viewId) == null) {
+            return;
+          }
+          mNavViewManager.getFragmentForViewId(viewId).getMapController().setClusterData(data);
+        });
+  }
+
+  @ReactMethod
+  public void clearClusterItems(int viewId) {
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mNavViewManager.getGoogleMap(viewId) == null) {
+            return;
+          }
+          mNavViewManager.getFragmentForViewId(viewId).getMapController().setClusterData(null);
+        });
+  }
+
+  /**
+   * Sets whether overlays added in bulk are only added to the map when they are near the visible
+   * region, see {@link OverlayCuller}.
+   */
+  @ReactMethod
+  public void setViewportCullingEnabled(int viewId, boolean isOn, @Nullable ReadableMap options) {
+    Map<String, Object> optionsMap =
+        options != null ? options.toHashMap() : new HashMap<String, Object>();
+    UiThreadUtil.runOnUiThread(
+        () -> {
+          if (mNavViewManager.getGoogleMap(viewId) == null) {
+            return;
+          }
+          mNavViewManager
+              .getFragmentForViewId(viewId)
+              .getMapController()
+              .setViewportCullingEnabled(isOn, optionsMap);
+        });
+  }
+
   @Override
   public boolean canOverrideExistingModule() {
     return true;
@@ -15,6 +15,7 @@ package com.google.android.react.navsdk;
 
 import android.location.Location;
 import android.os.Build;
+import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
@@ -36,7 +37,21 @@ import java.util.Map;
 
 public class ObjectTranslationUtil {
   public static WritableMap getMapFromRouteSegment(RouteSegment routeSegment) {
+    return getMapFromRouteSegment(
+        routeSegment, CustomTypes.GeometryFormat.LAT_LNG_LIST, PathSimplifier.NONE);
+  }
+
+  /**
+   * Converts the route segment with its path simplified and in the given format. Unless the
+   * lat/lng list format is requested, segmentLatLngList is left empty and the path is put under
+   * encodedPath or segmentCoordinates instead.
+   */
+  public static WritableMap getMapFromRouteSegment(
+      RouteSegment routeSegment,
+      CustomTypes.GeometryFormat geometryFormat,
+      PathSimplifier pathSimplifier) {
     WritableMap parentMap = Arguments.createMap();
+    List<LatLng> latLngs = pathSimplifier.simplify(routeSegment.getLatLngs());
 
     // Destination latLng
     WritableMap mapDestLatLng = Arguments.createMap();
@@ -47,11 +62,19 @@ public class ObjectTranslationUtil {
         "destinationWaypoint", getMapFromWaypoint(routeSegment.getDestinationWaypoint()));
 
     // Lat Lngs
-    WritableArray latLngArr = Arguments.createArray();
-    for (LatLng latLng : routeSegment.getLatLngs()) {
-      latLngArr.pushMap(getMapFromLatLng(latLng));
+    switch (geometryFormat) {
+      case ENCODED_POLYLINE:
+        parentMap.putArray("segmentLatLngList", Arguments.createArray());
+        parentMap.putString("encodedPath", PolylineEncoding.encode(latLngs));
+        break;
+      case FLAT_ARRAY:
+        parentMap.putArray("segmentLatLngList", Arguments.createArray());
+        parentMap.putArray("segmentCoordinates", getFlatArrayFromLatLngs(latLngs));
+        break;
+      default:
+        parentMap.putArray("segmentLatLngList", getArrayFromLatLngs(latLngs));
+        break;
     }
-    parentMap.putArray("segmentLatLngList", latLngArr);
 
     // Traffic data
     WritableArray stretchRenderingDataArr = Arguments.createArray();
@@ -79,6 +102,36 @@ public class ObjectTranslationUtil {
     return map;
   }
 
+  public static WritableArray getArrayFromLatLngs(List<LatLng> latLngs) {
+    WritableArray array = Arguments.createArray();
+    for (LatLng latLng : latLngs) {
+      array.pushMap(getMapFromLatLng(latLng));
+    }
+    return array;
+  }
+
+  /** Returns the coordinates as a flat array of alternating latitudes and longitudes. */
+  public static WritableArray getFlatArrayFromLatLngs(List<LatLng> latLngs) {
+    WritableArray array = Arguments.createArray();
+    for (LatLng latLng : latLngs) {
+      array.pushDouble(latLng.latitude);
+      array.pushDouble(latLng.longitude);
+    }
+    return array;
+  }
+
+  /** Returns the path in the given format, as an array or an encoded polyline string. */
+  public static Object getPath(List<LatLng> latLngs, CustomTypes.GeometryFormat geometryFormat) {
+    switch (geometryFormat) {
+      case ENCODED_POLYLINE:
+        return PolylineEncoding.encode(latLngs);
+      case FLAT_ARRAY:
+        return getFlatArrayFromLatLngs(latLngs);
+      default:
+        return getArrayFromLatLngs(latLngs);
+    }
+  }
+
   public static WritableMap getMapFromWaypoint(Waypoint waypoint) {
     WritableMap map = Arguments.createMap();
 
@@ -215,7 +268,7 @@ public class ObjectTranslationUtil {
 
     map.putMap("bounds", mapBounds);
 
-    map.putString("id", overlay.getId());
+    putIdAndTag(map, overlay.getId(), overlay.getTag());
     map.putDouble("height", overlay.getHeight());
     map.putDouble("width", overlay.getWidth());
     map.putDouble("bearing", overlay.getBearing());
@@ -225,11 +278,31 @@ public class ObjectTranslationUtil {
     return map;
   }
 
+  /**
+   * Puts the id of the overlay and the tag it was added with, if it was. Overlays added by the
+   * culler report the id and tag of their culler entry instead of the map object's, and markers of
+   * clustered points report the id of their point.
+   */
+  private static void putIdAndTag(WritableMap map, String id, @Nullable Object tag) {
+    if (tag instanceof OverlayCuller.Entry) {
+      OverlayCuller.Entry entry = (OverlayCuller.Entry) tag;
+      id = entry.id;
+      tag = entry.tag;
+    } else if (tag instanceof MarkerClusterer.ItemTag) {
+      id = ((MarkerClusterer.ItemTag) tag).id;
+      tag = null;
+    }
+    map.putString("id", id);
+    if (tag instanceof String) {
+      map.putString("tag", (String) tag);
+    }
+  }
+
   public static WritableMap getMapFromMarker(Marker marker) {
     WritableMap map = Arguments.createMap();
 
     map.putMap("position", getMapFromLatLng(marker.getPosition()));
-    map.putString("id", marker.getId());
+    putIdAndTag(map, marker.getId(), marker.getTag());
     map.putString("title", marker.getTitle());
     map.putDouble("alpha", marker.getAlpha());
     map.putDouble("rotation", marker.getRotation());
@@ -243,7 +316,7 @@ public class ObjectTranslationUtil {
     WritableMap map = Arguments.createMap();
     map.putMap("center", ObjectTranslationUtil.getMapFromLatLng(circle.getCenter()));
 
-    map.putString("id", circle.getId());
+    putIdAndTag(map, circle.getId(), circle.getTag());
     map.putInt("fillColor", circle.getFillColor());
     map.putDouble("strokeWidth", circle.getStrokeWidth());
     map.putInt("strokeColor", circle.getStrokeColor());
@@ -262,7 +335,7 @@ public class ObjectTranslationUtil {
     }
     map.putArray("points", pointsArr);
 
-    map.putString("id", polyline.getId());
+    putIdAndTag(map, polyline.getId(), polyline.getTag());
     map.putInt("color", polyline.getColor());
     map.putDouble("width", polyline.getWidth());
     map.putInt("jointType", polyline.getJointType());
@@ -293,7 +366,7 @@ public class ObjectTranslationUtil {
     }
     map.putArray("holes", holesArr);
 
-    map.putString("id", polygon.getId());
+    putIdAndTag(map, polygon.getId(), polygon.getTag());
     map.putInt("fillColor", polygon.getFillColor());
     map.putDouble("strokeWidth", polygon.getStrokeWidth());
     map.putInt("strokeColor", polygon.getStrokeColor());
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.google.android.gms.maps.model.Circle;
+import com.google.android.gms.maps.model.CircleOptions;
+import com.google.android.gms.maps.model.GroundOverlay;
+import com.google.android.gms.maps.model.GroundOverlayOptions;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.maps.model.Polygon;
+import com.google.android.gms.maps.model.PolygonOptions;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Overlays of one type to add to a map in one go. The options are read when the batch is created,
+ * on the thread the call came in on, so only adding the overlays is left to the UI thread.
+ *
+ * <p>An overlay whose options can't be read or that can't be added is reported as null, without
+ * failing the rest of the batch.
+ */
+public class OverlayBatch {
+  public enum Type {
+    MARKER,
+    POLYLINE,
+    POLYGON,
+    CIRCLE,
+    GROUND_OVERLAY
+  }
+
+  private final Type mType;
+  // Options of each overlay, null for the ones that couldn't be read.
+  private final List<Object> mOptions;
+  private final List<String> mTags;
+
+  private OverlayBatch(Type type, List<Object> options, List<String> tags) {
+    mType = type;
+    mOptions = options;
+    mTags = tags;
+  }
+
+  public static OverlayBatch fromArray(Type type, ReadableArray optionsArray) {
+    List<Object> options = new ArrayList<>(optionsArray.size());
+    List<String> tags = new ArrayList<>(optionsArray.size());
+    for (int i = 0; i < optionsArray.size(); i++) {
+      Object itemOptions = null;
+      String tag = null;
+      try {
+        Map<String, Object> optionsMap = optionsArray.getMap(i).toHashMap();
+        tag = CollectionUtil.getString("tag", optionsMap);
+        itemOptions = getOptions(type, optionsMap);
+      } catch (RuntimeException e) {
+        // E.g. a missing position or an invalid color, only this overlay is left out.
+        itemOptions = null;
+      }
+      options.add(itemOptions);
+      tags.add(tag);
+    }
+    return new OverlayBatch(type, options, tags);
+  }
+
+  private static Object getOptions(Type type, Map<String, Object> optionsMap) {
+    switch (type) {
+      case MARKER:
+        return MapViewController.getMarkerOptions(optionsMap);
+      case POLYLINE:
+        return MapViewController.getPolylineOptions(optionsMap);
+      case POLYGON:
+        return MapViewController.getPolygonOptions(optionsMap);
+      case CIRCLE:
+        return MapViewController.getCircleOptions(optionsMap);
+      default:
+        return MapViewController.getGroundOverlayOptions(optionsMap);
+    }
+  }
+
+  /**
+   * Adds the overlays to the map of the controller and returns their ids, in the order of the
+   * options, with null for the ones that couldn't be added. Has to be called on the UI thread.
+   *
+   * <p>With viewport culling enabled the overlays are given to the culler, which only adds the ones
+   * near the visible region to the map.
+   */
+  public WritableArray addTo(MapViewController controller) {
+    boolean isCulled = controller.isViewportCullingEnabled();
+    WritableArray ids = Arguments.createArray();
+    for (int i = 0; i < mOptions.size(); i++) {
+      Object options = mOptions.get(i);
+      String id;
+      try {
+        if (isCulled && options != null) {
+          id = controller.addCulledOverlay(mType, options, mTags.get(i));
+        } else {
+          id = add(controller, options, mTags.get(i));
+        }
+      } catch (RuntimeException e) {
+        // E.g. an image that can't be loaded, the other overlays are still added.
+        id = null;
+      }
+      if (id != null) {
+        ids.pushString(id);
+      } else {
+        ids.pushNull();
+      }
+    }
+    return ids;
+  }
+
+  private String add(MapViewController controller, Object options, String tag) {
+    if (options == null) {
+      return null;
+    }
+    switch (mType) {
+      case MARKER:
+        Marker marker = controller.addMarker((MarkerOptions) options, tag);
+        return marker != null ? marker.getId() : null;
+      case POLYLINE:
+        Polyline polyline = controller.addPolyline((PolylineOptions) options, tag);
+        return polyline != null ? polyline.getId() : null;
+      case POLYGON:
+        Polygon polygon = controller.addPolygon((PolygonOptions) options, tag);
+        return polygon != null ? polygon.getId() : null;
+      case CIRCLE:
+        Circle circle = controller.addCircle((CircleOptions) options, tag);
+        return circle != null ? circle.getId() : null;
+      default:
+        GroundOverlay groundOverlay =
+            controller.addGroundOverlay((GroundOverlayOptions) options, tag);
+        return groundOverlay != null ? groundOverlay.getId() : null;
+    }
+  }
+}
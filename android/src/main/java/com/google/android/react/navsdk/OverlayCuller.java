@@ -0,0 +1,492 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.Circle;
+import com.google.android.gms.maps.model.CircleOptions;
+import com.google.android.gms.maps.model.GroundOverlay;
+import com.google.android.gms.maps.model.GroundOverlayOptions;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.maps.model.Polygon;
+import com.google.android.gms.maps.model.PolygonOptions;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps overlays in a spatial index and only adds the ones near the visible region to the map, so
+ * the cost of a large set of overlays depends on what is on screen rather than on its size.
+ *
+ * <p>The overlays are added when they come within the visible region plus a margin, and only
+ * removed once they leave a wider region, so panning back and forth doesn't add and remove them
+ * repeatedly. The regions are recomputed when the camera stops moving.
+ *
+ * <p>The index is a hierarchy of grids where each overlay is put in the level whose cells are at
+ * least as large as its bounds, so it is in at most four cells and looking up a region only visits
+ * the cells it covers. Has to be used on the UI thread.
+ */
+public class OverlayCuller {
+  private static final double EARTH_RADIUS_METERS = 6371009;
+  private static final int MAX_LEVEL = 24;
+  private static final String ID_PREFIX = "culled-";
+
+  /**
+   * An overlay kept by the culler. It is the tag of the overlay while it is on the map, so clicks
+   * report its id and tag rather than the ones of the map object.
+   */
+  public static class Entry {
+    public final String id;
+    public final @Nullable String tag;
+    final OverlayBatch.Type type;
+    final Object options;
+    final int level;
+    final double minLat;
+    final double minLng;
+    final double maxLat;
+    final double maxLng;
+    // The overlay on the map, or null while it is culled.
+    @Nullable Object overlay;
+
+    Entry(
+        String id,
+        @Nullable String tag,
+        OverlayBatch.Type type,
+        Object options,
+        int level,
+        double[] bounds) {
+      this.id = id;
+      this.tag = tag;
+      this.type = type;
+      this.options = options;
+      this.level = level;
+      this.minLat = bounds[0];
+      this.minLng = bounds[1];
+      this.maxLat = bounds[2];
+      this.maxLng = bounds[3];
+    }
+  }
+
+  /** The map the overlays are shown on, an interface so culling can be tested without a map. */
+  interface OverlayMap {
+    LatLngBounds getVisibleBounds();
+
+    /** Adds the overlay of the entry to the map, tagged with the entry, and returns it. */
+    Object addOverlay(Entry entry);
+
+    void removeOverlay(Entry entry);
+  }
+
+  private final OverlayMap mMap;
+  private final OverlayRegistry<Entry> mEntries = new OverlayRegistry<>();
+  // Entries of each level by cell key, from level 0 to MAX_LEVEL.
+  private final List<Map<Long, List<Entry>>> mLevels = new ArrayList<>(MAX_LEVEL + 1);
+  private final Set<Entry> mShownEntries = new HashSet<>();
+  private int mNextId = 0;
+
+  // Fractions of the visible region added on each side to get the regions overlays are added in
+  // and removed outside of.
+  private double mShowMargin = 0.5;
+  private double mKeepMargin = 1;
+  private @Nullable List<double[]> mShowRegion;
+
+  public OverlayCuller(GoogleMap googleMap) {
+    this(new GoogleMapOverlayMap(googleMap));
+  }
+
+  OverlayCuller(OverlayMap map) {
+    mMap = map;
+    for (int level = 0; level <= MAX_LEVEL; level++) {
+      mLevels.add(new HashMap<>());
+    }
+  }
+
+  public void setOptions(Map<String, Object> options) {
+    mShowMargin = Math.max(0, CollectionUtil.getDouble("margin", options, 0.5));
+    mKeepMargin = Math.max(mShowMargin, CollectionUtil.getDouble("keepMargin", options, 1));
+    onCameraIdle();
+  }
+
+  /**
+   * Adds the overlay to the index, and to the map if it is near the visible region, and returns
+   * its id.
+   */
+  public String add(OverlayBatch.Type type, Object options, @Nullable String tag) {
+    double[] bounds = getBounds(type, options);
+    Entry entry =
+        new Entry(ID_PREFIX + mNextId++, tag, type, options, getLevel(bounds), bounds);
+    mEntries.put(entry.id, entry, tag);
+    for (long key : getKeys(entry)) {
+      List<Entry> entries = mLevels.get(entry.level).get(key);
+      if (entries == null) {
+        entries = new ArrayList<>(2);
+        mLevels.get(entry.level).put(key, entries);
+      }
+      entries.add(entry);
+    }
+
+    if (mShowRegion == null) {
+      mShowRegion = getVisibleRegion(mShowMargin);
+    }
+    if (intersects(entry, mShowRegion)) {
+      show(entry);
+    }
+    return entry.id;
+  }
+
+  /**
+   * Removes the overlay of the type with the id and returns true, or returns false if there is
+   * none, e.g. because the id belongs to an overlay of another type.
+   */
+  public boolean remove(OverlayBatch.Type type, String id) {
+    Entry entry = mEntries.get(id);
+    if (entry == null || entry.type != type) {
+      return false;
+    }
+    mEntries.remove(id);
+    removeFromIndex(entry);
+    return true;
+  }
+
+  public void removeWithTag(String tag) {
+    for (Entry entry : mEntries.removeWithTag(tag)) {
+      removeFromIndex(entry);
+    }
+  }
+
+  /** Forgets the overlays, e.g. after the map was cleared. */
+  public void clear() {
+    mEntries.clear();
+    for (Map<Long, List<Entry>> cells : mLevels) {
+      cells.clear();
+    }
+    mShownEntries.clear();
+    mShowRegion = null;
+  }
+
+  public void onCameraIdle() {
+    if (mEntries.size() == 0) {
+      mShowRegion = null;
+      return;
+    }
+    mShowRegion = getVisibleRegion(mShowMargin);
+    List<double[]> keepRegion = getVisibleRegion(mKeepMargin);
+
+    Iterator<Entry> iterator = mShownEntries.iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (!intersects(entry, keepRegion)) {
+        hide(entry);
+        iterator.remove();
+      }
+    }
+    for (double[] box : mShowRegion) {
+      for (Entry entry : query(box)) {
+        if (entry.overlay == null) {
+          show(entry);
+        }
+      }
+    }
+  }
+
+  private void removeFromIndex(Entry entry) {
+    for (long key : getKeys(entry)) {
+      List<Entry> entries = mLevels.get(entry.level).get(key);
+      if (entries != null) {
+        entries.remove(entry);
+        if (entries.isEmpty()) {
+          mLevels.get(entry.level).remove(key);
+        }
+      }
+    }
+    if (entry.overlay != null) {
+      hide(entry);
+      mShownEntries.remove(entry);
+    }
+  }
+
+  /** Returns the entries whose bounds intersect the box. */
+  private Set<Entry> query(double[] box) {
+    Set<Entry> result = new HashSet<>();
+    for (int level = 0; level <= MAX_LEVEL; level++) {
+      Map<Long, List<Entry>> cells = mLevels.get(level);
+      if (cells.isEmpty()) {
+        continue;
+      }
+      double cellSize = getCellSize(level);
+      int minRow = getRow(box[0], cellSize);
+      int minColumn = getColumn(box[1], cellSize);
+      int maxRow = getRow(box[2], cellSize);
+      int maxColumn = getColumn(box[3], cellSize);
+      if ((long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1) > cells.size()) {
+        // Fewer cells are occupied than covered by the box.
+        for (List<Entry> entries : cells.values()) {
+          addIntersecting(entries, box, result);
+        }
+        continue;
+      }
+      for (int row = minRow; row <= maxRow; row++) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+          List<Entry> entries = cells.get(getKey(row, column));
+          if (entries != null) {
+            addIntersecting(entries, box, result);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private static void addIntersecting(List<Entry> entries, double[] box, Set<Entry> result) {
+    for (Entry entry : entries) {
+      if (intersects(entry, box)) {
+        result.add(entry);
+      }
+    }
+  }
+
+  private void show(Entry entry) {
+    entry.overlay = mMap.addOverlay(entry);
+    mShownEntries.add(entry);
+  }
+
+  private void hide(Entry entry) {
+    mMap.removeOverlay(entry);
+    entry.overlay = null;
+  }
+
+  /**
+   * Returns the visible region grown by the margin as one box, or two boxes if it crosses the
+   * antimeridian. Each box is {minLat, minLng, maxLat, maxLng}.
+   */
+  private List<double[]> getVisibleRegion(double margin) {
+    LatLngBounds visible = mMap.getVisibleBounds();
+    double latMargin = (visible.northeast.latitude - visible.southwest.latitude) * margin;
+    double minLat = Math.max(-90, visible.southwest.latitude - latMargin);
+    double maxLat = Math.min(90, visible.northeast.latitude + latMargin);
+    double lngSpan = visible.northeast.longitude - visible.southwest.longitude;
+    if (lngSpan < 0) {
+      lngSpan += 360;
+    }
+
+    List<double[]> region = new ArrayList<>(2);
+    double lngMargin = lngSpan * margin;
+    if (lngSpan + 2 * lngMargin >= 360) {
+      region.add(new double[] {minLat, -180, maxLat, 180});
+      return region;
+    }
+    double minLng = wrapLng(visible.southwest.longitude - lngMargin);
+    double maxLng = wrapLng(visible.northeast.longitude + lngMargin);
+    if (minLng <= maxLng) {
+      region.add(new double[] {minLat, minLng, maxLat, maxLng});
+    } else {
+      region.add(new double[] {minLat, minLng, maxLat, 180});
+      region.add(new double[] {minLat, -180, maxLat, maxLng});
+    }
+    return region;
+  }
+
+  private static boolean intersects(Entry entry, List<double[]> region) {
+    for (double[] box : region) {
+      if (intersects(entry, box)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean intersects(Entry entry, double[] box) {
+    return entry.minLat <= box[2]
+        && entry.maxLat >= box[0]
+        && entry.minLng <= box[3]
+        && entry.maxLng >= box[1];
+  }
+
+  /**
+   * Returns the bounds of the overlay as {minLat, minLng, maxLat, maxLng}. Overlays crossing the
+   * antimeridian get bounds spanning every longitude, so they are only culled by latitude.
+   */
+  private static double[] getBounds(OverlayBatch.Type type, Object options) {
+    switch (type) {
+      case MARKER:
+        LatLng position = ((MarkerOptions) options).getPosition();
+        return new double[] {
+          position.latitude, position.longitude, position.latitude, position.longitude
+        };
+      case POLYLINE:
+        return getBounds(((PolylineOptions) options).getPoints());
+      case POLYGON:
+        return getBounds(((PolygonOptions) options).getPoints());
+      case CIRCLE:
+        CircleOptions circleOptions = (CircleOptions) options;
+        return getBounds(circleOptions.getCenter(), circleOptions.getRadius());
+      default:
+        GroundOverlayOptions groundOverlayOptions = (GroundOverlayOptions) options;
+        // The height is derived from the image when it isn't set, the width bounds it as well.
+        double size =
+            Math.max(groundOverlayOptions.getWidth(), groundOverlayOptions.getHeight());
+        return getBounds(groundOverlayOptions.getLocation(), size / 2);
+    }
+  }
+
+  private static double[] getBounds(List<LatLng> points) {
+    double[] bounds = {90, 180, -90, -180};
+    for (LatLng point : points) {
+      bounds[0] = Math.min(bounds[0], point.latitude);
+      bounds[1] = Math.min(bounds[1], point.longitude);
+      bounds[2] = Math.max(bounds[2], point.latitude);
+      bounds[3] = Math.max(bounds[3], point.longitude);
+    }
+    if (bounds[3] - bounds[1] > 180) {
+      bounds[1] = -180;
+      bounds[3] = 180;
+    }
+    return bounds;
+  }
+
+  private static double[] getBounds(LatLng center, double radiusMeters) {
+    double latRadius = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+    double cosLat = Math.max(0.01, Math.cos(Math.toRadians(center.latitude)));
+    double lngRadius = latRadius / cosLat;
+    if (lngRadius >= 180
+        || center.longitude - lngRadius < -180
+        || center.longitude + lngRadius > 180) {
+      return new double[] {center.latitude - latRadius, -180, center.latitude + latRadius, 180};
+    }
+    return new double[] {
+      center.latitude - latRadius,
+      center.longitude - lngRadius,
+      center.latitude + latRadius,
+      center.longitude + lngRadius
+    };
+  }
+
+  /** Returns the finest level whose cells are at least as large as the bounds. */
+  private static int getLevel(double[] bounds) {
+    double span = Math.max(bounds[2] - bounds[0], bounds[3] - bounds[1]);
+    if (span <= 0) {
+      return MAX_LEVEL;
+    }
+    int level = (int) Math.floor(Math.log(360 / span) / Math.log(2));
+    return Math.max(0, Math.min(MAX_LEVEL, level));
+  }
+
+  private static long[] getKeys(Entry entry) {
+    double cellSize = getCellSize(entry.level);
+    int minRow = getRow(entry.minLat, cellSize);
+    int minColumn = getColumn(entry.minLng, cellSize);
+    int maxRow = getRow(entry.maxLat, cellSize);
+    int maxColumn = getColumn(entry.maxLng, cellSize);
+    long[] keys = new long[(maxRow - minRow + 1) * (maxColumn - minColumn + 1)];
+    int i = 0;
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        keys[i++] = getKey(row, column);
+      }
+    }
+    return keys;
+  }
+
+  /** Size of the cells of the level, in degrees. */
+  private static double getCellSize(int level) {
+    return 360 / Math.pow(2, level);
+  }
+
+  private static int getRow(double lat, double cellSize) {
+    return (int) Math.floor((Math.max(-90, Math.min(90, lat)) + 90) / cellSize);
+  }
+
+  private static int getColumn(double lng, double cellSize) {
+    return (int) Math.floor((Math.max(-180, Math.min(180, lng)) + 180) / cellSize);
+  }
+
+  private static double wrapLng(double lng) {
+    return ((lng + 180) % 360 + 360) % 360 - 180;
+  }
+
+  private static long getKey(int row, int column) {
+    return ((long) row << 32) | (column & 0xffffffffL);
+  }
+
+  private static class GoogleMapOverlayMap implements OverlayMap {
+    private final GoogleMap mGoogleMap;
+
+    GoogleMapOverlayMap(GoogleMap googleMap) {
+      mGoogleMap = googleMap;
+    }
+
+    @Override
+    public LatLngBounds getVisibleBounds() {
+      return mGoogleMap.getProjection().getVisibleRegion().latLngBounds;
+    }
+
+    @Override
+    public Object addOverlay(Entry entry) {
+      switch (entry.type) {
+        case MARKER:
+          Marker marker = mGoogleMap.addMarker((MarkerOptions) entry.options);
+          marker.setTag(entry);
+          return marker;
+        case POLYLINE:
+          Polyline polyline = mGoogleMap.addPolyline((PolylineOptions) entry.options);
+          polyline.setTag(entry);
+          return polyline;
+        case POLYGON:
+          Polygon polygon = mGoogleMap.addPolygon((PolygonOptions) entry.options);
+          polygon.setTag(entry);
+          return polygon;
+        case CIRCLE:
+          Circle circle = mGoogleMap.addCircle((CircleOptions) entry.options);
+          circle.setTag(entry);
+          return circle;
+        default:
+          GroundOverlay groundOverlay =
+              mGoogleMap.addGroundOverlay((GroundOverlayOptions) entry.options);
+          groundOverlay.setTag(entry);
+          return groundOverlay;
+      }
+    }
+
+    @Override
+    public void removeOverlay(Entry entry) {
+      switch (entry.type) {
+        case MARKER:
+          ((Marker) entry.overlay).remove();
+          break;
+        case POLYLINE:
+          ((Polyline) entry.overlay).remove();
+          break;
+        case POLYGON:
+          ((Polygon) entry.overlay).remove();
+          break;
+        case CIRCLE:
+          ((Circle) entry.overlay).remove();
+          break;
+        case GROUND_OVERLAY:
+          ((GroundOverlay) entry.overlay).remove();
+          break;
+      }
+    }
+  }
+}
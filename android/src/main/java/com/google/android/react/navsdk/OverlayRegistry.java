@@ -0,0 +1,102 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The overlays of one type added to a map, keyed by their id and optionally grouped by a user tag,
+ * so they can be looked up and removed without going through all of them.
+ *
+ * <p>The registry only keeps track of the overlays, removing them from the map is up to the caller.
+ */
+public class OverlayRegistry<T> {
+  private final Map<String, T> mOverlays = new HashMap<>();
+  private final Map<String, String> mTags = new HashMap<>();
+  private final Map<String, Set<String>> mIdsByTag = new HashMap<>();
+
+  public void put(String id, T overlay, @Nullable String tag) {
+    remove(id);
+    mOverlays.put(id, overlay);
+    if (tag != null) {
+      mTags.put(id, tag);
+      Set<String> ids = mIdsByTag.get(tag);
+      if (ids == null) {
+        ids = new HashSet<>();
+        mIdsByTag.put(tag, ids);
+      }
+      ids.add(id);
+    }
+  }
+
+  @Nullable
+  public T get(String id) {
+    return mOverlays.get(id);
+  }
+
+  @Nullable
+  public String getTag(String id) {
+    return mTags.get(id);
+  }
+
+  /** Removes the overlay from the registry and returns it, or null if there was none. */
+  @Nullable
+  public T remove(String id) {
+    T overlay = mOverlays.remove(id);
+    String tag = mTags.remove(id);
+    if (tag != null) {
+      Set<String> ids = mIdsByTag.get(tag);
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        mIdsByTag.remove(tag);
+      }
+    }
+    return overlay;
+  }
+
+  /** Removes the overlays with the tag from the registry and returns them. */
+  public List<T> removeWithTag(String tag) {
+    Set<String> ids = mIdsByTag.remove(tag);
+    if (ids == null) {
+      return new ArrayList<>();
+    }
+    List<T> removed = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      mTags.remove(id);
+      removed.add(mOverlays.remove(id));
+    }
+    return removed;
+  }
+
+  public Collection<T> getAll() {
+    return mOverlays.values();
+  }
+
+  public int size() {
+    return mOverlays.size();
+  }
+
+  public void clear() {
+    mOverlays.clear();
+    mTags.clear();
+    mIdsByTag.clear();
+  }
+}
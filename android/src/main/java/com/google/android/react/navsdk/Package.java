@@ -36,6 +36,7 @@ public class Package implements ReactPackage {
   public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
     List<NativeModule> modules = new ArrayList<>();
     NavViewManager viewManager = NavViewManager.getInstance(reactContext);
+    BitmapDescriptorCache.getInstance(reactContext);
     modules.add(NavModule.getInstance(reactContext, viewManager));
     modules.add(new NavAutoModule(reactContext));
     modules.add(new NavViewModule(reactContext, viewManager));
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.location.Location;
+import com.facebook.react.bridge.WritableNativeArray;
+
+/**
+ * Accumulates location fixes as a flat array of doubles, {@link #STRIDE} values per fix in the
+ * order time, lat, lng, altitude, speed, bearing, accuracy. Values a fix does not have are NaN.
+ * When full, the oldest fixes are overwritten.
+ */
+public class PackedLocationBuffer {
+  public static final int STRIDE = 7;
+  public static final int DEFAULT_CAPACITY = 64;
+
+  private final double[] mValues;
+  private final int mCapacity;
+  private int mStart = 0;
+  private int mCount = 0;
+
+  public PackedLocationBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public PackedLocationBuffer(int capacity) {
+    mCapacity = Math.max(1, capacity);
+    mValues = new double[mCapacity * STRIDE];
+  }
+
+  public synchronized void add(Location location) {
+    int index = (mStart + mCount) % mCapacity;
+    if (mCount == mCapacity) {
+      mStart = (mStart + 1) % mCapacity;
+    } else {
+      mCount++;
+    }
+
+    int offset = index * STRIDE;
+    mValues[offset] = location.getTime();
+    mValues[offset + 1] = location.getLatitude();
+    mValues[offset + 2] = location.getLongitude();
+    mValues[offset + 3] = location.hasAltitude() ? location.getAltitude() : Double.NaN;
+    mValues[offset + 4] = location.hasSpeed() ? location.getSpeed() : Double.NaN;
+    mValues[offset + 5] = location.hasBearing() ? location.getBearing() : Double.NaN;
+    mValues[offset + 6] = location.hasAccuracy() ? location.getAccuracy() : Double.NaN;
+  }
+
+  public synchronized boolean isEmpty() {
+    return mCount == 0;
+  }
+
+  /** Returns the buffered fixes, oldest first, and empties the buffer. */
+  public synchronized WritableNativeArray drain() {
+    WritableNativeArray array = new WritableNativeArray();
+    for (int i = 0; i < mCount; i++) {
+      int offset = ((mStart + i) % mCapacity) * STRIDE;
+      for (int j = 0; j < STRIDE; j++) {
+        array.pushDouble(mValues[offset + j]);
+      }
+    }
+    mStart = 0;
+    mCount = 0;
+    return array;
+  }
+
+  public synchronized void clear() {
+    mStart = 0;
+    mCount = 0;
+  }
+}
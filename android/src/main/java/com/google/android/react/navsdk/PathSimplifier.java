@@ -0,0 +1,157 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simplifies paths with the Douglas-Peucker algorithm, dropping the points that deviate less than
+ * a tolerance from the simplified path.
+ *
+ * <p>The tolerance is either given in meters or derived from a zoom level, in which case it is the
+ * size of a pixel at that zoom, so the simplified path looks the same on the map. Zoom levels are
+ * rounded down to whole levels, so paths simplified for the same band can be cached under {@link
+ * #getKey()}.
+ */
+public class PathSimplifier {
+  public static final PathSimplifier NONE = new PathSimplifier(0, -1);
+
+  private static final double EARTH_RADIUS_METERS = 6371009;
+  // Size of a pixel at zoom level 0 at the equator, with 256 pixel tiles.
+  private static final double METERS_PER_PIXEL_AT_ZOOM_0 = 156543.03392;
+
+  private final double mToleranceMeters;
+  private final int mZoomBand;
+
+  private PathSimplifier(double toleranceMeters, int zoomBand) {
+    mToleranceMeters = toleranceMeters;
+    mZoomBand = zoomBand;
+  }
+
+  /** Reads the toleranceMeters or zoom option, toleranceMeters taking precedence. */
+  public static PathSimplifier fromMap(@Nullable Map<String, Object> options) {
+    if (options == null) {
+      return NONE;
+    }
+    double toleranceMeters = CollectionUtil.getDouble("toleranceMeters", options, 0);
+    if (toleranceMeters > 0) {
+      return new PathSimplifier(toleranceMeters, -1);
+    }
+    double zoom = CollectionUtil.getDouble("zoom", options, -1);
+    if (zoom >= 0) {
+      return new PathSimplifier(0, (int) Math.floor(zoom));
+    }
+    return NONE;
+  }
+
+  public boolean isEnabled() {
+    return mToleranceMeters > 0 || mZoomBand >= 0;
+  }
+
+  /** Returns a key identifying the simplified paths this produces. */
+  public String getKey() {
+    if (mToleranceMeters > 0) {
+      return "t" + mToleranceMeters;
+    }
+    return mZoomBand >= 0 ? "z" + mZoomBand : "";
+  }
+
+  public List<LatLng> simplify(List<LatLng> path) {
+    if (!isEnabled() || path.size() <= 2) {
+      return path;
+    }
+
+    double referenceLatitude = Math.toRadians(path.get(0).latitude);
+    double toleranceMeters =
+        mToleranceMeters > 0
+            ? mToleranceMeters
+            : METERS_PER_PIXEL_AT_ZOOM_0 * Math.cos(referenceLatitude) / Math.pow(2, mZoomBand);
+
+    // Project to meters around the first point, which is accurate enough at the distances
+    // involved in deciding whether a point can be dropped.
+    int size = path.size();
+    double[] x = new double[size];
+    double[] y = new double[size];
+    double cosLatitude = Math.cos(referenceLatitude);
+    for (int i = 0; i < size; i++) {
+      LatLng latLng = path.get(i);
+      x[i] = Math.toRadians(latLng.longitude) * cosLatitude * EARTH_RADIUS_METERS;
+      y[i] = Math.toRadians(latLng.latitude) * EARTH_RADIUS_METERS;
+    }
+
+    boolean[] isKept = new boolean[size];
+    isKept[0] = true;
+    isKept[size - 1] = true;
+    double toleranceSquared = toleranceMeters * toleranceMeters;
+
+    // Ranges still to process, as pairs of first and last index.
+    int[] stack = new int[64];
+    int stackSize = 0;
+    stack[stackSize++] = 0;
+    stack[stackSize++] = size - 1;
+    while (stackSize > 0) {
+      int last = stack[--stackSize];
+      int first = stack[--stackSize];
+
+      int farthest = -1;
+      double farthestDistanceSquared = toleranceSquared;
+      for (int i = first + 1; i < last; i++) {
+        double distanceSquared =
+            getSegmentDistanceSquared(x[i], y[i], x[first], y[first], x[last], y[last]);
+        if (distanceSquared > farthestDistanceSquared) {
+          farthest = i;
+          farthestDistanceSquared = distanceSquared;
+        }
+      }
+      if (farthest < 0) {
+        continue;
+      }
+
+      isKept[farthest] = true;
+      if (stackSize + 4 > stack.length) {
+        int[] grown = new int[stack.length * 2];
+        System.arraycopy(stack, 0, grown, 0, stackSize);
+        stack = grown;
+      }
+      stack[stackSize++] = first;
+      stack[stackSize++] = farthest;
+      stack[stackSize++] = farthest;
+      stack[stackSize++] = last;
+    }
+
+    List<LatLng> simplified = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      if (isKept[i]) {
+        simplified.add(path.get(i));
+      }
+    }
+    return simplified;
+  }
+
+  private static double getSegmentDistanceSquared(
+      double px, double py, double ax, double ay, double bx, double by) {
+    double dx = bx - ax;
+    double dy = by - ay;
+    double lengthSquared = dx * dx + dy * dy;
+    double t = lengthSquared > 0 ? ((px - ax) * dx + (py - ay) * dy) / lengthSquared : 0;
+    t = Math.max(0, Math.min(1, t));
+    double ex = px - (ax + t * dx);
+    double ey = py - (ay + t * dy);
+    return ex * ex + ey * ey;
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.core.util.Supplier;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.google.android.react.navsdk.BatchedEventDispatcher.EventPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded queue of the events waiting for {@link BatchedEventDispatcher} to deliver them. Applies
+ * the {@link EventPolicy} of each event and never holds more than the maximum number of events.
+ *
+ * <p>Not thread safe, the dispatcher guards it with its own lock.
+ */
+class PendingEventQueue {
+  private final List<PendingEvent> mEvents = new ArrayList<>();
+
+  private int mMaxSize;
+  private long mDroppedEventCount = 0;
+  private long mCollapsedEventCount = 0;
+  private long mOverflowedEventCount = 0;
+
+  PendingEventQueue(int maxSize) {
+    mMaxSize = Math.max(1, maxSize);
+  }
+
+  void setMaxSize(int maxSize) {
+    mMaxSize = Math.max(1, maxSize);
+    while (mEvents.size() > mMaxSize) {
+      evictOne();
+    }
+  }
+
+  int getMaxSize() {
+    return mMaxSize;
+  }
+
+  /**
+   * Queues an event according to its policy. If the queue is full, the oldest non-{@link
+   * EventPolicy#LOSSLESS} event is dropped to make room, or the oldest event if all of them are
+   * lossless.
+   */
+  void add(String functionName, Supplier<WritableNativeArray> paramsSupplier, EventPolicy policy) {
+    switch (policy) {
+      case LATEST_WINS:
+        for (int i = 0; i < mEvents.size(); i++) {
+          if (mEvents.get(i).functionName.equals(functionName)) {
+            // Keep the queue in the order events happened.
+            mEvents.remove(i);
+            mDroppedEventCount++;
+            break;
+          }
+        }
+        break;
+      case COLLAPSE_DUPLICATES:
+        for (PendingEvent pending : mEvents) {
+          if (pending.functionName.equals(functionName)) {
+            mCollapsedEventCount++;
+            return;
+          }
+        }
+        break;
+      case LOSSLESS:
+      default:
+        break;
+    }
+
+    if (mEvents.size() >= mMaxSize) {
+      evictOne();
+    }
+    mEvents.add(new PendingEvent(functionName, paramsSupplier, policy));
+  }
+
+  private void evictOne() {
+    for (int i = 0; i < mEvents.size(); i++) {
+      if (mEvents.get(i).policy != EventPolicy.LOSSLESS) {
+        mEvents.remove(i);
+        mDroppedEventCount++;
+        return;
+      }
+    }
+    // Only lossless events are pending, the oldest one gives way so the queue stays bounded.
+    mEvents.remove(0);
+    mDroppedEventCount++;
+    mOverflowedEventCount++;
+  }
+
+  /** Removes and returns all queued events in delivery order. */
+  List<PendingEvent> drain() {
+    List<PendingEvent> events = new ArrayList<>(mEvents);
+    mEvents.clear();
+    return events;
+  }
+
+  boolean isEmpty() {
+    return mEvents.isEmpty();
+  }
+
+  int size() {
+    return mEvents.size();
+  }
+
+  /** Number of events dropped because they were superseded or the queue was full. */
+  long getDroppedEventCount() {
+    return mDroppedEventCount;
+  }
+
+  /** Number of events dropped because an identical event was already pending. */
+  long getCollapsedEventCount() {
+    return mCollapsedEventCount;
+  }
+
+  /** Number of {@link EventPolicy#LOSSLESS} events dropped because the queue was full of them. */
+  long getOverflowedEventCount() {
+    return mOverflowedEventCount;
+  }
+
+  static class PendingEvent {
+    final String functionName;
+    final Supplier<WritableNativeArray> paramsSupplier;
+    final EventPolicy policy;
+
+    PendingEvent(
+        String functionName, Supplier<WritableNativeArray> paramsSupplier, EventPolicy policy) {
+      this.functionName = functionName;
+      this.paramsSupplier = paramsSupplier;
+      this.policy = policy;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes paths in the Google encoded polyline format, with coordinates rounded to 5
+ * decimal places.
+ */
+public class PolylineEncoding {
+  private static final double PRECISION = 1e5;
+
+  private PolylineEncoding() {}
+
+  public static String encode(List<LatLng> path) {
+    StringBuilder encoded = new StringBuilder(path.size() * 8);
+    long lastLat = 0;
+    long lastLng = 0;
+
+    for (LatLng latLng : path) {
+      long lat = Math.round(latLng.latitude * PRECISION);
+      long lng = Math.round(latLng.longitude * PRECISION);
+      encodeValue(lat - lastLat, encoded);
+      encodeValue(lng - lastLng, encoded);
+      lastLat = lat;
+      lastLng = lng;
+    }
+    return encoded.toString();
+  }
+
+  /** Decodes the path, throwing an IllegalArgumentException if the string is malformed. */
+  public static List<LatLng> decode(String encoded) {
+    List<LatLng> path = new ArrayList<>(encoded.length() / 8);
+    int[] index = {0};
+    long lat = 0;
+    long lng = 0;
+
+    while (index[0] < encoded.length()) {
+      lat += decodeValue(encoded, index);
+      lng += decodeValue(encoded, index);
+      path.add(new LatLng(lat / PRECISION, lng / PRECISION));
+    }
+    return path;
+  }
+
+  private static void encodeValue(long value, StringBuilder encoded) {
+    value = value < 0 ? ~(value << 1) : value << 1;
+    while (value >= 0x20) {
+      encoded.append((char) ((0x20 | (value & 0x1f)) + 63));
+      value >>= 5;
+    }
+    encoded.append((char) (value + 63));
+  }
+
+  private static long decodeValue(String encoded, int[] index) {
+    long result = 0;
+    int shift = 0;
+    int chunk;
+    do {
+      if (index[0] >= encoded.length()) {
+        throw new IllegalArgumentException("Malformed encoded polyline");
+      }
+      chunk = encoded.charAt(index[0]++) - 63;
+      result |= (long) (chunk & 0x1f) << shift;
+      shift += 5;
+    } while (chunk >= 0x20);
+    return (result & 1) != 0 ? ~(result >> 1) : result >> 1;
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import com.google.android.libraries.mapsplatform.turnbyturn.model.NavInfo;
+import com.google.android.libraries.mapsplatform.turnbyturn.model.StepInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Keeps the remaining steps of the current route, ordered by step number, so they can be queried
+ * page by page. Steps received in earlier updates are kept until the route changes or the step is
+ * passed.
+ *
+ * <p>When updates only carry a preview of the next steps, the steps past it are learned as they
+ * enter the preview. The cache is complete once an update carries fewer steps than the preview
+ * size, meaning the end of the route is within the preview.
+ */
+public class RemainingStepsCache {
+  private final TreeMap<Integer, StepInfo> mSteps = new TreeMap<>();
+  private int mStepsPerUpdate = NavForwardingManager.ALL_REMAINING_STEPS;
+  private boolean mIsComplete = false;
+
+  /** Forgets the steps, updates received from now on carry up to the given number of steps. */
+  public synchronized void reset(int stepsPerUpdate) {
+    mSteps.clear();
+    mStepsPerUpdate = stepsPerUpdate;
+    mIsComplete = false;
+  }
+
+  public synchronized void update(NavInfo navInfo) {
+    if (navInfo.getRouteChanged()) {
+      mSteps.clear();
+      mIsComplete = false;
+    }
+
+    StepInfo[] remainingSteps = navInfo.getRemainingSteps();
+    if (remainingSteps != null) {
+      for (StepInfo step : remainingSteps) {
+        mSteps.put(step.getStepNumber(), step);
+      }
+      if (remainingSteps.length < mStepsPerUpdate
+          || mStepsPerUpdate == NavForwardingManager.ALL_REMAINING_STEPS) {
+        mIsComplete = true;
+      }
+    }
+
+    StepInfo currentStep = navInfo.getCurrentStep();
+    if (currentStep != null) {
+      // Steps up to the current one have been reached already.
+      mSteps.headMap(currentStep.getStepNumber(), true).clear();
+    }
+  }
+
+  /** Whether the cache holds every remaining step of the route. */
+  public synchronized boolean isComplete() {
+    return mIsComplete;
+  }
+
+  public synchronized int getCount() {
+    return mSteps.size();
+  }
+
+  /** Returns up to {@code limit} remaining steps starting at {@code offset}. */
+  public synchronized List<StepInfo> getSteps(int offset, int limit) {
+    List<StepInfo> steps = new ArrayList<>();
+    int index = 0;
+    for (StepInfo step : mSteps.values()) {
+      if (steps.size() >= limit) {
+        break;
+      }
+      if (index++ >= offset) {
+        steps.add(step);
+      }
+    }
+    return steps;
+  }
+
+}
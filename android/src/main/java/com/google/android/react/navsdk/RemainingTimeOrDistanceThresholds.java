@@ -0,0 +1,82 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import java.util.Map;
+
+/**
+ * Thresholds used to register the remaining time or distance listener. In adaptive mode a
+ * separate, usually tighter, pair of thresholds is used once the remaining distance falls under
+ * {@link #getNearDestinationMeters()}.
+ */
+public class RemainingTimeOrDistanceThresholds {
+  public static final int DEFAULT_NEAR_DESTINATION_METERS = 2000;
+
+  /** Fires on every change, matching the behaviour of the SDK listener without thresholds. */
+  public static final RemainingTimeOrDistanceThresholds DEFAULT =
+      new RemainingTimeOrDistanceThresholds(0, 0, false, DEFAULT_NEAR_DESTINATION_METERS, 0, 0);
+
+  private final int mTimeSeconds;
+  private final int mDistanceMeters;
+  private final boolean mAdaptive;
+  private final int mNearDestinationMeters;
+  private final int mNearTimeSeconds;
+  private final int mNearDistanceMeters;
+
+  public RemainingTimeOrDistanceThresholds(
+      int timeSeconds,
+      int distanceMeters,
+      boolean adaptive,
+      int nearDestinationMeters,
+      int nearTimeSeconds,
+      int nearDistanceMeters) {
+    mTimeSeconds = Math.max(0, timeSeconds);
+    mDistanceMeters = Math.max(0, distanceMeters);
+    mAdaptive = adaptive;
+    mNearDestinationMeters = Math.max(0, nearDestinationMeters);
+    mNearTimeSeconds = Math.max(0, nearTimeSeconds);
+    mNearDistanceMeters = Math.max(0, nearDistanceMeters);
+  }
+
+  public static RemainingTimeOrDistanceThresholds fromMap(Map<String, Object> map) {
+    return new RemainingTimeOrDistanceThresholds(
+        CollectionUtil.getInt("timeChangeThresholdSeconds", map, 0),
+        CollectionUtil.getInt("distanceChangeThresholdMeters", map, 0),
+        CollectionUtil.getBool("adaptive", map, false),
+        CollectionUtil.getInt("nearDestinationMeters", map, DEFAULT_NEAR_DESTINATION_METERS),
+        CollectionUtil.getInt("nearTimeChangeThresholdSeconds", map, 0),
+        CollectionUtil.getInt("nearDistanceChangeThresholdMeters", map, 0));
+  }
+
+  public boolean isAdaptive() {
+    return mAdaptive;
+  }
+
+  public int getNearDestinationMeters() {
+    return mNearDestinationMeters;
+  }
+
+  /** Whether the near destination thresholds apply for the given remaining distance. */
+  public boolean isNearDestination(int remainingMeters) {
+    return mAdaptive && remainingMeters <= mNearDestinationMeters;
+  }
+
+  public int getTimeSeconds(boolean nearDestination) {
+    return nearDestination ? mNearTimeSeconds : mTimeSeconds;
+  }
+
+  public int getDistanceMeters(boolean nearDestination) {
+    return nearDestination ? mNearDistanceMeters : mDistanceMeters;
+  }
+}
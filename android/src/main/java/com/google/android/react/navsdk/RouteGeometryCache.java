@@ -0,0 +1,124 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.util.LruCache;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.navigation.ArrivalEvent;
+import com.google.android.libraries.navigation.Navigator;
+import com.google.android.libraries.navigation.RouteSegment;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caches the converted route segments of the current route so repeated queries don't have to go
+ * through the {@link Navigator} and convert every coordinate again. The cache is filled on the
+ * first query after the route changed, traffic was updated or a waypoint was reached.
+ *
+ * <p>The current route segment isn't cached, it starts at the latest road-snapped location of the
+ * device and so changes with every location update.
+ *
+ * <p>Cached maps are copied before being returned, as maps resolved to JS can't be reused.
+ *
+ * <p>The cache also holds the {@link RoutePolyline} of the route, shared by everything projecting
+ * locations onto it. It is dropped with the segments, except on traffic updates which don't change
+ * the geometry.
+ */
+public class RouteGeometryCache
+    implements Navigator.RouteChangedListener,
+        Navigator.TrafficUpdatedListener,
+        Navigator.ArrivalListener {
+  // Segments are cached separately for each requested geometry format and simplification. Only
+  // the most recently used ones are kept, as tolerances in meters can take any value.
+  private static final int MAX_ENTRIES = 8;
+
+  private final LruCache<String, List<WritableMap>> mRouteSegments = new LruCache<>(MAX_ENTRIES);
+  private @Nullable RoutePolyline mRoutePolyline;
+
+  public void attach(Navigator navigator) {
+    navigator.addRouteChangedListener(this);
+    navigator.addTrafficUpdatedListener(this);
+    navigator.addArrivalListener(this);
+  }
+
+  public void detach(Navigator navigator) {
+    navigator.removeRouteChangedListener(this);
+    navigator.removeTrafficUpdatedListener(this);
+    navigator.removeArrivalListener(this);
+    clear();
+  }
+
+  @Override
+  public void onRouteChanged() {
+    clear();
+  }
+
+  @Override
+  public synchronized void onTrafficUpdated() {
+    mRouteSegments.evictAll();
+  }
+
+  @Override
+  public void onArrival(ArrivalEvent arrivalEvent) {
+    clear();
+  }
+
+  /** Drops the cached route segments and polyline, e.g. when new destinations are set. */
+  public synchronized void clear() {
+    mRouteSegments.evictAll();
+    mRoutePolyline = null;
+  }
+
+  /**
+   * Returns the polyline of the current route. The same instance is returned until the route
+   * changes, so callers can keep what they derived from it while it is current.
+   */
+  public synchronized RoutePolyline getRoutePolyline(Navigator navigator) {
+    if (mRoutePolyline == null) {
+      mRoutePolyline = RoutePolyline.fromRouteSegments(navigator.getRouteSegments());
+    }
+    return mRoutePolyline;
+  }
+
+  public synchronized WritableArray getRouteSegments(
+      Navigator navigator,
+      CustomTypes.GeometryFormat geometryFormat,
+      PathSimplifier pathSimplifier) {
+    String key = getKey(geometryFormat, pathSimplifier);
+    List<WritableMap> segments = mRouteSegments.get(key);
+    if (segments == null) {
+      List<RouteSegment> routeSegments = navigator.getRouteSegments();
+      segments = new ArrayList<>(routeSegments.size());
+      for (RouteSegment segment : routeSegments) {
+        segments.add(
+            ObjectTranslationUtil.getMapFromRouteSegment(segment, geometryFormat, pathSimplifier));
+      }
+      mRouteSegments.put(key, segments);
+    }
+
+    WritableArray array = Arguments.createArray();
+    for (WritableMap segment : segments) {
+      array.pushMap(segment.copy());
+    }
+    return array;
+  }
+
+  private static String getKey(
+      CustomTypes.GeometryFormat geometryFormat, PathSimplifier pathSimplifier) {
+    return geometryFormat.name() + "/" + pathSimplifier.getKey();
+  }
+}
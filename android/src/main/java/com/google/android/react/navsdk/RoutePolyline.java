@@ -0,0 +1,177 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.libraries.navigation.RouteSegment;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The path of a route with the distance along the route of each of its points, for projecting
+ * positions onto the route. Segments are indexed on a grid so a projection only looks at the part
+ * of the route near the position.
+ *
+ * <p>Distances use an equirectangular approximation around each segment, which is accurate for the
+ * segment lengths of a route.
+ */
+public class RoutePolyline {
+  private static final double METERS_PER_DEGREE = 111320;
+  // Roughly 1 km, small enough for a cell to only hold the nearby part of the route.
+  private static final double GRID_CELL_SIZE_DEGREES = 0.01;
+
+  /** Position of a point projected onto the route. */
+  public static class Projection {
+    /** Index of the route segment, between points index and index + 1, the point projects on. */
+    public final int segmentIndex;
+    /** Distance from the start of the route to the projected point. */
+    public final double distanceAlongMeters;
+    /** Distance between the point and the route. */
+    public final double offsetMeters;
+
+    Projection(int segmentIndex, double distanceAlongMeters, double offsetMeters) {
+      this.segmentIndex = segmentIndex;
+      this.distanceAlongMeters = distanceAlongMeters;
+      this.offsetMeters = offsetMeters;
+    }
+  }
+
+  private final double[] mLats;
+  private final double[] mLngs;
+  private final double[] mDistancesAlong;
+  private final SpatialGridIndex mSegmentIndex = new SpatialGridIndex(GRID_CELL_SIZE_DEGREES);
+  private double[] mWaypointDistancesAlong = new double[0];
+
+  public RoutePolyline(List<LatLng> path) {
+    int size = path.size();
+    mLats = new double[size];
+    mLngs = new double[size];
+    mDistancesAlong = new double[size];
+
+    for (int i = 0; i < size; i++) {
+      LatLng latLng = path.get(i);
+      mLats[i] = latLng.latitude;
+      mLngs[i] = latLng.longitude;
+      if (i > 0) {
+        mDistancesAlong[i] =
+            mDistancesAlong[i - 1]
+                + getDistanceMeters(mLats[i - 1], mLngs[i - 1], mLats[i], mLngs[i]);
+        mSegmentIndex.add(
+            i - 1,
+            Math.min(mLats[i - 1], mLats[i]),
+            Math.min(mLngs[i - 1], mLngs[i]),
+            Math.max(mLats[i - 1], mLats[i]),
+            Math.max(mLngs[i - 1], mLngs[i]));
+      }
+    }
+  }
+
+  /**
+   * Joins the paths of the route segments, dropping the points shared by consecutive ones. The end
+   * of each segment is recorded as a waypoint.
+   */
+  public static RoutePolyline fromRouteSegments(List<RouteSegment> routeSegments) {
+    List<LatLng> path = new ArrayList<>();
+    int[] waypointIndexes = new int[routeSegments.size()];
+    for (int i = 0; i < routeSegments.size(); i++) {
+      for (LatLng latLng : routeSegments.get(i).getLatLngs()) {
+        if (path.isEmpty() || !isSamePosition(path.get(path.size() - 1), latLng)) {
+          path.add(latLng);
+        }
+      }
+      waypointIndexes[i] = path.size() - 1;
+    }
+
+    RoutePolyline polyline = new RoutePolyline(path);
+    polyline.mWaypointDistancesAlong = new double[waypointIndexes.length];
+    for (int i = 0; i < waypointIndexes.length; i++) {
+      polyline.mWaypointDistancesAlong[i] =
+          waypointIndexes[i] >= 0 ? polyline.mDistancesAlong[waypointIndexes[i]] : 0;
+    }
+    return polyline;
+  }
+
+  public double getLengthMeters() {
+    return mDistancesAlong.length > 0 ? mDistancesAlong[mDistancesAlong.length - 1] : 0;
+  }
+
+  /** Returns the distance from the start of the route to each waypoint, in route order. */
+  public double[] getWaypointDistancesAlong() {
+    return mWaypointDistancesAlong;
+  }
+
+  /**
+   * Projects the position onto the closest part of the route within {@code maxOffsetMeters}, or
+   * returns null if the route doesn't pass that close.
+   */
+  @Nullable
+  public Projection project(double lat, double lng, double maxOffsetMeters) {
+    Projection closest = null;
+    for (int segment : mSegmentIndex.query(lat, lng, maxOffsetMeters)) {
+      closest = getCloser(closest, projectOnSegment(segment, lat, lng), maxOffsetMeters);
+    }
+    return closest;
+  }
+
+  /**
+   * Like {@link #project(double, double, double)}, but first looks at the segments following
+   * {@code fromSegment}, which is where a position tracked along the route is expected next.
+   */
+  @Nullable
+  public Projection projectFrom(
+      double lat, double lng, double maxOffsetMeters, int fromSegment, int segmentCount) {
+    Projection closest = null;
+    int lastSegment = Math.min(mLats.length - 2, fromSegment + segmentCount);
+    for (int segment = Math.max(0, fromSegment); segment <= lastSegment; segment++) {
+      closest = getCloser(closest, projectOnSegment(segment, lat, lng), maxOffsetMeters);
+    }
+    return closest != null ? closest : project(lat, lng, maxOffsetMeters);
+  }
+
+  @Nullable
+  private static Projection getCloser(
+      @Nullable Projection closest, Projection projection, double maxOffsetMeters) {
+    if (projection.offsetMeters > maxOffsetMeters) {
+      return closest;
+    }
+    return closest == null || projection.offsetMeters < closest.offsetMeters ? projection : closest;
+  }
+
+  private Projection projectOnSegment(int segment, double lat, double lng) {
+    double metersPerDegreeLng = METERS_PER_DEGREE * Math.cos(Math.toRadians(mLats[segment]));
+    double dx = (mLngs[segment + 1] - mLngs[segment]) * metersPerDegreeLng;
+    double dy = (mLats[segment + 1] - mLats[segment]) * METERS_PER_DEGREE;
+    double px = (lng - mLngs[segment]) * metersPerDegreeLng;
+    double py = (lat - mLats[segment]) * METERS_PER_DEGREE;
+
+    double lengthSquared = dx * dx + dy * dy;
+    double t = lengthSquared > 0 ? (px * dx + py * dy) / lengthSquared : 0;
+    t = Math.max(0, Math.min(1, t));
+    double offsetMeters = Math.hypot(px - t * dx, py - t * dy);
+    double distanceAlongMeters =
+        mDistancesAlong[segment] + t * (mDistancesAlong[segment + 1] - mDistancesAlong[segment]);
+    return new Projection(segment, distanceAlongMeters, offsetMeters);
+  }
+
+  private static double getDistanceMeters(double lat1, double lng1, double lat2, double lng2) {
+    double dx = (lng2 - lng1) * METERS_PER_DEGREE * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+    double dy = (lat2 - lat1) * METERS_PER_DEGREE;
+    return Math.hypot(dx, dy);
+  }
+
+  private static boolean isSamePosition(LatLng a, LatLng b) {
+    return a.latitude == b.latitude && a.longitude == b.longitude;
+  }
+}
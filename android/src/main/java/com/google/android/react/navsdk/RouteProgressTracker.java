@@ -0,0 +1,204 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.location.Location;
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import com.google.android.libraries.navigation.Navigator;
+import com.google.android.libraries.navigation.RoadSnappedLocationProvider;
+import java.util.Map;
+
+/**
+ * Projects road-snapped locations onto the current route and reports the progress along it: the
+ * distance traveled since the route was calculated, the fraction completed, the distance to each
+ * remaining waypoint and how far the location is from the route.
+ *
+ * <p>The route polyline comes from the {@link RouteGeometryCache}, so it is built once per route
+ * and shared with the other trackers. Each location is projected starting from the segment of the
+ * previous one, falling back to the segment grid, so updates don't scan the route.
+ */
+public class RouteProgressTracker
+    implements Navigator.RouteChangedListener, RoadSnappedLocationProvider.LocationListener {
+  // Number of segments past the previous location looked at before searching the whole route.
+  private static final int LOCATION_SEARCH_SEGMENTS = 50;
+
+  /** Distance to a waypoint ahead. */
+  public static class WaypointDistance {
+    /** Index of the waypoint among the waypoints of the current route, in route order. */
+    public final int index;
+
+    public final double distanceMeters;
+
+    WaypointDistance(int index, double distanceMeters) {
+      this.index = index;
+      this.distanceMeters = distanceMeters;
+    }
+  }
+
+  public static class Progress {
+    public final double distanceTraveledMeters;
+    public final double distanceRemainingMeters;
+    public final double fractionComplete;
+    public final double crossTrackErrorMeters;
+    /**
+     * Distance along the route to each waypoint ahead, in route order. Waypoints already passed are
+     * left out, their index tells which ones remain.
+     */
+    public final WaypointDistance[] waypointDistances;
+    /** Whether the location is farther than the maximum cross track error from the route. */
+    public final boolean isOffRoute;
+
+    Progress(
+        double distanceTraveledMeters,
+        double distanceRemainingMeters,
+        double fractionComplete,
+        double crossTrackErrorMeters,
+        WaypointDistance[] waypointDistances,
+        boolean isOffRoute) {
+      this.distanceTraveledMeters = distanceTraveledMeters;
+      this.distanceRemainingMeters = distanceRemainingMeters;
+      this.fractionComplete = fractionComplete;
+      this.crossTrackErrorMeters = crossTrackErrorMeters;
+      this.waypointDistances = waypointDistances;
+      this.isOffRoute = isOffRoute;
+    }
+  }
+
+  public interface Listener {
+    void onRouteProgress(Progress progress);
+  }
+
+  private final Listener mListener;
+  private final RouteGeometryCache mRouteGeometryCache;
+  private @Nullable Navigator mNavigator;
+  private @Nullable RoadSnappedLocationProvider mLocationProvider;
+
+  private long mUpdateIntervalMs = 1000;
+  private double mMaxCrossTrackErrorMeters = 200;
+
+  private @Nullable RoutePolyline mRoutePolyline;
+  private @Nullable RoutePolyline.Projection mLastProjection;
+  private long mLastUpdateTimeMs = 0;
+
+  public RouteProgressTracker(Listener listener, RouteGeometryCache routeGeometryCache) {
+    mListener = listener;
+    mRouteGeometryCache = routeGeometryCache;
+  }
+
+  public synchronized void attach(Navigator navigator, RoadSnappedLocationProvider provider) {
+    if (mNavigator != null) {
+      return;
+    }
+    mNavigator = navigator;
+    mLocationProvider = provider;
+    navigator.addRouteChangedListener(this);
+    provider.addLocationListener(this);
+  }
+
+  public synchronized void detach() {
+    if (mNavigator != null) {
+      mNavigator.removeRouteChangedListener(this);
+      mNavigator = null;
+    }
+    if (mLocationProvider != null) {
+      mLocationProvider.removeLocationListener(this);
+      mLocationProvider = null;
+    }
+    mRoutePolyline = null;
+    mLastProjection = null;
+  }
+
+  public synchronized void setOptions(Map<String, Object> options) {
+    mUpdateIntervalMs = CollectionUtil.getInt("updateIntervalMs", options, 1000);
+    mMaxCrossTrackErrorMeters = CollectionUtil.getDouble("maxCrossTrackErrorMeters", options, 200);
+    mLastUpdateTimeMs = 0;
+  }
+
+  @Override
+  public synchronized void onRouteChanged() {
+    mLastUpdateTimeMs = 0;
+  }
+
+  @Override
+  public void onLocationChanged(Location location) {
+    Progress progress;
+    synchronized (this) {
+      long now = SystemClock.elapsedRealtime();
+      if (mNavigator == null || now - mLastUpdateTimeMs < mUpdateIntervalMs) {
+        return;
+      }
+      mLastUpdateTimeMs = now;
+
+      RoutePolyline routePolyline = mRouteGeometryCache.getRoutePolyline(mNavigator);
+      if (routePolyline != mRoutePolyline) {
+        mRoutePolyline = routePolyline;
+        mLastProjection = null;
+      }
+      progress = getProgress(location);
+    }
+    if (progress != null) {
+      mListener.onRouteProgress(progress);
+    }
+  }
+
+  /** Returns the progress at the location, or null if there is no route to report on. */
+  @Nullable
+  private Progress getProgress(Location location) {
+    if (mRoutePolyline == null || mRoutePolyline.getLengthMeters() <= 0) {
+      return null;
+    }
+
+    RoutePolyline.Projection projection =
+        mRoutePolyline.projectFrom(
+            location.getLatitude(),
+            location.getLongitude(),
+            mMaxCrossTrackErrorMeters,
+            mLastProjection != null ? mLastProjection.segmentIndex : 0,
+            LOCATION_SEARCH_SEGMENTS);
+    boolean isOffRoute = projection == null;
+    if (isOffRoute) {
+      // Progress stays where the location left the route.
+      if (mLastProjection == null) {
+        return null;
+      }
+      projection = mLastProjection;
+    }
+    mLastProjection = projection;
+
+    double lengthMeters = mRoutePolyline.getLengthMeters();
+    double traveledMeters = projection.distanceAlongMeters;
+    double[] waypointDistancesAlong = mRoutePolyline.getWaypointDistancesAlong();
+    int firstAhead = 0;
+    while (firstAhead < waypointDistancesAlong.length
+        && waypointDistancesAlong[firstAhead] < traveledMeters) {
+      firstAhead++;
+    }
+    WaypointDistance[] waypointDistances =
+        new WaypointDistance[waypointDistancesAlong.length - firstAhead];
+    for (int i = 0; i < waypointDistances.length; i++) {
+      int index = firstAhead + i;
+      waypointDistances[i] =
+          new WaypointDistance(index, waypointDistancesAlong[index] - traveledMeters);
+    }
+
+    return new Progress(
+        traveledMeters,
+        lengthMeters - traveledMeters,
+        traveledMeters / lengthMeters,
+        isOffRoute ? Double.NaN : projection.offsetMeters,
+        waypointDistances,
+        isOffRoute);
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread safe cache evicting the least recently used values once the sum of their sizes exceeds
+ * the maximum size. A value larger than the maximum size is not kept.
+ */
+class SizedLruCache<K, V> {
+  /** Returns the size of a value, in the unit of the maximum size. */
+  interface Sizer<V> {
+    int sizeOf(V value);
+  }
+
+  private final LinkedHashMap<K, V> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private final int mMaxSize;
+  private final Sizer<V> mSizer;
+  private int mSize = 0;
+
+  SizedLruCache(int maxSize, Sizer<V> sizer) {
+    mMaxSize = maxSize;
+    mSizer = sizer;
+  }
+
+  @Nullable
+  synchronized V get(K key) {
+    return mEntries.get(key);
+  }
+
+  synchronized void put(K key, V value) {
+    V previous = mEntries.put(key, value);
+    mSize += mSizer.sizeOf(value);
+    if (previous != null) {
+      mSize -= mSizer.sizeOf(previous);
+    }
+    trimToSize(mMaxSize);
+  }
+
+  /** Evicts the least recently used values until the total size is at most {@code maxSize}. */
+  synchronized void trimToSize(int maxSize) {
+    Iterator<Map.Entry<K, V>> iterator = mEntries.entrySet().iterator();
+    while (mSize > maxSize && iterator.hasNext()) {
+      mSize -= mSizer.sizeOf(iterator.next().getValue());
+      iterator.remove();
+    }
+  }
+
+  synchronized void evictAll() {
+    mEntries.clear();
+    mSize = 0;
+  }
+
+  synchronized int size() {
+    return mSize;
+  }
+
+  int maxSize() {
+    return mMaxSize;
+  }
+}
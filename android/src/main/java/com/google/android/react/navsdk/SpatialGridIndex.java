@@ -0,0 +1,154 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes items by the lat/lng bounding boxes they cover on a grid of fixed size cells, so the
+ * items near a position can be found without going through all of them.
+ */
+public class SpatialGridIndex {
+  private static final double METERS_PER_DEGREE = 111320;
+
+  private final double mCellSizeDegrees;
+  private final Map<Long, int[]> mCells = new HashMap<>();
+  private final Map<Long, Integer> mCellSizes = new HashMap<>();
+
+  public SpatialGridIndex(double cellSizeDegrees) {
+    mCellSizeDegrees = cellSizeDegrees;
+  }
+
+  /** Adds the item to every cell overlapped by the given bounds. */
+  public void add(int item, double minLat, double minLng, double maxLat, double maxLng) {
+    int minRow = getCell(minLat);
+    int maxRow = getCell(maxLat);
+    int minColumn = getCell(minLng);
+    int maxColumn = getCell(maxLng);
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        add(getKey(row, column), item);
+      }
+    }
+  }
+
+  /** Removes the item from the cells it was added to with the same bounds. */
+  public void remove(int item, double minLat, double minLng, double maxLat, double maxLng) {
+    int minRow = getCell(minLat);
+    int maxRow = getCell(maxLat);
+    int minColumn = getCell(minLng);
+    int maxColumn = getCell(maxLng);
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        remove(getKey(row, column), item);
+      }
+    }
+  }
+
+  /** Returns the number of items in all cells, counting items once per cell. */
+  int getEntryCount() {
+    int count = 0;
+    for (int size : mCellSizes.values()) {
+      count += size;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the items of the cells within {@code radiusMeters} of the position, sorted and without
+   * duplicates. Items farther away than the radius may be returned as well.
+   */
+  public int[] query(double lat, double lng, double radiusMeters) {
+    double latRadius = radiusMeters / METERS_PER_DEGREE;
+    double lngRadius =
+        radiusMeters / (METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(lat))));
+    int minRow = getCell(lat - latRadius);
+    int maxRow = getCell(lat + latRadius);
+    int minColumn = getCell(lng - lngRadius);
+    int maxColumn = getCell(lng + lngRadius);
+
+    int[] items = new int[16];
+    int count = 0;
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        long key = getKey(row, column);
+        int[] cell = mCells.get(key);
+        if (cell == null) {
+          continue;
+        }
+        int cellSize = mCellSizes.get(key);
+        if (count + cellSize > items.length) {
+          items = Arrays.copyOf(items, Math.max(items.length * 2, count + cellSize));
+        }
+        System.arraycopy(cell, 0, items, count, cellSize);
+        count += cellSize;
+      }
+    }
+
+    Arrays.sort(items, 0, count);
+    int unique = 0;
+    for (int i = 0; i < count; i++) {
+      if (unique == 0 || items[i] != items[unique - 1]) {
+        items[unique++] = items[i];
+      }
+    }
+    return Arrays.copyOf(items, unique);
+  }
+
+  private void add(long key, int item) {
+    int[] cell = mCells.get(key);
+    int size = cell != null ? mCellSizes.get(key) : 0;
+    if (cell == null) {
+      cell = new int[4];
+      mCells.put(key, cell);
+    } else if (size == cell.length) {
+      cell = Arrays.copyOf(cell, size * 2);
+      mCells.put(key, cell);
+    }
+    cell[size] = item;
+    mCellSizes.put(key, size + 1);
+  }
+
+  private void remove(long key, int item) {
+    int[] cell = mCells.get(key);
+    if (cell == null) {
+      return;
+    }
+    int size = mCellSizes.get(key);
+    for (int i = 0; i < size; i++) {
+      if (cell[i] == item) {
+        // The order within a cell doesn't matter, queries sort the items.
+        cell[i] = cell[size - 1];
+        size--;
+        break;
+      }
+    }
+    if (size == 0) {
+      mCells.remove(key);
+      mCellSizes.remove(key);
+    } else {
+      mCellSizes.put(key, size);
+    }
+  }
+
+  private int getCell(double degrees) {
+    return (int) Math.floor(degrees / mCellSizeDegrees);
+  }
+
+  private static long getKey(int row, int column) {
+    return ((long) row << 32) | (column & 0xffffffffL);
+  }
+}
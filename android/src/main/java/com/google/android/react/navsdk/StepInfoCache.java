@@ -0,0 +1,152 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import com.google.android.libraries.mapsplatform.turnbyturn.model.NavInfo;
+import com.google.android.libraries.mapsplatform.turnbyturn.model.StepInfo;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the converted representation of each step of the current route, keyed by the step's
+ * number and content, so a step is only converted again if it changed. Only the latest content of
+ * each step number is kept. Feed every update to {@link #onNavInfo(NavInfo)} so the cache is
+ * cleared when the route changes and passed steps are dropped.
+ *
+ * <p>Cached values are shared between calls, so mutable representations must be copied before
+ * being handed over, e.g. with {@code WritableMap.copy()}.
+ *
+ * @param <T> the converted representation of a step.
+ */
+public class StepInfoCache<T> {
+  /** Converts a step to its cached representation. */
+  public interface Converter<T> {
+    T convert(StepInfo stepInfo);
+  }
+
+  private final Converter<T> mConverter;
+  private final Map<StepKey, T> mValues = new HashMap<>();
+  private final Map<Integer, StepKey> mKeysByStepNumber = new HashMap<>();
+
+  public StepInfoCache(Converter<T> converter) {
+    mConverter = converter;
+  }
+
+  public synchronized void onNavInfo(NavInfo navInfo) {
+    if (navInfo.getRouteChanged()) {
+      invalidate();
+      return;
+    }
+
+    StepInfo currentStep = navInfo.getCurrentStep();
+    if (currentStep == null) {
+      return;
+    }
+    int currentStepNumber = currentStep.getStepNumber();
+    Iterator<Map.Entry<Integer, StepKey>> iterator = mKeysByStepNumber.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, StepKey> entry = iterator.next();
+      if (entry.getKey() < currentStepNumber) {
+        mValues.remove(entry.getValue());
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Returns the representation of the step, converting it only if not cached yet. */
+  public synchronized T get(StepInfo stepInfo) {
+    StepKey key = new StepKey(stepInfo);
+    T value = mValues.get(key);
+    if (value != null) {
+      return value;
+    }
+
+    value = mConverter.convert(stepInfo);
+    StepKey previousKey = mKeysByStepNumber.put(key.stepNumber, key);
+    if (previousKey != null) {
+      mValues.remove(previousKey);
+    }
+    mValues.put(key, value);
+    return value;
+  }
+
+  public synchronized void invalidate() {
+    mValues.clear();
+    mKeysByStepNumber.clear();
+  }
+
+  /**
+   * Identifies the content of a step. Comparing keys is much cheaper than converting the step
+   * again, so it also tells whether a list of steps changed since it was last sent.
+   */
+  public static final class StepKey {
+    final int stepNumber;
+    final int maneuver;
+    final int distanceFromPrevStepMeters;
+    final int timeFromPrevStepSeconds;
+    final int roundaboutTurnNumber;
+    final int drivingSide;
+    final String fullInstructionText;
+    final String fullRoadName;
+    final String exitNumber;
+
+    public StepKey(StepInfo stepInfo) {
+      this.stepNumber = stepInfo.getStepNumber();
+      this.maneuver = stepInfo.getManeuver();
+      this.distanceFromPrevStepMeters = stepInfo.getDistanceFromPrevStepMeters();
+      this.timeFromPrevStepSeconds = stepInfo.getTimeFromPrevStepSeconds();
+      this.roundaboutTurnNumber = stepInfo.getRoundaboutTurnNumber();
+      this.drivingSide = stepInfo.getDrivingSide();
+      this.fullInstructionText = stepInfo.getFullInstructionText();
+      this.fullRoadName = stepInfo.getFullRoadName();
+      this.exitNumber = stepInfo.getExitNumber();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StepKey)) {
+        return false;
+      }
+      StepKey other = (StepKey) o;
+      return stepNumber == other.stepNumber
+          && maneuver == other.maneuver
+          && distanceFromPrevStepMeters == other.distanceFromPrevStepMeters
+          && timeFromPrevStepSeconds == other.timeFromPrevStepSeconds
+          && roundaboutTurnNumber == other.roundaboutTurnNumber
+          && drivingSide == other.drivingSide
+          && Objects.equals(fullInstructionText, other.fullInstructionText)
+          && Objects.equals(fullRoadName, other.fullRoadName)
+          && Objects.equals(exitNumber, other.exitNumber);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          stepNumber,
+          maneuver,
+          distanceFromPrevStepMeters,
+          timeFromPrevStepSeconds,
+          roundaboutTurnNumber,
+          drivingSide,
+          fullInstructionText,
+          fullRoadName,
+          exitNumber);
+    }
+  }
+}
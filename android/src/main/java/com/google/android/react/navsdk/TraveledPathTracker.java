@@ -0,0 +1,145 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.libraries.navigation.Navigator;
+import java.util.List;
+
+/**
+ * Reads the traveled path from a cursor, the index of the first point not seen yet, so only the
+ * newly traveled points have to be converted and sent.
+ *
+ * <p>Cursors also carry the generation of the path they were taken from. The generation changes
+ * when a new trip starts, so a cursor from an earlier trip reads the new path from the start even
+ * if its index is still within the new path.
+ *
+ * <p>The navigator has no listener for the traveled path, so while started the tracker polls it
+ * on the main thread and reports the points added since the previous poll. {@link #start}, {@link
+ * #stop} and {@link #setIntervalMs} must be called on the main thread.
+ */
+public class TraveledPathTracker {
+  public static final long DEFAULT_INTERVAL_MS = 5000;
+  /** Generation of a cursor whose generation is unknown, only its index is checked. */
+  public static final int ANY_GENERATION = -1;
+  private static final long MIN_INTERVAL_MS = 100;
+
+  /** Points of the traveled path starting at {@code startIndex}. */
+  public static class Slice {
+    public final List<LatLng> points;
+    public final int startIndex;
+    public final int generation;
+    // Whether the path was reset since the cursor was taken, e.g. by new destinations, in which
+    // case the slice holds the new path from the start.
+    public final boolean isReset;
+
+    Slice(List<LatLng> points, int startIndex, int generation, boolean isReset) {
+      this.points = points;
+      this.startIndex = startIndex;
+      this.generation = generation;
+      this.isReset = isReset;
+    }
+
+    /** Returns the cursor to read the following points from. */
+    public int getNextIndex() {
+      return startIndex + points.size();
+    }
+  }
+
+  public interface Listener {
+    void onTraveledPathUpdated(Slice slice);
+  }
+
+  private final Handler mHandler = new Handler(Looper.getMainLooper());
+  private final Listener mListener;
+  private final Runnable mPollRunnable = this::poll;
+  private @Nullable Navigator mNavigator;
+  private long mIntervalMs = DEFAULT_INTERVAL_MS;
+  private int mNextIndex = 0;
+  private int mNextGeneration = 0;
+  private volatile int mGeneration = 0;
+
+  public TraveledPathTracker(Listener listener) {
+    mListener = listener;
+  }
+
+  /**
+   * Returns the points of the current traveled path from the cursor on, or the whole path if the
+   * cursor is from an earlier generation.
+   */
+  public Slice getSince(List<LatLng> traveledPath, int index, int cursorGeneration) {
+    return getSince(traveledPath, index, cursorGeneration, mGeneration);
+  }
+
+  static Slice getSince(
+      List<LatLng> traveledPath, int index, int cursorGeneration, int generation) {
+    boolean isStale = cursorGeneration != ANY_GENERATION && cursorGeneration != generation;
+    if (isStale || index > traveledPath.size()) {
+      return new Slice(traveledPath, 0, generation, true);
+    }
+    int startIndex = Math.max(0, index);
+    return new Slice(
+        traveledPath.subList(startIndex, traveledPath.size()), startIndex, generation, false);
+  }
+
+  public int getGeneration() {
+    return mGeneration;
+  }
+
+  /** Marks the start of a new trip, invalidating the cursors taken so far. */
+  public synchronized void startNewGeneration() {
+    mGeneration++;
+  }
+
+  /** Starts reporting the traveled path, beginning with the points traveled so far. */
+  public void start(Navigator navigator) {
+    if (mNavigator != null) {
+      return;
+    }
+    mNavigator = navigator;
+    mNextIndex = 0;
+    mNextGeneration = mGeneration;
+    mHandler.post(mPollRunnable);
+  }
+
+  public void stop() {
+    mHandler.removeCallbacks(mPollRunnable);
+    mNavigator = null;
+  }
+
+  public void setIntervalMs(long intervalMs) {
+    mIntervalMs = Math.max(MIN_INTERVAL_MS, intervalMs);
+    if (mNavigator != null) {
+      mHandler.removeCallbacks(mPollRunnable);
+      mHandler.postDelayed(mPollRunnable, mIntervalMs);
+    }
+  }
+
+  private void poll() {
+    if (mNavigator == null) {
+      return;
+    }
+
+    Slice slice = getSince(mNavigator.getTraveledRoute(), mNextIndex, mNextGeneration);
+    if (!slice.points.isEmpty() || slice.isReset) {
+      mListener.onTraveledPathUpdated(slice);
+    }
+    mNextIndex = slice.getNextIndex();
+    mNextGeneration = slice.generation;
+    mHandler.postDelayed(mPollRunnable, mIntervalMs);
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.google.android.libraries.navigation.Waypoint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@link Waypoint} objects straight from the JS waypoint maps, reading each field as a
+ * primitive without going through intermediate hash maps. Invalid waypoints are skipped and
+ * reported together once the whole list has been parsed.
+ */
+public class WaypointParser {
+  /** Waypoints parsed from a list, with an error message for each waypoint that was skipped. */
+  public static class Result {
+    public final List<Waypoint> waypoints;
+    public final List<String> errors;
+
+    Result(List<Waypoint> waypoints, List<String> errors) {
+      this.waypoints = waypoints;
+      this.errors = errors;
+    }
+
+    public boolean hasErrors() {
+      return !errors.isEmpty();
+    }
+  }
+
+  private WaypointParser() {}
+
+  public static Result parse(ReadableArray waypoints) {
+    int size = waypoints.size();
+    List<Waypoint> parsed = new ArrayList<>(size);
+    List<String> errors = new ArrayList<>();
+
+    for (int i = 0; i < size; i++) {
+      if (waypoints.getType(i) != ReadableType.Map) {
+        errors.add(getErrorMessage(i, "Waypoint has to be an object"));
+        continue;
+      }
+      Waypoint waypoint = parse(waypoints.getMap(i), i, errors);
+      if (waypoint != null) {
+        parsed.add(waypoint);
+      }
+    }
+    return new Result(parsed, errors);
+  }
+
+  @Nullable
+  private static Waypoint parse(ReadableMap map, int index, List<String> errors) {
+    String placeId = getString(map, "placeId");
+
+    Waypoint.Builder builder =
+        Waypoint.builder()
+            .setTitle(getString(map, "title"))
+            .setVehicleStopover(getBoolean(map, "vehicleStopover"))
+            .setPreferSameSideOfRoad(getBoolean(map, "preferSameSideOfRoad"));
+
+    try {
+      if (hasValue(map, "preferredHeading")) {
+        Double preferredHeading = getDouble(map, "preferredHeading");
+        if (preferredHeading == null) {
+          errors.add(getErrorMessage(index, "Preferred heading has to be a number"));
+          return null;
+        }
+        builder.setPreferredHeading(preferredHeading.intValue());
+      }
+
+      if (placeId != null && !placeId.isEmpty()) {
+        return builder.setPlaceIdString(placeId).build();
+      }
+
+      ReadableMap position =
+          map.hasKey("position") && map.getType("position") == ReadableType.Map
+              ? map.getMap("position")
+              : null;
+      if (position == null || !hasValue(position, "lat") || !hasValue(position, "lng")) {
+        errors.add(getErrorMessage(index, "Either a place ID or a position has to be set"));
+        return null;
+      }
+      Double lat = getDouble(position, "lat");
+      Double lng = getDouble(position, "lng");
+      if (lat == null || lng == null) {
+        errors.add(getErrorMessage(index, "Position has to have numeric lat and lng"));
+        return null;
+      }
+      return builder.setLatLng(lat, lng).build();
+    } catch (Waypoint.UnsupportedPlaceIdException e) {
+      errors.add(getErrorMessage(index, "Place ID is not supported: " + placeId));
+    } catch (Waypoint.InvalidSegmentHeadingException e) {
+      errors.add(getErrorMessage(index, "Preferred heading has to be between 0 and 360"));
+    }
+    return null;
+  }
+
+  private static String getErrorMessage(int index, String message) {
+    return "Waypoint " + index + ": " + message;
+  }
+
+  static boolean hasValue(ReadableMap map, String key) {
+    return map.hasKey(key) && !map.isNull(key);
+  }
+
+  @Nullable
+  static String getString(ReadableMap map, String key) {
+    return hasValue(map, key) && map.getType(key) == ReadableType.String
+        ? map.getString(key)
+        : null;
+  }
+
+  /** Reads a number, also accepting one sent as a string. Returns null if it is neither. */
+  @Nullable
+  static Double getDouble(ReadableMap map, String key) {
+    switch (map.getType(key)) {
+      case Number:
+        return map.getDouble(key);
+      case String:
+        try {
+          return Double.parseDouble(map.getString(key));
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  private static boolean getBoolean(ReadableMap map, String key) {
+    return hasValue(map, key) && map.getType(key) == ReadableType.Boolean && map.getBoolean(key);
+  }
+}
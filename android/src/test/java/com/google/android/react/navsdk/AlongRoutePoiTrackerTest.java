@@ -0,0 +1,64 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import java.util.List;
+import org.junit.Test;
+
+public class AlongRoutePoiTrackerTest {
+
+  @Test
+  public void parsePois_readsIdAndPosition() {
+    List<AlongRoutePoiTracker.Poi> pois =
+        AlongRoutePoiTracker.parsePois(
+            JavaOnlyArray.of(
+                JavaOnlyMap.of("id", "a", "position", JavaOnlyMap.of("lat", 10.0, "lng", 20.0)),
+                JavaOnlyMap.of("id", "b", "position", JavaOnlyMap.of("lat", "11", "lng", "21"))));
+
+    assertEquals(2, pois.size());
+    assertEquals("a", pois.get(0).id);
+    assertEquals(10, pois.get(0).lat, 0);
+    assertEquals(20, pois.get(0).lng, 0);
+    assertEquals(11, pois.get(1).lat, 0);
+  }
+
+  @Test
+  public void parsePois_skipsMalformedEntries() {
+    JavaOnlyMap position = JavaOnlyMap.of("lat", 10.0, "lng", 20.0);
+    List<AlongRoutePoiTracker.Poi> pois =
+        AlongRoutePoiTracker.parsePois(
+            JavaOnlyArray.of(
+                null,
+                "poi",
+                JavaOnlyMap.of("id", 1.0, "position", position),
+                JavaOnlyMap.of("id", "no position"),
+                JavaOnlyMap.of("id", "null position", "position", null),
+                JavaOnlyMap.of("id", "no lng", "position", JavaOnlyMap.of("lat", 10.0)),
+                JavaOnlyMap.of("id", "bad lat", "position", JavaOnlyMap.of("lat", "x", "lng", 1.0)),
+                JavaOnlyMap.of("id", "valid", "position", position)));
+
+    assertEquals(1, pois.size());
+    assertEquals("valid", pois.get(0).id);
+  }
+
+  @Test
+  public void parsePois_empty() {
+    assertTrue(AlongRoutePoiTracker.parsePois(JavaOnlyArray.of()).isEmpty());
+  }
+}
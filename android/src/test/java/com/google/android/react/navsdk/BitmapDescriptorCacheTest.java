@@ -0,0 +1,75 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import android.content.ComponentCallbacks2;
+import org.junit.Test;
+
+public class BitmapDescriptorCacheTest {
+  private static final int MAX_SIZE = 1000;
+
+  @Test
+  public void getTrimmedSize_keepsEverythingWhileMemoryIsFine() {
+    assertEquals(
+        MAX_SIZE,
+        BitmapDescriptorCache.getTrimmedSize(
+            ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE, MAX_SIZE));
+  }
+
+  @Test
+  public void getTrimmedSize_halvesWhenRunningLow() {
+    assertEquals(
+        MAX_SIZE / 2,
+        BitmapDescriptorCache.getTrimmedSize(
+            ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW, MAX_SIZE));
+    assertEquals(
+        MAX_SIZE / 2,
+        BitmapDescriptorCache.getTrimmedSize(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN, MAX_SIZE));
+  }
+
+  @Test
+  public void getTrimmedSize_evictsAllWhenCriticalOrInBackground() {
+    assertEquals(
+        0,
+        BitmapDescriptorCache.getTrimmedSize(
+            ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL, MAX_SIZE));
+    assertEquals(
+        0,
+        BitmapDescriptorCache.getTrimmedSize(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND, MAX_SIZE));
+    assertEquals(
+        0,
+        BitmapDescriptorCache.getTrimmedSize(ComponentCallbacks2.TRIM_MEMORY_COMPLETE, MAX_SIZE));
+  }
+
+  @Test
+  public void variantKey_isAssetPathWithoutChanges() {
+    assertEquals("icon.png", BitmapDescriptorCache.Variant.NONE.getKey("icon.png"));
+    assertEquals("icon.png", new BitmapDescriptorCache.Variant(null, 0).getKey("icon.png"));
+  }
+
+  @Test
+  public void variantKey_differsByTintAndScale() {
+    String tinted = new BitmapDescriptorCache.Variant(0xFF0000FF, 1).getKey("icon.png");
+    String scaled = new BitmapDescriptorCache.Variant(null, 2).getKey("icon.png");
+    String both = new BitmapDescriptorCache.Variant(0xFF0000FF, 2).getKey("icon.png");
+
+    assertNotEquals("icon.png", tinted);
+    assertNotEquals(tinted, scaled);
+    assertNotEquals(tinted, both);
+    assertNotEquals(scaled, both);
+  }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class ClusterIndexTest {
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void everyLevel_countsEveryPointOnce() {
+    double[] lats = new double[200];
+    double[] lngs = new double[200];
+    for (int i = 0; i < lats.length; i++) {
+      lats[i] = -60 + (i * 7919 % 1200) / 10.0;
+      lngs[i] = -170 + (i * 104729 % 3400) / 10.0;
+    }
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 16, 4);
+
+    for (int level = 0; level <= index.getMaxLevel(); level++) {
+      int count = 0;
+      for (ClusterIndex.Cell cell : getAllCells(index, level)) {
+        count += cell.count;
+      }
+      assertEquals("level " + level, lats.length, count);
+    }
+  }
+
+  @Test
+  public void mergedCell_hasCentroidAndBoundsOfItsPoints() {
+    double[] lats = {10.0, 10.002, 10.004, 10.006};
+    double[] lngs = {20.0, 20.004, 20.002, 20.006};
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 16, 4);
+
+    List<ClusterIndex.Cell> cells = getAllCells(index, 0);
+
+    assertEquals(1, cells.size());
+    ClusterIndex.Cell cell = cells.get(0);
+    assertEquals(0, cell.level);
+    assertEquals(4, cell.count);
+    assertEquals(10.003, cell.lat, DELTA);
+    assertEquals(20.003, cell.lng, DELTA);
+    assertEquals(10.0, cell.minLat, DELTA);
+    assertEquals(20.0, cell.minLng, DELTA);
+    assertEquals(10.006, cell.maxLat, DELTA);
+    assertEquals(20.006, cell.maxLng, DELTA);
+  }
+
+  @Test
+  public void cellsBelowMinClusterSize_listTheirPoints() {
+    double[] lats = {10.0, 10.001, 40.0, 40.001, 40.002, 40.003};
+    double[] lngs = {20.0, 20.001, 60.0, 60.001, 60.002, 60.003};
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 10, 3);
+
+    ClusterIndex.Cell pair = null;
+    ClusterIndex.Cell cluster = null;
+    for (ClusterIndex.Cell cell : getAllCells(index, 2)) {
+      if (cell.count == 2) {
+        pair = cell;
+      } else if (cell.count == 4) {
+        cluster = cell;
+      }
+    }
+
+    assertNotNull(pair);
+    int[] items = pair.items.clone();
+    Arrays.sort(items);
+    assertArrayEquals(new int[] {0, 1}, items);
+    assertNotNull(cluster);
+    assertNull(cluster.items);
+  }
+
+  @Test
+  public void finestLevel_alwaysListsItsPoints() {
+    double[] lats = {10.0, 10.0, 10.0, 10.0, 10.0};
+    double[] lngs = {20.0, 20.0, 20.0, 20.0, 20.0};
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 5, 2);
+
+    List<ClusterIndex.Cell> cells = getAllCells(index, index.getMaxLevel());
+
+    assertEquals(1, cells.size());
+    assertEquals(5, cells.get(0).items.length);
+  }
+
+  @Test
+  public void getCells_onlyReturnsCellsOverlappingTheBounds() {
+    double[] lats = {10.0, -30.0};
+    double[] lngs = {20.0, 100.0};
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 16, 4);
+
+    List<ClusterIndex.Cell> cells = index.getCells(12, 9.9, 19.9, 10.1, 20.1);
+
+    assertEquals(1, cells.size());
+    assertEquals(10.0, cells.get(0).lat, DELTA);
+    assertTrue(index.getCells(12, 50, 50, 51, 51).isEmpty());
+  }
+
+  @Test
+  public void getCells_boundsCrossingAntimeridian_returnCellsOnBothSides() {
+    double[] lats = {0.0, 0.0, 0.0};
+    double[] lngs = {179.99, -179.99, 0.0};
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 16, 4);
+
+    List<ClusterIndex.Cell> cells = index.getCells(12, -0.1, 179.9, 0.1, -179.9);
+
+    assertEquals(2, cells.size());
+    for (ClusterIndex.Cell cell : cells) {
+      assertTrue(Math.abs(cell.lng) > 179);
+    }
+  }
+
+  @Test
+  public void getCells_levelIsClampedToClusteredLevels() {
+    double[] lats = {10.0};
+    double[] lngs = {20.0};
+    ClusterIndex index = new ClusterIndex(lats, lngs, 80, 8, 4);
+
+    List<ClusterIndex.Cell> cells = index.getCells(20, 9, 19, 11, 21);
+
+    assertEquals(1, cells.size());
+    assertEquals(8, cells.get(0).level);
+  }
+
+  private static List<ClusterIndex.Cell> getAllCells(ClusterIndex index, int level) {
+    return index.getCells(level, -85, -180, 85, 180);
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class GeofenceEvaluatorTest {
+  private final GeofenceEvaluator mEvaluator = new GeofenceEvaluator(transitions -> {});
+
+  @Test
+  public void parse_readsCirclesAndPolygons() {
+    GeofenceEvaluator.ParseResult result =
+        GeofenceEvaluator.parse(JavaOnlyArray.of(circle("a", 10, 20, 100), square("b", 10, 20)));
+
+    assertTrue(result.errors.isEmpty());
+    assertEquals(2, result.geofences.size());
+    assertEquals(100, result.geofences.get(0).radiusMeters, 0);
+    assertEquals(4, result.geofences.get(1).lats.length);
+  }
+
+  @Test
+  public void parse_acceptsCoordinatesSentAsStrings() {
+    JavaOnlyMap geofence =
+        JavaOnlyMap.of(
+            "id", "a", "center", JavaOnlyMap.of("lat", "10.5", "lng", "20"), "radiusMeters", 50.0);
+
+    GeofenceEvaluator.ParseResult result = GeofenceEvaluator.parse(JavaOnlyArray.of(geofence));
+
+    assertTrue(result.errors.isEmpty());
+    assertEquals(10.5, result.geofences.get(0).centerLat, 0);
+  }
+
+  @Test
+  public void parse_malformedGeofences_reportsErrorPerIndex() {
+    JavaOnlyMap badLat = JavaOnlyMap.of("lat", "x", "lng", 20.0);
+    JavaOnlyArray badPolygon =
+        JavaOnlyArray.of(latLng(0, 0), latLng(0, 1), JavaOnlyMap.of("lat", 1.0));
+    JavaOnlyMap badDwellTime = circle("bad dwell", 10, 20, 100);
+    badDwellTime.putString("dwellTimeMs", "soon");
+    JavaOnlyArray geofences =
+        JavaOnlyArray.of(
+            "not an object",
+            JavaOnlyMap.of("center", latLng(10, 20), "radiusMeters", 100.0),
+            JavaOnlyMap.of("id", 7.0, "center", latLng(10, 20), "radiusMeters", 100.0),
+            JavaOnlyMap.of("id", "no radius", "center", latLng(10, 20)),
+            JavaOnlyMap.of("id", "bad radius", "center", latLng(10, 20), "radiusMeters", "far"),
+            JavaOnlyMap.of("id", "null center", "center", null, "radiusMeters", 100.0),
+            JavaOnlyMap.of("id", "bad lat", "center", badLat, "radiusMeters", 100.0),
+            JavaOnlyMap.of("id", "bad point", "polygon", badPolygon),
+            badDwellTime,
+            circle("valid", 10, 20, 100));
+
+    GeofenceEvaluator.ParseResult result = GeofenceEvaluator.parse(geofences);
+
+    assertEquals(1, result.geofences.size());
+    assertEquals("valid", result.geofences.get(0).id);
+    assertEquals(9, result.errors.size());
+    for (int i = 0; i < result.errors.size(); i++) {
+      assertTrue(result.errors.get(i), result.errors.get(i).startsWith("Geofence " + i + ":"));
+    }
+  }
+
+  @Test
+  public void evaluate_reportsEnterDwellAndExit() {
+    JavaOnlyMap geofence = circle("a", 10, 20, 100);
+    geofence.putDouble("dwellTimeMs", 1000);
+    add(geofence);
+
+    assertTransitions(mEvaluator.evaluate(10, 20, 0), "a", GeofenceEvaluator.TRANSITION_ENTER);
+    assertTrue(mEvaluator.evaluate(10, 20, 500).isEmpty());
+    assertTransitions(mEvaluator.evaluate(10, 20, 1000), "a", GeofenceEvaluator.TRANSITION_DWELL);
+    assertTransitions(mEvaluator.evaluate(11, 20, 1500), "a", GeofenceEvaluator.TRANSITION_EXIT);
+  }
+
+  @Test
+  public void evaluate_polygon() {
+    add(square("b", 10, 20));
+
+    assertTransitions(
+        mEvaluator.evaluate(10.005, 20.005, 0), "b", GeofenceEvaluator.TRANSITION_ENTER);
+    assertTransitions(
+        mEvaluator.evaluate(10.02, 20.005, 0), "b", GeofenceEvaluator.TRANSITION_EXIT);
+  }
+
+  @Test
+  public void addGeofences_sameIdRepeatedly_reusesItsSlot() {
+    add(circle("a", 10, 20, 100));
+    int indexEntryCount = mEvaluator.getIndexEntryCount();
+
+    for (int i = 0; i < 100; i++) {
+      add(circle("a", 10, 20, 100));
+    }
+
+    assertEquals(1, mEvaluator.getSlotCount());
+    assertEquals(indexEntryCount, mEvaluator.getIndexEntryCount());
+  }
+
+  @Test
+  public void addGeofences_replacedGeofence_isNotFoundAtOldPosition() {
+    add(circle("a", 10, 20, 100));
+    add(circle("a", 30, 40, 100));
+
+    assertTrue(mEvaluator.evaluate(10, 20, 0).isEmpty());
+    assertTransitions(mEvaluator.evaluate(30, 40, 0), "a", GeofenceEvaluator.TRANSITION_ENTER);
+  }
+
+  @Test
+  public void removeGeofences_freesSlotsForNewGeofences() {
+    add(circle("a", 10, 20, 100));
+    add(circle("b", 11, 20, 100));
+    mEvaluator.removeGeofences(Collections.singletonList("a"));
+
+    add(circle("c", 12, 20, 100));
+
+    assertEquals(2, mEvaluator.getSlotCount());
+    assertTrue(mEvaluator.evaluate(10, 20, 0).isEmpty());
+    assertTransitions(mEvaluator.evaluate(12, 20, 0), "c", GeofenceEvaluator.TRANSITION_ENTER);
+  }
+
+  @Test
+  public void largeGeofences_areFoundWithoutTheGrid() {
+    add(circle("large", 10, 20, 500000));
+    int indexEntryCount = mEvaluator.getIndexEntryCount();
+    add(circle("large", 10, 20, 500000));
+
+    assertEquals(0, indexEntryCount);
+    assertEquals(1, mEvaluator.getSlotCount());
+    assertTransitions(mEvaluator.evaluate(12, 21, 0), "large", GeofenceEvaluator.TRANSITION_ENTER);
+  }
+
+  private void add(JavaOnlyMap geofence) {
+    GeofenceEvaluator.ParseResult result = GeofenceEvaluator.parse(JavaOnlyArray.of(geofence));
+    assertTrue(result.errors.toString(), result.errors.isEmpty());
+    mEvaluator.addGeofences(result.geofences);
+  }
+
+  private static void assertTransitions(
+      List<GeofenceEvaluator.Transition> transitions, String id, int type) {
+    List<String> actual = new ArrayList<>();
+    for (GeofenceEvaluator.Transition transition : transitions) {
+      actual.add(transition.id + "/" + transition.type);
+    }
+    assertEquals(Collections.singletonList(id + "/" + type), actual);
+  }
+
+  private static JavaOnlyMap circle(String id, double lat, double lng, double radiusMeters) {
+    return JavaOnlyMap.of("id", id, "center", latLng(lat, lng), "radiusMeters", radiusMeters);
+  }
+
+  private static JavaOnlyMap square(String id, double lat, double lng) {
+    return JavaOnlyMap.of(
+        "id",
+        id,
+        "polygon",
+        JavaOnlyArray.of(
+            latLng(lat, lng),
+            latLng(lat, lng + 0.01),
+            latLng(lat + 0.01, lng + 0.01),
+            latLng(lat + 0.01, lng)));
+  }
+
+  private static JavaOnlyMap latLng(double lat, double lng) {
+    return JavaOnlyMap.of("lat", lat, "lng", lng);
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class LocationFilterTest {
+  private static final float UNKNOWN = Float.NaN;
+
+  private final LocationFilter mFilter = new LocationFilter();
+  private final Map<String, Object> mOptions = new HashMap<>();
+
+  @Test
+  public void isAccepted_defaultOptions_acceptsEveryFix() {
+    assertTrue(mFilter.isAccepted(0, 0, UNKNOWN, UNKNOWN));
+    assertTrue(mFilter.isAccepted(10, 0, 0, 0));
+  }
+
+  @Test
+  public void isAccepted_rejectsFixesBeforeMinInterval() {
+    setOption("minIntervalMs", 1000);
+
+    assertFalse(mFilter.isAccepted(999, 100, 10, UNKNOWN));
+    assertTrue(mFilter.isAccepted(1000, 100, 10, UNKNOWN));
+  }
+
+  @Test
+  public void isAccepted_acceptsClockGoingBackwards() {
+    setOption("minIntervalMs", 1000);
+
+    assertTrue(mFilter.isAccepted(-1, 0, UNKNOWN, UNKNOWN));
+  }
+
+  @Test
+  public void isAccepted_requiresMinDistanceOrBearingChange() {
+    setOption("minDistanceMeters", 10);
+    setOption("minBearingChangeDegrees", 30);
+
+    assertFalse(mFilter.isAccepted(1000, 9, 5, 29));
+    assertTrue(mFilter.isAccepted(1000, 10, 5, 29));
+    assertTrue(mFilter.isAccepted(1000, 9, 5, 30));
+  }
+
+  @Test
+  public void isAccepted_unknownBearingChange_onlyChecksDistance() {
+    setOption("minDistanceMeters", 10);
+    setOption("minBearingChangeDegrees", 30);
+
+    assertFalse(mFilter.isAccepted(1000, 9, 5, UNKNOWN));
+  }
+
+  @Test
+  public void isAccepted_minDistanceScalesWithSpeed() {
+    setOption("minDistanceMeters", 10);
+    setOption("minDistanceSpeedFactorSeconds", 2);
+
+    // Slow, the base distance applies.
+    assertTrue(mFilter.isAccepted(1000, 10, 2, UNKNOWN));
+    // At 20 m/s, 40 meters are required.
+    assertFalse(mFilter.isAccepted(1000, 39, 20, UNKNOWN));
+    assertTrue(mFilter.isAccepted(1000, 40, 20, UNKNOWN));
+    // Without a speed, the base distance applies.
+    assertTrue(mFilter.isAccepted(1000, 10, UNKNOWN, UNKNOWN));
+  }
+
+  @Test
+  public void isAccepted_stationary_usesStationaryIntervalRegardlessOfDistance() {
+    setOption("minIntervalMs", 1000);
+    setOption("minDistanceMeters", 10);
+    setOption("stationarySpeedMps", 0.5);
+    setOption("stationaryIntervalMs", 5000);
+
+    assertFalse(mFilter.isAccepted(4999, 0, 0.2f, UNKNOWN));
+    assertTrue(mFilter.isAccepted(5000, 0, 0.2f, UNKNOWN));
+  }
+
+  @Test
+  public void isAccepted_unknownSpeed_isNotStationary() {
+    setOption("stationarySpeedMps", 0.5);
+    setOption("stationaryIntervalMs", 5000);
+
+    assertTrue(mFilter.isAccepted(1000, 0, UNKNOWN, UNKNOWN));
+  }
+
+  @Test
+  public void getBearingChange_wrapsAround() {
+    assertEquals(20, LocationFilter.getBearingChange(350, 10), 1e-6);
+    assertEquals(20, LocationFilter.getBearingChange(10, 350), 1e-6);
+    assertEquals(180, LocationFilter.getBearingChange(0, 180), 1e-6);
+  }
+
+  private void setOption(String name, double value) {
+    mOptions.put(name, value);
+    mFilter.setOptions(mOptions);
+  }
+}
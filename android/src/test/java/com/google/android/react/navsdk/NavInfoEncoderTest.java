@@ -0,0 +1,98 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class NavInfoEncoderTest {
+
+  @Test
+  public void getChangedValues_fullUpdate_returnsAvailableValues() {
+    Map<String, Object> values = values(1, 500, null);
+
+    Map<String, Object> changed =
+        NavInfoEncoder.getChangedValues(values, new LinkedHashMap<>(), true);
+
+    assertEquals(Arrays.asList("navState", "distanceToCurrentStepMeters"), keys(changed));
+    assertEquals(1, changed.get("navState"));
+    assertEquals(500, changed.get("distanceToCurrentStepMeters"));
+  }
+
+  @Test
+  public void getChangedValues_fullUpdate_ignoresLastValues() {
+    Map<String, Object> values = values(1, 500, 60);
+
+    Map<String, Object> changed = NavInfoEncoder.getChangedValues(values, values(1, 500, 60), true);
+
+    assertEquals(3, changed.size());
+  }
+
+  @Test
+  public void getChangedValues_delta_returnsOnlyChangedValues() {
+    Map<String, Object> changed =
+        NavInfoEncoder.getChangedValues(values(1, 450, 60), values(1, 500, 60), false);
+
+    assertEquals(Arrays.asList("distanceToCurrentStepMeters"), keys(changed));
+    assertEquals(450, changed.get("distanceToCurrentStepMeters"));
+  }
+
+  @Test
+  public void getChangedValues_delta_marksValuesNoLongerAvailableWithNull() {
+    Map<String, Object> changed =
+        NavInfoEncoder.getChangedValues(values(1, 500, null), values(1, 500, 60), false);
+
+    assertEquals(Arrays.asList("timeToCurrentStepSeconds"), keys(changed));
+    assertTrue(changed.containsKey("timeToCurrentStepSeconds"));
+    assertNull(changed.get("timeToCurrentStepSeconds"));
+  }
+
+  @Test
+  public void getChangedValues_delta_nothingChanged_returnsEmpty() {
+    assertTrue(
+        NavInfoEncoder.getChangedValues(values(1, 500, null), values(1, 500, null), false)
+            .isEmpty());
+  }
+
+  @Test
+  public void haveStepsChanged_onlyWhenFullRouteChangedOrStepMoved() {
+    assertTrue(NavInfoEncoder.haveStepsChanged(true, false, 3, 3));
+    assertTrue(NavInfoEncoder.haveStepsChanged(false, true, 3, 3));
+    assertTrue(NavInfoEncoder.haveStepsChanged(false, false, 4, 3));
+    assertTrue(NavInfoEncoder.haveStepsChanged(false, false, null, 3));
+    assertFalse(NavInfoEncoder.haveStepsChanged(false, false, 3, 3));
+    assertFalse(NavInfoEncoder.haveStepsChanged(false, false, null, null));
+  }
+
+  private static Map<String, Object> values(
+      Integer navState, Integer distanceToCurrentStepMeters, Integer timeToCurrentStepSeconds) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("navState", navState);
+    values.put("distanceToCurrentStepMeters", distanceToCurrentStepMeters);
+    values.put("timeToCurrentStepSeconds", timeToCurrentStepSeconds);
+    return values;
+  }
+
+  private static ArrayList<String> keys(Map<String, Object> map) {
+    return new ArrayList<>(map.keySet());
+  }
+}
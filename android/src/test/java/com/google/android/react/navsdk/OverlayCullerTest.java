@@ -0,0 +1,208 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.CircleOptions;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.maps.model.PolylineOptions;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class OverlayCullerTest {
+  private final FakeOverlayMap mMap = new FakeOverlayMap();
+  private final OverlayCuller mCuller = new OverlayCuller(mMap);
+
+  @Test
+  public void add_showsOnlyOverlaysNearVisibleRegion() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+
+    String inside = addMarker(0.5, 0.5);
+    String outside = addMarker(5, 5);
+
+    assertTrue(mMap.isShown(inside));
+    assertFalse(mMap.isShown(outside));
+  }
+
+  @Test
+  public void add_showsOverlaysWithinShowMargin() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+
+    // The default margin adds half the visible region on each side.
+    String withinMargin = addMarker(1.4, 0.5);
+    String beyondMargin = addMarker(1.6, 0.5);
+
+    assertTrue(mMap.isShown(withinMargin));
+    assertFalse(mMap.isShown(beyondMargin));
+  }
+
+  @Test
+  public void onCameraIdle_keepsShownOverlaysWithinKeepMargin() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    String left = addMarker(0.5, 0.5);
+    String kept = addMarker(0.5, 1.2);
+    String ahead = addMarker(0.5, 3.4);
+
+    mMap.setVisibleBounds(0, 2, 1, 3);
+    mCuller.onCameraIdle();
+
+    // The keep region spans a whole visible region on each side, the show region only half.
+    assertFalse(mMap.isShown(left));
+    assertTrue(mMap.isShown(kept));
+    assertTrue(mMap.isShown(ahead));
+  }
+
+  @Test
+  public void onCameraIdle_doesNotAddOverlaysAgain() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    addMarker(0.5, 0.5);
+
+    mCuller.onCameraIdle();
+    mCuller.onCameraIdle();
+
+    assertEquals(1, mMap.mAddCount);
+  }
+
+  @Test
+  public void setOptions_changesMargins() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    String nearby = addMarker(1.2, 0.5);
+    Map<String, Object> options = new HashMap<>();
+    options.put("margin", 0.0);
+    options.put("keepMargin", 0.0);
+
+    mCuller.setOptions(options);
+
+    assertFalse(mMap.isShown(nearby));
+  }
+
+  @Test
+  public void visibleRegionCrossingAntimeridian_showsOverlaysOnBothSides() {
+    mMap.setVisibleBounds(0, 179, 1, -179);
+
+    String east = addMarker(0.5, 179.5);
+    String west = addMarker(0.5, -179.5);
+    String elsewhere = addMarker(0.5, 0);
+
+    assertTrue(mMap.isShown(east));
+    assertTrue(mMap.isShown(west));
+    assertFalse(mMap.isShown(elsewhere));
+  }
+
+  @Test
+  public void polylinePassingThroughVisibleRegion_isShown() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    PolylineOptions options =
+        new PolylineOptions().add(new LatLng(0.5, -20)).add(new LatLng(0.5, 20));
+
+    String id = mCuller.add(OverlayBatch.Type.POLYLINE, options, null);
+
+    assertTrue(mMap.isShown(id));
+  }
+
+  @Test
+  public void circleReachingIntoVisibleRegion_isShown() {
+    mMap.setVisibleBounds(0, 0, 0.1, 0.1);
+    // Centered about 22 km beyond the show margin of the visible region.
+    CircleOptions reaching = new CircleOptions().center(new LatLng(0.05, 0.35)).radius(30000);
+    CircleOptions tooSmall = new CircleOptions().center(new LatLng(0.05, 0.35)).radius(10000);
+
+    assertTrue(mMap.isShown(mCuller.add(OverlayBatch.Type.CIRCLE, reaching, null)));
+    assertFalse(mMap.isShown(mCuller.add(OverlayBatch.Type.CIRCLE, tooSmall, null)));
+  }
+
+  @Test
+  public void remove_removesShownOverlayFromMap() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    String id = addMarker(0.5, 0.5);
+
+    assertTrue(mCuller.remove(OverlayBatch.Type.MARKER, id));
+
+    assertFalse(mMap.isShown(id));
+    assertFalse(mCuller.remove(OverlayBatch.Type.MARKER, id));
+  }
+
+  @Test
+  public void remove_ignoresOverlayOfAnotherType() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    String id = addMarker(0.5, 0.5);
+
+    assertFalse(mCuller.remove(OverlayBatch.Type.POLYLINE, id));
+    assertFalse(mCuller.remove(OverlayBatch.Type.CIRCLE, id));
+
+    assertTrue(mMap.isShown(id));
+    assertTrue(mCuller.remove(OverlayBatch.Type.MARKER, id));
+  }
+
+  @Test
+  public void removeWithTag_removesOnlyTaggedOverlays() {
+    mMap.setVisibleBounds(0, 0, 1, 1);
+    String tagged = mCuller.add(OverlayBatch.Type.MARKER, marker(0.5, 0.5), "poi");
+    String untagged = addMarker(0.6, 0.6);
+
+    mCuller.removeWithTag("poi");
+    mMap.setVisibleBounds(0, 0, 1.1, 1.1);
+    mCuller.onCameraIdle();
+
+    assertFalse(mMap.isShown(tagged));
+    assertTrue(mMap.isShown(untagged));
+  }
+
+  private String addMarker(double lat, double lng) {
+    return mCuller.add(OverlayBatch.Type.MARKER, marker(lat, lng), null);
+  }
+
+  private static MarkerOptions marker(double lat, double lng) {
+    return new MarkerOptions().position(new LatLng(lat, lng));
+  }
+
+  private static class FakeOverlayMap implements OverlayCuller.OverlayMap {
+    private LatLngBounds mVisibleBounds;
+    private final Set<String> mShownIds = new HashSet<>();
+    int mAddCount = 0;
+
+    void setVisibleBounds(double minLat, double minLng, double maxLat, double maxLng) {
+      mVisibleBounds = new LatLngBounds(new LatLng(minLat, minLng), new LatLng(maxLat, maxLng));
+    }
+
+    boolean isShown(String id) {
+      return mShownIds.contains(id);
+    }
+
+    @Override
+    public LatLngBounds getVisibleBounds() {
+      return mVisibleBounds;
+    }
+
+    @Override
+    public Object addOverlay(OverlayCuller.Entry entry) {
+      mAddCount++;
+      mShownIds.add(entry.id);
+      return entry.id;
+    }
+
+    @Override
+    public void removeOverlay(OverlayCuller.Entry entry) {
+      mShownIds.remove(entry.id);
+    }
+  }
+}
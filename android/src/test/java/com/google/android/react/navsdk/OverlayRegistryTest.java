@@ -0,0 +1,95 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class OverlayRegistryTest {
+  private final OverlayRegistry<String> mRegistry = new OverlayRegistry<>();
+
+  @Test
+  public void put_indexesOverlayByIdAndTag() {
+    mRegistry.put("m1", "marker 1", "poi");
+    mRegistry.put("m2", "marker 2", null);
+
+    assertEquals("marker 1", mRegistry.get("m1"));
+    assertEquals("poi", mRegistry.getTag("m1"));
+    assertEquals("marker 2", mRegistry.get("m2"));
+    assertNull(mRegistry.getTag("m2"));
+    assertEquals(2, mRegistry.size());
+  }
+
+  @Test
+  public void put_sameIdWithOtherTag_movesOverlayToNewTag() {
+    mRegistry.put("m1", "marker 1", "poi");
+    mRegistry.put("m1", "marker 1", "route");
+
+    assertTrue(mRegistry.removeWithTag("poi").isEmpty());
+    assertEquals(Collections.singletonList("marker 1"), mRegistry.removeWithTag("route"));
+  }
+
+  @Test
+  public void remove_dropsOverlayFromItsTag() {
+    mRegistry.put("m1", "marker 1", "poi");
+    mRegistry.put("m2", "marker 2", "poi");
+
+    assertEquals("marker 1", mRegistry.remove("m1"));
+
+    assertNull(mRegistry.get("m1"));
+    assertNull(mRegistry.getTag("m1"));
+    assertEquals(Collections.singletonList("marker 2"), mRegistry.removeWithTag("poi"));
+  }
+
+  @Test
+  public void remove_unknownId_returnsNull() {
+    assertNull(mRegistry.remove("m1"));
+  }
+
+  @Test
+  public void removeWithTag_removesOnlyOverlaysWithThatTag() {
+    mRegistry.put("m1", "marker 1", "poi");
+    mRegistry.put("m2", "marker 2", "poi");
+    mRegistry.put("m3", "marker 3", "route");
+    mRegistry.put("m4", "marker 4", null);
+
+    List<String> removed = new ArrayList<>(mRegistry.removeWithTag("poi"));
+    Collections.sort(removed);
+
+    assertEquals(Arrays.asList("marker 1", "marker 2"), removed);
+    assertNull(mRegistry.get("m1"));
+    assertNull(mRegistry.getTag("m2"));
+    assertEquals(2, mRegistry.size());
+    assertEquals("route", mRegistry.getTag("m3"));
+    assertTrue(mRegistry.removeWithTag("poi").isEmpty());
+  }
+
+  @Test
+  public void clear_removesOverlaysAndTags() {
+    mRegistry.put("m1", "marker 1", "poi");
+
+    mRegistry.clear();
+
+    assertEquals(0, mRegistry.size());
+    assertNull(mRegistry.getTag("m1"));
+    assertTrue(mRegistry.removeWithTag("poi").isEmpty());
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class PathSimplifierTest {
+  // About 111 meters per 0.001 degrees of latitude.
+  private static final double DEGREES_PER_METER = 0.001 / 111.2;
+
+  @Test
+  public void fromMap_withoutOptions_isDisabled() {
+    assertSame(PathSimplifier.NONE, PathSimplifier.fromMap(null));
+    assertSame(PathSimplifier.NONE, PathSimplifier.fromMap(new HashMap<>()));
+    assertFalse(PathSimplifier.NONE.isEnabled());
+    assertEquals("", PathSimplifier.NONE.getKey());
+  }
+
+  @Test
+  public void fromMap_toleranceTakesPrecedenceOverZoom() {
+    Map<String, Object> options = new HashMap<>();
+    options.put("toleranceMeters", 10.0);
+    options.put("zoom", 12.0);
+
+    PathSimplifier simplifier = PathSimplifier.fromMap(options);
+
+    assertTrue(simplifier.isEnabled());
+    assertEquals("t10.0", simplifier.getKey());
+  }
+
+  @Test
+  public void fromMap_zoomIsRoundedDownToBand() {
+    Map<String, Object> options = new HashMap<>();
+    options.put("zoom", 15.7);
+    Map<String, Object> sameBand = new HashMap<>();
+    sameBand.put("zoom", 15.0);
+
+    assertEquals("z15", PathSimplifier.fromMap(options).getKey());
+    assertEquals(
+        PathSimplifier.fromMap(options).getKey(), PathSimplifier.fromMap(sameBand).getKey());
+  }
+
+  @Test
+  public void simplify_disabled_returnsSamePath() {
+    List<LatLng> path = straightPath(10);
+
+    assertSame(path, PathSimplifier.NONE.simplify(path));
+  }
+
+  @Test
+  public void simplify_shortPath_returnsSamePath() {
+    List<LatLng> path = straightPath(2);
+
+    assertSame(path, withTolerance(10).simplify(path));
+  }
+
+  @Test
+  public void simplify_straightPath_keepsEndpointsOnly() {
+    List<LatLng> path = straightPath(50);
+
+    List<LatLng> simplified = withTolerance(1).simplify(path);
+
+    assertEquals(Arrays.asList(path.get(0), path.get(49)), simplified);
+  }
+
+  @Test
+  public void simplify_keepsPointsBeyondTolerance() {
+    LatLng start = new LatLng(0, 0);
+    LatLng nearPoint = new LatLng(5 * DEGREES_PER_METER, 0.0005);
+    LatLng farPoint = new LatLng(50 * DEGREES_PER_METER, 0.001);
+    LatLng end = new LatLng(0, 0.002);
+    List<LatLng> path = Arrays.asList(start, nearPoint, farPoint, end);
+
+    List<LatLng> simplified = withTolerance(20).simplify(path);
+
+    assertEquals(Arrays.asList(start, farPoint, end), simplified);
+  }
+
+  @Test
+  public void simplify_zoomBand_usesPixelSizeAsTolerance() {
+    // A 20 meter deviation is below a pixel at zoom 10 (about 150 meters) but above one at zoom
+    // 18 (about 0.6 meters).
+    LatLng start = new LatLng(0, 0);
+    LatLng middle = new LatLng(20 * DEGREES_PER_METER, 0.005);
+    LatLng end = new LatLng(0, 0.01);
+    List<LatLng> path = Arrays.asList(start, middle, end);
+
+    assertEquals(Arrays.asList(start, end), withZoom(10).simplify(path));
+    assertEquals(path, withZoom(18).simplify(path));
+  }
+
+  private static PathSimplifier withTolerance(double toleranceMeters) {
+    Map<String, Object> options = new HashMap<>();
+    options.put("toleranceMeters", toleranceMeters);
+    return PathSimplifier.fromMap(options);
+  }
+
+  private static PathSimplifier withZoom(double zoom) {
+    Map<String, Object> options = new HashMap<>();
+    options.put("zoom", zoom);
+    return PathSimplifier.fromMap(options);
+  }
+
+  private static List<LatLng> straightPath(int size) {
+    List<LatLng> path = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      path.add(new LatLng(0, i * 0.0001));
+    }
+    return path;
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.react.navsdk.BatchedEventDispatcher.EventPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class PendingEventQueueTest {
+  private final PendingEventQueue mQueue = new PendingEventQueue(8);
+
+  @Test
+  public void drain_returnsEventsInOrderAndEmptiesQueue() {
+    add("a", EventPolicy.LOSSLESS);
+    add("b", EventPolicy.LATEST_WINS);
+    add("c", EventPolicy.COLLAPSE_DUPLICATES);
+
+    assertEquals(Arrays.asList("a", "b", "c"), drainNames());
+    assertTrue(mQueue.isEmpty());
+  }
+
+  @Test
+  public void add_latestWinsReplacesPendingEventAtEndOfQueue() {
+    add("location", EventPolicy.LATEST_WINS);
+    add("arrival", EventPolicy.LOSSLESS);
+    add("location", EventPolicy.LATEST_WINS);
+
+    assertEquals(Arrays.asList("arrival", "location"), drainNames());
+    assertEquals(1, mQueue.getDroppedEventCount());
+  }
+
+  @Test
+  public void add_collapseDuplicatesKeepsFirstPendingEvent() {
+    add("reroute", EventPolicy.COLLAPSE_DUPLICATES);
+    add("arrival", EventPolicy.LOSSLESS);
+    add("reroute", EventPolicy.COLLAPSE_DUPLICATES);
+
+    assertEquals(Arrays.asList("reroute", "arrival"), drainNames());
+    assertEquals(1, mQueue.getCollapsedEventCount());
+    assertEquals(0, mQueue.getDroppedEventCount());
+  }
+
+  @Test
+  public void add_losslessEventsAreNeverCollapsed() {
+    add("arrival", EventPolicy.LOSSLESS);
+    add("arrival", EventPolicy.LOSSLESS);
+
+    assertEquals(Arrays.asList("arrival", "arrival"), drainNames());
+  }
+
+  @Test
+  public void add_whenFull_dropsOldestNonLosslessEventFirst() {
+    PendingEventQueue queue = new PendingEventQueue(3);
+    queue.add("arrival", () -> null, EventPolicy.LOSSLESS);
+    queue.add("location", () -> null, EventPolicy.LATEST_WINS);
+    queue.add("status", () -> null, EventPolicy.LOSSLESS);
+
+    queue.add("reroute", () -> null, EventPolicy.COLLAPSE_DUPLICATES);
+
+    assertEquals(Arrays.asList("arrival", "status", "reroute"), names(queue.drain()));
+    assertEquals(1, queue.getDroppedEventCount());
+    assertEquals(0, queue.getOverflowedEventCount());
+  }
+
+  @Test
+  public void add_whenFullOfLosslessEvents_dropsOldestAndStaysBounded() {
+    PendingEventQueue queue = new PendingEventQueue(3);
+
+    for (int i = 0; i < 10; i++) {
+      queue.add("event" + i, () -> null, EventPolicy.LOSSLESS);
+      assertTrue(queue.size() <= 3);
+    }
+
+    assertEquals(Arrays.asList("event7", "event8", "event9"), names(queue.drain()));
+    assertEquals(7, queue.getDroppedEventCount());
+    assertEquals(7, queue.getOverflowedEventCount());
+  }
+
+  @Test
+  public void setMaxSize_trimsQueuedEvents() {
+    add("arrival", EventPolicy.LOSSLESS);
+    add("location", EventPolicy.LATEST_WINS);
+    add("status", EventPolicy.LOSSLESS);
+    add("step", EventPolicy.LOSSLESS);
+
+    mQueue.setMaxSize(2);
+
+    assertEquals(Arrays.asList("status", "step"), drainNames());
+    assertEquals(2, mQueue.getDroppedEventCount());
+    assertEquals(1, mQueue.getOverflowedEventCount());
+  }
+
+  @Test
+  public void setMaxSize_isAtLeastOne() {
+    mQueue.setMaxSize(0);
+    add("a", EventPolicy.LOSSLESS);
+    add("b", EventPolicy.LOSSLESS);
+
+    assertEquals(1, mQueue.getMaxSize());
+    assertEquals(Arrays.asList("b"), drainNames());
+  }
+
+  private void add(String functionName, EventPolicy policy) {
+    mQueue.add(functionName, () -> null, policy);
+  }
+
+  private List<String> drainNames() {
+    return names(mQueue.drain());
+  }
+
+  private static List<String> names(List<PendingEventQueue.PendingEvent> events) {
+    List<String> names = new ArrayList<>();
+    for (PendingEventQueue.PendingEvent event : events) {
+      names.add(event.functionName);
+    }
+    return names;
+  }
+}
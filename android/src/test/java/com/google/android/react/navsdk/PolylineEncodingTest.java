@@ -0,0 +1,76 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class PolylineEncodingTest {
+  private static final double DELTA = 1e-9;
+  // The example of the encoded polyline format documentation.
+  private static final String ENCODED = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+  private static final List<LatLng> PATH =
+      Arrays.asList(
+          new LatLng(38.5, -120.2), new LatLng(40.7, -120.95), new LatLng(43.252, -126.453));
+
+  @Test
+  public void encode_matchesReferenceExample() {
+    assertEquals(ENCODED, PolylineEncoding.encode(PATH));
+  }
+
+  @Test
+  public void decode_matchesReferenceExample() {
+    assertPathEquals(PATH, PolylineEncoding.decode(ENCODED));
+  }
+
+  @Test
+  public void emptyPath_encodesToEmptyString() {
+    assertEquals("", PolylineEncoding.encode(new ArrayList<>()));
+    assertTrue(PolylineEncoding.decode("").isEmpty());
+  }
+
+  @Test
+  public void roundTrip_roundsToFiveDecimals() {
+    List<LatLng> path =
+        Arrays.asList(
+            new LatLng(-33.8688197, 151.2092955),
+            new LatLng(89.999999, -179.999999),
+            new LatLng(0, 0));
+
+    List<LatLng> decoded = PolylineEncoding.decode(PolylineEncoding.encode(path));
+
+    assertPathEquals(
+        Arrays.asList(new LatLng(-33.86882, 151.2093), new LatLng(90, -180), new LatLng(0, 0)),
+        decoded);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void decode_truncatedValue_throws() {
+    PolylineEncoding.decode(ENCODED.substring(0, 3));
+  }
+
+  private static void assertPathEquals(List<LatLng> expected, List<LatLng> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).latitude, actual.get(i).latitude, DELTA);
+      assertEquals(expected.get(i).longitude, actual.get(i).longitude, DELTA);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class RoutePolylineTest {
+  // Length of 0.01 degrees along the equator.
+  private static final double SEGMENT_METERS = 1113.2;
+  private static final double DELTA_METERS = 1;
+
+  // Four segments heading east along the equator.
+  private final RoutePolyline mStraightRoute =
+      new RoutePolyline(
+          Arrays.asList(
+              new LatLng(0, 0),
+              new LatLng(0, 0.01),
+              new LatLng(0, 0.02),
+              new LatLng(0, 0.03),
+              new LatLng(0, 0.04)));
+
+  // Heads east, then turns around and comes back 55 meters further north.
+  private final RoutePolyline mUTurnRoute =
+      new RoutePolyline(
+          Arrays.asList(
+              new LatLng(0, 0),
+              new LatLng(0, 0.02),
+              new LatLng(0.0005, 0.02),
+              new LatLng(0.0005, 0)));
+
+  @Test
+  public void getLengthMeters_sumsSegmentLengths() {
+    assertEquals(4 * SEGMENT_METERS, mStraightRoute.getLengthMeters(), DELTA_METERS);
+  }
+
+  @Test
+  public void project_returnsDistanceAlongAndOffset() {
+    RoutePolyline.Projection projection = mStraightRoute.project(0.001, 0.015, 200);
+
+    assertNotNull(projection);
+    assertEquals(1, projection.segmentIndex);
+    assertEquals(1.5 * SEGMENT_METERS, projection.distanceAlongMeters, DELTA_METERS);
+    assertEquals(111.3, projection.offsetMeters, DELTA_METERS);
+  }
+
+  @Test
+  public void project_beyondMaxOffset_returnsNull() {
+    assertNull(mStraightRoute.project(0.01, 0.015, 200));
+  }
+
+  @Test
+  public void project_pastTheEnd_clampsToLastPoint() {
+    RoutePolyline.Projection projection = mStraightRoute.project(0, 0.0405, 100);
+
+    assertNotNull(projection);
+    assertEquals(3, projection.segmentIndex);
+    assertEquals(4 * SEGMENT_METERS, projection.distanceAlongMeters, DELTA_METERS);
+  }
+
+  @Test
+  public void project_picksClosestOfOverlappingLegs() {
+    RoutePolyline.Projection projection = mUTurnRoute.project(0.0001, 0.01, 100);
+
+    assertNotNull(projection);
+    assertEquals(0, projection.segmentIndex);
+  }
+
+  @Test
+  public void projectFrom_prefersSegmentsAfterTheLastProjection() {
+    // Closer to the outbound leg, but a position tracked on the way back stays on the way back.
+    RoutePolyline.Projection projection = mUTurnRoute.projectFrom(0.0002, 0.01, 100, 2, 4);
+
+    assertNotNull(projection);
+    assertEquals(2, projection.segmentIndex);
+  }
+
+  @Test
+  public void projectFrom_positionOutsideWindow_fallsBackToWholeRoute() {
+    // A jump ahead, e.g. after the location was lost for a while.
+    RoutePolyline.Projection projection = mStraightRoute.projectFrom(0, 0.035, 50, 0, 1);
+
+    assertNotNull(projection);
+    assertEquals(3, projection.segmentIndex);
+    assertEquals(3.5 * SEGMENT_METERS, projection.distanceAlongMeters, DELTA_METERS);
+  }
+
+  @Test
+  public void projectFrom_windowPastTheEnd_fallsBackToWholeRoute() {
+    // The last projection was on a longer route, before a reroute.
+    RoutePolyline.Projection projection = mStraightRoute.projectFrom(0, 0.005, 50, 40, 8);
+
+    assertNotNull(projection);
+    assertEquals(0, projection.segmentIndex);
+    assertEquals(0.5 * SEGMENT_METERS, projection.distanceAlongMeters, DELTA_METERS);
+  }
+
+  @Test
+  public void projectFrom_offTheRoute_returnsNull() {
+    assertNull(mStraightRoute.projectFrom(0.01, 0.005, 50, 0, 4));
+  }
+}
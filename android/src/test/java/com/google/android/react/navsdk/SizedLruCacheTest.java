@@ -0,0 +1,93 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class SizedLruCacheTest {
+  // Values are their own size.
+  private final SizedLruCache<String, Integer> mCache = new SizedLruCache<>(10, value -> value);
+
+  @Test
+  public void put_evictsLeastRecentlyUsedOnceOverMaxSize() {
+    mCache.put("a", 4);
+    mCache.put("b", 4);
+    mCache.put("c", 4);
+
+    assertNull(mCache.get("a"));
+    assertNotNull(mCache.get("b"));
+    assertNotNull(mCache.get("c"));
+    assertEquals(8, mCache.size());
+  }
+
+  @Test
+  public void get_marksValueAsRecentlyUsed() {
+    mCache.put("a", 4);
+    mCache.put("b", 4);
+    mCache.get("a");
+
+    mCache.put("c", 4);
+
+    assertNotNull(mCache.get("a"));
+    assertNull(mCache.get("b"));
+  }
+
+  @Test
+  public void put_replacingValue_updatesSize() {
+    mCache.put("a", 4);
+    mCache.put("a", 6);
+
+    assertEquals(6, mCache.size());
+    assertEquals(6, (int) mCache.get("a"));
+  }
+
+  @Test
+  public void put_valueLargerThanMaxSize_isNotKept() {
+    mCache.put("a", 4);
+    mCache.put("huge", 11);
+
+    assertNull(mCache.get("huge"));
+    assertNull(mCache.get("a"));
+    assertEquals(0, mCache.size());
+  }
+
+  @Test
+  public void trimToSize_evictsOldestFirst() {
+    mCache.put("a", 3);
+    mCache.put("b", 3);
+    mCache.put("c", 3);
+
+    mCache.trimToSize(5);
+
+    assertNull(mCache.get("a"));
+    assertNull(mCache.get("b"));
+    assertNotNull(mCache.get("c"));
+    assertEquals(3, mCache.size());
+  }
+
+  @Test
+  public void evictAll_emptiesCache() {
+    mCache.put("a", 3);
+    mCache.put("b", 3);
+
+    mCache.evictAll();
+
+    assertNull(mCache.get("a"));
+    assertEquals(0, mCache.size());
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class TraveledPathTrackerTest {
+  private static final int GENERATION = 3;
+
+  private final List<LatLng> mPath = createPath(5);
+
+  @Test
+  public void getSince_returnsPointsFromCursor() {
+    TraveledPathTracker.Slice slice =
+        TraveledPathTracker.getSince(mPath, 2, GENERATION, GENERATION);
+
+    assertEquals(mPath.subList(2, 5), slice.points);
+    assertEquals(2, slice.startIndex);
+    assertEquals(5, slice.getNextIndex());
+    assertEquals(GENERATION, slice.generation);
+    assertFalse(slice.isReset);
+  }
+
+  @Test
+  public void getSince_cursorAtEnd_returnsNoPoints() {
+    TraveledPathTracker.Slice slice =
+        TraveledPathTracker.getSince(mPath, 5, GENERATION, GENERATION);
+
+    assertTrue(slice.points.isEmpty());
+    assertEquals(5, slice.getNextIndex());
+    assertFalse(slice.isReset);
+  }
+
+  @Test
+  public void getSince_negativeIndex_returnsWholePath() {
+    TraveledPathTracker.Slice slice =
+        TraveledPathTracker.getSince(mPath, -4, GENERATION, GENERATION);
+
+    assertEquals(mPath, slice.points);
+    assertEquals(0, slice.startIndex);
+    assertFalse(slice.isReset);
+  }
+
+  @Test
+  public void getSince_indexPastShorterPath_resets() {
+    TraveledPathTracker.Slice slice =
+        TraveledPathTracker.getSince(mPath, 8, GENERATION, GENERATION);
+
+    assertEquals(mPath, slice.points);
+    assertEquals(0, slice.startIndex);
+    assertTrue(slice.isReset);
+  }
+
+  @Test
+  public void getSince_cursorFromEarlierGeneration_resetsEvenWithinPath() {
+    TraveledPathTracker.Slice slice =
+        TraveledPathTracker.getSince(mPath, 2, GENERATION - 1, GENERATION);
+
+    assertEquals(mPath, slice.points);
+    assertEquals(0, slice.startIndex);
+    assertEquals(GENERATION, slice.generation);
+    assertTrue(slice.isReset);
+  }
+
+  @Test
+  public void getSince_anyGeneration_onlyChecksIndex() {
+    TraveledPathTracker.Slice slice =
+        TraveledPathTracker.getSince(mPath, 2, TraveledPathTracker.ANY_GENERATION, GENERATION);
+
+    assertEquals(2, slice.startIndex);
+    assertEquals(GENERATION, slice.generation);
+    assertFalse(slice.isReset);
+  }
+
+  @Test
+  public void getSince_followingCursor_readsOnlyNewPoints() {
+    TraveledPathTracker.Slice first =
+        TraveledPathTracker.getSince(mPath.subList(0, 3), 0, GENERATION, GENERATION);
+    TraveledPathTracker.Slice second =
+        TraveledPathTracker.getSince(mPath, first.getNextIndex(), first.generation, GENERATION);
+
+    assertEquals(mPath.subList(3, 5), second.points);
+    assertFalse(second.isReset);
+  }
+
+  private static List<LatLng> createPath(int size) {
+    List<LatLng> path = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      path.add(new LatLng(i, i));
+    }
+    return path;
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.react.navsdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class WaypointParserTest {
+
+  @Test
+  public void parse_acceptsPlaceIdOrPosition() {
+    WaypointParser.Result result =
+        WaypointParser.parse(
+            JavaOnlyArray.of(
+                JavaOnlyMap.of("title", "Place", "placeId", "ChIJ123"),
+                JavaOnlyMap.of("position", JavaOnlyMap.of("lat", 10.0, "lng", 20.0)),
+                JavaOnlyMap.of("position", JavaOnlyMap.of("lat", "10.5", "lng", "20.5")),
+                JavaOnlyMap.of(
+                    "position",
+                    JavaOnlyMap.of("lat", 1.0, "lng", 2.0),
+                    "preferredHeading",
+                    90.0,
+                    "vehicleStopover",
+                    true)));
+
+    assertEquals(4, result.waypoints.size());
+    assertFalse(result.hasErrors());
+  }
+
+  @Test
+  public void parse_skipsMalformedWaypointsWithIndexedErrors() {
+    JavaOnlyMap valid = JavaOnlyMap.of("position", JavaOnlyMap.of("lat", 1.0, "lng", 2.0));
+    JavaOnlyMap noLocation = JavaOnlyMap.of("title", "Nowhere");
+    JavaOnlyMap emptyPlaceId = JavaOnlyMap.of("placeId", "");
+    JavaOnlyMap nullPosition = JavaOnlyMap.of("position", null);
+    JavaOnlyMap missingLng = JavaOnlyMap.of("position", JavaOnlyMap.of("lat", 1.0));
+    JavaOnlyMap badLat = JavaOnlyMap.of("position", JavaOnlyMap.of("lat", "north", "lng", 2.0));
+    JavaOnlyMap badHeading =
+        JavaOnlyMap.of("position", valid.getMap("position"), "preferredHeading", "up");
+
+    WaypointParser.Result result =
+        WaypointParser.parse(
+            JavaOnlyArray.of(
+                "waypoint",
+                noLocation,
+                emptyPlaceId,
+                nullPosition,
+                missingLng,
+                badLat,
+                badHeading,
+                valid));
+
+    assertEquals(1, result.waypoints.size());
+    assertEquals(
+        Arrays.asList(
+            "Waypoint 0: Waypoint has to be an object",
+            "Waypoint 1: Either a place ID or a position has to be set",
+            "Waypoint 2: Either a place ID or a position has to be set",
+            "Waypoint 3: Either a place ID or a position has to be set",
+            "Waypoint 4: Either a place ID or a position has to be set",
+            "Waypoint 5: Position has to have numeric lat and lng",
+            "Waypoint 6: Preferred heading has to be a number"),
+        result.errors);
+  }
+
+  @Test
+  public void parse_emptyList() {
+    WaypointParser.Result result = WaypointParser.parse(JavaOnlyArray.of());
+
+    assertTrue(result.waypoints.isEmpty());
+    assertFalse(result.hasErrors());
+  }
+
+  @Test
+  public void getString_ignoresOtherTypes() {
+    JavaOnlyMap map = JavaOnlyMap.of("title", 5.0, "placeId", null, "id", "a");
+
+    assertNull(WaypointParser.getString(map, "title"));
+    assertNull(WaypointParser.getString(map, "placeId"));
+    assertNull(WaypointParser.getString(map, "missing"));
+    assertEquals("a", WaypointParser.getString(map, "id"));
+  }
+
+  @Test
+  public void getDouble_acceptsNumbersAndNumericStrings() {
+    JavaOnlyMap map = JavaOnlyMap.of("number", 1.5, "string", "2.5", "text", "x", "flag", true);
+
+    assertEquals(1.5, WaypointParser.getDouble(map, "number"), 0);
+    assertEquals(2.5, WaypointParser.getDouble(map, "string"), 0);
+    assertNull(WaypointParser.getDouble(map, "text"));
+    assertNull(WaypointParser.getDouble(map, "flag"));
+  }
+}
@@ -41,9 +41,12 @@ import com.google.android.libraries.mapsplatform.turnbyturn.model.NavInfo;
 import com.google.android.libraries.mapsplatform.turnbyturn.model.StepInfo;
 import com.google.android.react.navsdk.AndroidAutoBaseScreen;
 import com.google.android.react.navsdk.NavInfoReceivingService;
+import com.google.android.react.navsdk.StepInfoCache;
 
 public class SampleAndroidAutoScreen extends AndroidAutoBaseScreen {
   protected RoutingInfo mNavInfo;
+  // Steps are only rebuilt when they change, not on every nav info update.
+  private final StepInfoCache<Step> mStepCache = new StepInfoCache<>(this::buildStepFromStepInfo);
 
   public SampleAndroidAutoScreen(@NonNull CarContext carContext) {
     super(carContext);
@@ -61,7 +64,8 @@ public class SampleAndroidAutoScreen extends AndroidAutoBaseScreen {
      * Converts data received from the Navigation data feed into Android-Auto compatible data
      * structures.
      */
-    Step currentStep = buildStepFromStepInfo(navInfo.getCurrentStep());
+    mStepCache.onNavInfo(navInfo);
+    Step currentStep = mStepCache.get(navInfo.getCurrentStep());
     Distance distanceToStep =
         Distance.create(max(navInfo.getDistanceToCurrentStepMeters(), 0), Distance.UNIT_METERS);
 
@@ -14,9 +14,10 @@
  * limitations under the License.
  */
 
-import { NativeModules } from 'react-native';
+import { NativeModules, Platform } from 'react-native';
 import type { MapViewAutoController, NavigationAutoCallbacks } from './types';
 import { useModuleListeners, type Location } from '../shared';
+import { addOverlaysOneByOne } from '../shared/overlays';
 import type {
   MapType,
   CircleOptions,
@@ -30,6 +31,9 @@ import type {
   CameraPosition,
   UISettings,
   Padding,
+  ClusterItem,
+  ClusterOptions,
+  ViewportCullingOptions,
 } from '../maps';
 import { useMemo } from 'react';
 
@@ -101,6 +105,63 @@ export const useNavigationAuto = (): {
         });
       },
 
+      addCircles: async (
+        circleOptions: CircleOptions[]
+      ): Promise<(string | null)[]> => {
+        if (Platform.OS === 'android') {
+          return await NavAutoModule.addCircles(circleOptions);
+        }
+        return await addOverlaysOneByOne(
+          circleOptions,
+          NavAutoModule.addCircle
+        );
+      },
+
+      addMarkers: async (
+        markerOptions: MarkerOptions[]
+      ): Promise<(string | null)[]> => {
+        if (Platform.OS === 'android') {
+          return await NavAutoModule.addMarkers(markerOptions);
+        }
+        return await addOverlaysOneByOne(
+          markerOptions,
+          NavAutoModule.addMarker
+        );
+      },
+
+      addPolylines: async (
+        polylineOptions: PolylineOptions[]
+      ): Promise<(string | null)[]> => {
+        const nativeOptions = polylineOptions.map(options => ({
+          ...options,
+          points: options.points || [],
+        }));
+        if (Platform.OS === 'android') {
+          return await NavAutoModule.addPolylines(nativeOptions);
+        }
+        return await addOverlaysOneByOne(
+          nativeOptions,
+          NavAutoModule.addPolyline
+        );
+      },
+
+      addPolygons: async (
+        polygonOptions: PolygonOptions[]
+      ): Promise<(string | null)[]> => {
+        const nativeOptions = polygonOptions.map(options => ({
+          ...options,
+          holes: options.holes || [],
+          points: options.points || [],
+        }));
+        if (Platform.OS === 'android') {
+          return await NavAutoModule.addPolygons(nativeOptions);
+        }
+        return await addOverlaysOneByOne(
+          nativeOptions,
+          NavAutoModule.addPolygon
+        );
+      },
+
       removeMarker: (id: string) => {
         return NavAutoModule.removeMarker(id);
       },
@@ -117,6 +178,65 @@ export const useNavigationAuto = (): {
         return NavAutoModule.removeCircle(id);
       },
 
+      removeMarkers: (ids: string[]) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.removeMarkers(ids);
+          return;
+        }
+        ids.forEach(id => NavAutoModule.removeMarker(id));
+      },
+
+      removePolylines: (ids: string[]) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.removePolylines(ids);
+          return;
+        }
+        ids.forEach(id => NavAutoModule.removePolyline(id));
+      },
+
+      removePolygons: (ids: string[]) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.removePolygons(ids);
+          return;
+        }
+        ids.forEach(id => NavAutoModule.removePolygon(id));
+      },
+
+      removeCircles: (ids: string[]) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.removeCircles(ids);
+          return;
+        }
+        ids.forEach(id => NavAutoModule.removeCircle(id));
+      },
+
+      removeOverlaysWithTag: (tag: string) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.removeOverlaysWithTag(tag);
+        }
+      },
+
+      setClusterItems: (items: ClusterItem[], options?: ClusterOptions) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.setClusterItems(items, options ?? null);
+        }
+      },
+
+      clearClusterItems: () => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.clearClusterItems();
+        }
+      },
+
+      setViewportCullingEnabled: (
+        isOn: boolean,
+        options?: ViewportCullingOptions
+      ) => {
+        if (Platform.OS === 'android') {
+          NavAutoModule.setViewportCullingEnabled(isOn, options ?? null);
+        }
+      },
+
       setIndoorEnabled: (isOn: boolean) => {
         return NavAutoModule.setIndoorEnabled(isOn);
       },
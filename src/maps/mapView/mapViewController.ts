@@ -14,7 +14,9 @@
  * limitations under the License.
  */
 
-import { NativeModules } from 'react-native';
+import { NativeModules, Platform } from 'react-native';
+import { addOverlaysOneByOne } from '../../shared/overlays';
+import { decodePolyline } from '../../shared/polyline';
 import type { Location } from '../../shared/types';
 import { commands, sendCommand } from '../../shared/viewManager';
 import type {
@@ -27,15 +29,39 @@ import type {
 } from '../types';
 import type {
   CircleOptions,
+  ClusterItem,
+  ClusterOptions,
   MapType,
   MapViewController,
   MarkerOptions,
   Padding,
   PolygonOptions,
   PolylineOptions,
+  ViewportCullingOptions,
 } from './types';
 const { NavViewModule } = NativeModules;
 
+const toNativePolylineOptions = (
+  polylineOptions: PolylineOptions
+): PolylineOptions => {
+  // The iOS module only accepts points, so encoded paths are decoded here.
+  const points =
+    Platform.OS === 'ios' && polylineOptions.encodedPath
+      ? decodePolyline(polylineOptions.encodedPath)
+      : polylineOptions.points;
+  return { ...polylineOptions, points: points || [] };
+};
+
+const toNativePolygonOptions = (
+  polygonOptions: PolygonOptions
+): PolygonOptions => {
+  return {
+    ...polygonOptions,
+    holes: polygonOptions.holes || [],
+    points: polygonOptions.points || [],
+  };
+};
+
 export const getMapViewController = (viewId: number): MapViewController => {
   return {
     setMapType: (mapType: MapType) => {
@@ -62,18 +88,63 @@ export const getMapViewController = (viewId: number): MapViewController => {
     addPolyline: async (
       polylineOptions: PolylineOptions
     ): Promise<Polyline> => {
-      return await NavViewModule.addPolyline(viewId, {
-        ...polylineOptions,
-        points: polylineOptions.points || [],
-      });
+      return await NavViewModule.addPolyline(
+        viewId,
+        toNativePolylineOptions(polylineOptions)
+      );
     },
 
     addPolygon: async (polygonOptions: PolygonOptions): Promise<Polygon> => {
-      return await NavViewModule.addPolygon(viewId, {
-        ...polygonOptions,
-        holes: polygonOptions.holes || [],
-        points: polygonOptions.points || [],
-      });
+      return await NavViewModule.addPolygon(
+        viewId,
+        toNativePolygonOptions(polygonOptions)
+      );
+    },
+
+    addCircles: async (
+      circleOptions: CircleOptions[]
+    ): Promise<(string | null)[]> => {
+      if (Platform.OS === 'android') {
+        return await NavViewModule.addCircles(viewId, circleOptions);
+      }
+      return await addOverlaysOneByOne(circleOptions, options =>
+        NavViewModule.addCircle(viewId, options)
+      );
+    },
+
+    addMarkers: async (
+      markerOptions: MarkerOptions[]
+    ): Promise<(string | null)[]> => {
+      if (Platform.OS === 'android') {
+        return await NavViewModule.addMarkers(viewId, markerOptions);
+      }
+      return await addOverlaysOneByOne(markerOptions, options =>
+        NavViewModule.addMarker(viewId, options)
+      );
+    },
+
+    addPolylines: async (
+      polylineOptions: PolylineOptions[]
+    ): Promise<(string | null)[]> => {
+      const nativeOptions = polylineOptions.map(toNativePolylineOptions);
+      if (Platform.OS === 'android') {
+        return await NavViewModule.addPolylines(viewId, nativeOptions);
+      }
+      return await addOverlaysOneByOne(nativeOptions, options =>
+        NavViewModule.addPolyline(viewId, options)
+      );
+    },
+
+    addPolygons: async (
+      polygonOptions: PolygonOptions[]
+    ): Promise<(string | null)[]> => {
+      const nativeOptions = polygonOptions.map(toNativePolygonOptions);
+      if (Platform.OS === 'android') {
+        return await NavViewModule.addPolygons(viewId, nativeOptions);
+      }
+      return await addOverlaysOneByOne(nativeOptions, options =>
+        NavViewModule.addPolygon(viewId, options)
+      );
     },
 
     removeMarker: (id: string) => {
@@ -92,6 +163,65 @@ export const getMapViewController = (viewId: number): MapViewController => {
       sendCommand(viewId, commands.removeCircle, [id]);
     },
 
+    removeMarkers: (ids: string[]) => {
+      if (Platform.OS === 'android') {
+        NavViewModule.removeMarkers(viewId, ids);
+        return;
+      }
+      ids.forEach(id => sendCommand(viewId, commands.removeMarker, [id]));
+    },
+
+    removePolylines: (ids: string[]) => {
+      if (Platform.OS === 'android') {
+        NavViewModule.removePolylines(viewId, ids);
+        return;
+      }
+      ids.forEach(id => sendCommand(viewId, commands.removePolyline, [id]));
+    },
+
+    removePolygons: (ids: string[]) => {
+      if (Platform.OS === 'android') {
+        NavViewModule.removePolygons(viewId, ids);
+        return;
+      }
+      ids.forEach(id => sendCommand(viewId, commands.removePolygon, [id]));
+    },
+
+    removeCircles: (ids: string[]) => {
+      if (Platform.OS === 'android') {
+        NavViewModule.removeCircles(viewId, ids);
+        return;
+      }
+      ids.forEach(id => sendCommand(viewId, commands.removeCircle, [id]));
+    },
+
+    removeOverlaysWithTag: (tag: string) => {
+      if (Platform.OS === 'android') {
+        sendCommand(viewId, commands.removeOverlaysWithTag, [tag]);
+      }
+    },
+
+    setClusterItems: (items: ClusterItem[], options?: ClusterOptions) => {
+      if (Platform.OS === 'android') {
+        NavViewModule.setClusterItems(viewId, items, options ?? null);
+      }
+    },
+
+    clearClusterItems: () => {
+      if (Platform.OS === 'android') {
+        NavViewModule.clearClusterItems(viewId);
+      }
+    },
+
+    setViewportCullingEnabled: (
+      isOn: boolean,
+      options?: ViewportCullingOptions
+    ) => {
+      if (Platform.OS === 'android') {
+        NavViewModule.setViewportCullingEnabled(viewId, isOn, options ?? null);
+      }
+    },
+
     setIndoorEnabled: (isOn: boolean) => {
       sendCommand(viewId, commands.setIndoorEnabled, [isOn]);
     },
@@ -14,7 +14,11 @@
  * limitations under the License.
  */
 
-import type { LatLng, Location } from '../../shared/types';
+import type {
+  LatLng,
+  Location,
+  SimplificationOptions,
+} from '../../shared/types';
 import type {
   CameraPosition,
   Circle,
@@ -43,6 +47,11 @@ export interface CircleOptions {
   clickable?: boolean;
   /** Defines whether the circle should be rendered (displayed) in GoogleMap */
   visible?: boolean;
+  /**
+   * Tag grouping the overlay with others, e.g. the stops of a route, so they
+   * can be removed together with removeOverlaysWithTag. Android only.
+   */
+  tag?: string;
 }
 
 /**
@@ -53,6 +62,10 @@ export interface MarkerOptions {
   position: LatLng;
   /** Path to a local image asset that should be displayed in the marker instead of using the default marker pin. */
   imgPath?: string;
+  /** Color the image of imgPath is tinted with, keeping its transparency. The color in hex format (ie. #RRGGBB). Android only. */
+  imgTintColor?: string;
+  /** Factor the image of imgPath is scaled by. Defaults to 1. Android only. */
+  imgScale?: number;
   /** A text string that's displayed in an info window when the user taps the marker. You can change this value at any time. */
   title?: string;
   /** Additional text that's displayed below the title. You can change this value at any time. */
@@ -67,6 +80,11 @@ export interface MarkerOptions {
   flat?: boolean;
   /** Indicates the visibility of the polygon. True by default. */
   visible?: boolean;
+  /**
+   * Tag grouping the overlay with others, e.g. the stops of a route, so they
+   * can be removed together with removeOverlaysWithTag. Android only.
+   */
+  tag?: string;
 }
 
 /**
@@ -89,6 +107,11 @@ export interface PolygonOptions {
   clickable?: boolean;
   /** Indicates the visibility of the polygon. True by default. */
   visible?: boolean;
+  /**
+   * Tag grouping the overlay with others, e.g. the stops of a route, so they
+   * can be removed together with removeOverlaysWithTag. Android only.
+   */
+  tag?: string;
 }
 
 /**
@@ -96,7 +119,14 @@ export interface PolygonOptions {
  */
 export interface PolylineOptions {
   /** An array of LatLngs that are the vertices of the polyline. */
-  points: LatLng[];
+  points?: LatLng[];
+  /**
+   * The vertices of the polyline as a Google encoded polyline string, used
+   * instead of points when set. Much cheaper to pass than points for long paths.
+   */
+  encodedPath?: string;
+  /** Simplification applied to the path before drawing it. Android only. */
+  simplification?: SimplificationOptions;
   /** The color of this polyline. The color in hex format (ie. #RRGGBB). */
   color?: string;
   /** The width of the stroke of the polyline. The width is defined in pixels. */
@@ -105,6 +135,52 @@ export interface PolylineOptions {
   clickable?: boolean;
   /** Indicates the visibility of the polyline. True by default. */
   visible?: boolean;
+  /**
+   * Tag grouping the overlay with others, e.g. the stops of a route, so they
+   * can be removed together with removeOverlaysWithTag. Android only.
+   */
+  tag?: string;
+}
+
+/**
+ * Defines a point shown with clustering, see setClusterItems.
+ */
+export interface ClusterItem {
+  /** Id of the point, reported as the id of its marker when it is clicked. */
+  id: string;
+  /** The LatLng value for the point's position on the map. */
+  position: LatLng;
+  /** A text string that's displayed in an info window when the user taps the marker. */
+  title?: string;
+  /** Additional text that's displayed below the title. */
+  snippet?: string;
+  /** Path to a local image asset that should be displayed in the marker instead of using the default marker pin. */
+  imgPath?: string;
+}
+
+/**
+ * Defines how points are grouped into clusters.
+ */
+export interface ClusterOptions {
+  /** Size of the area on screen whose points are grouped into one cluster, in dp. Defaults to 80. */
+  cellSize?: number;
+  /** Highest zoom level points are clustered at, they are all shown as markers past it. Defaults to 16. */
+  maxClusterZoom?: number;
+  /** Fewest points shown as a cluster, fewer are shown as markers. Defaults to 4. */
+  minClusterSize?: number;
+  /** The color of the cluster markers. The color in hex format (ie. #RRGGBB). */
+  clusterColor?: string;
+}
+
+/**
+ * Defines which overlays are added to the map when viewport culling is
+ * enabled.
+ */
+export interface ViewportCullingOptions {
+  /** Fraction of the visible region added on each side, overlays within it are added to the map. Defaults to 0.5. */
+  margin?: number;
+  /** Fraction of the visible region added on each side, overlays outside of it are removed from the map. Kept at least as large as margin so panning back and forth doesn't add and remove overlays repeatedly. Defaults to 1. */
+  keepMargin?: number;
 }
 
 /**
@@ -256,6 +332,44 @@ export interface MapViewController {
 
   addPolygon(polygonOptions: PolygonOptions): Promise<Polygon>;
 
+  /**
+   * Adds circles to the map in one go. On Android the options are read off
+   * the UI thread and the circles are added in a single UI thread task, which
+   * is much faster than adding them one by one.
+   *
+   * @param circleOptions - Options of each circle.
+   * @returns the ids of the circles, in the order of the options, with null
+   * for the ones that couldn't be added.
+   */
+  addCircles(circleOptions: CircleOptions[]): Promise<(string | null)[]>;
+
+  /**
+   * Adds markers to the map in one go, see addCircles.
+   *
+   * @param markerOptions - Options of each marker.
+   * @returns the ids of the markers, null for the ones that couldn't be added.
+   */
+  addMarkers(markerOptions: MarkerOptions[]): Promise<(string | null)[]>;
+
+  /**
+   * Adds polylines to the map in one go, see addCircles.
+   *
+   * @param polylineOptions - Options of each polyline.
+   * @returns the ids of the polylines, null for the ones that couldn't be
+   * added.
+   */
+  addPolylines(
+    polylineOptions: PolylineOptions[]
+  ): Promise<(string | null)[]>;
+
+  /**
+   * Adds polygons to the map in one go, see addCircles.
+   *
+   * @param polygonOptions - Options of each polygon.
+   * @returns the ids of the polygons, null for the ones that couldn't be added.
+   */
+  addPolygons(polygonOptions: PolygonOptions[]): Promise<(string | null)[]>;
+
   /**
    * Removes a marker from the map.
    *
@@ -284,6 +398,76 @@ export interface MapViewController {
    */
   removeCircle(id: string): void;
 
+  /**
+   * Removes markers from the map in one go.
+   *
+   * @param ids - Ids of the markers.
+   */
+  removeMarkers(ids: string[]): void;
+
+  /**
+   * Removes polylines from the map in one go.
+   *
+   * @param ids - Ids of the polylines.
+   */
+  removePolylines(ids: string[]): void;
+
+  /**
+   * Removes polygons from the map in one go.
+   *
+   * @param ids - Ids of the polygons.
+   */
+  removePolygons(ids: string[]): void;
+
+  /**
+   * Removes circles from the map in one go.
+   *
+   * @param ids - Ids of the circles.
+   */
+  removeCircles(ids: string[]): void;
+
+  /**
+   * Removes the overlays of every type added with the tag. Only available in
+   * Android, it's a NO-OP for iOS.
+   *
+   * @param tag - The tag the overlays were added with.
+   */
+  removeOverlaysWithTag(tag: string): void;
+
+  /**
+   * Shows the points on the map with clustering, replacing the previously set
+   * ones. Points close to each other on screen are grouped into a marker with
+   * their count, tapping it zooms in on them. Only the markers in the visible
+   * region are added to the map, which makes it suited for thousands of
+   * points. Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param items - The points to show.
+   * @param options - How the points are grouped into clusters.
+   */
+  setClusterItems(items: ClusterItem[], options?: ClusterOptions): void;
+
+  /**
+   * Removes the points shown with setClusterItems. Only available in Android,
+   * it's a NO-OP for iOS.
+   */
+  clearClusterItems(): void;
+
+  /**
+   * Enables or disables viewport culling of the overlays added with
+   * addMarkers, addPolylines, addPolygons and addCircles. When enabled, they
+   * are kept natively and only added to the map while they are near the
+   * visible region, so large sets of overlays only cost what is on screen.
+   * Overlays added before keep being shown the way they were added. Only
+   * available in Android, it's a NO-OP for iOS.
+   *
+   * @param isOn - Whether overlays added from now on are culled.
+   * @param options - The regions overlays are added in and removed outside of.
+   */
+  setViewportCullingEnabled(
+    isOn: boolean,
+    options?: ViewportCullingOptions
+  ): void;
+
   /**
    * Enable or disable the indoor map layer.
    *
@@ -66,6 +66,8 @@ export interface Polygon {
   zIndex?: number;
   /** Indicates whether the segments of the polygon should be drawn as geodesics, as opposed to straight lines on the Mercator projection. A geodesic is the shortest path between two points on the Earth's surface. The geodesic curve is constructed assuming the Earth is a sphere. */
   isGeodesic?: boolean;
+  /** Tag the overlay was added with. Android only. */
+  tag?: string;
 }
 
 /**
@@ -86,6 +88,8 @@ export interface Circle {
   radius?: number;
   /** The zIndex of the circle. */
   zIndex?: number;
+  /** Tag the overlay was added with. Android only. */
+  tag?: string;
 }
 
 /**
@@ -94,6 +98,8 @@ export interface Circle {
 export interface GroundOverlay {
   /** Id of the ground overlay. The id will be unique amongst all ground overlays on a map. */
   id: string;
+  /** Tag the overlay was added with. Android only. */
+  tag?: string;
 }
 
 /**
@@ -116,6 +122,8 @@ export interface Marker {
   snippet?: string;
   /** The zIndex of the marker. */
   zIndex?: number;
+  /** Tag the overlay was added with. Android only. */
+  tag?: string;
 }
 
 /**
@@ -134,6 +142,8 @@ export interface Polyline {
   jointType?: number;
   /** The zIndex of the polyline. */
   zIndex?: number;
+  /** Tag the overlay was added with. Android only. */
+  tag?: string;
 }
 
 /**
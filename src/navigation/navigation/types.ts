@@ -14,10 +14,16 @@
  * limitations under the License.
  */
 
-import type { LatLng, Location } from '../../shared/types';
+import type {
+  LatLng,
+  Location,
+  SimplificationOptions,
+} from '../../shared/types';
+import type { PackedLocations } from '../../shared/packedLocations';
 import type {
   AlternateRoutingStrategy,
   AudioGuidance,
+  GeometryFormat,
   NavigationInitErrorCode,
   RouteSegment,
   RouteStatus,
@@ -124,6 +130,350 @@ export interface ArrivalEvent {
   isFinalDestination?: boolean;
 }
 
+/**
+ * Thresholds controlling how often onRemainingTimeOrDistanceChanged is emitted.
+ * Android only.
+ */
+export interface RemainingTimeOrDistanceThresholds {
+  /** Minimum change in remaining time, in seconds, before an update is emitted. */
+  timeChangeThresholdSeconds?: number;
+  /** Minimum change in remaining distance, in meters, before an update is emitted. */
+  distanceChangeThresholdMeters?: number;
+  /**
+   * When true, the near destination thresholds are used once the remaining
+   * distance falls under nearDestinationMeters.
+   */
+  adaptive?: boolean;
+  /** Remaining distance under which the destination is considered near. Defaults to 2000. */
+  nearDestinationMeters?: number;
+  /** Time threshold used near the destination. Defaults to 0. */
+  nearTimeChangeThresholdSeconds?: number;
+  /** Distance threshold used near the destination. Defaults to 0. */
+  nearDistanceChangeThresholdMeters?: number;
+}
+
+/**
+ * Filter applied to a location stream before fixes are sent to JS. A fix is
+ * delivered once minIntervalMs has elapsed since the last delivered fix and it
+ * moved at least the minimum distance or turned at least
+ * minBearingChangeDegrees. The minimum distance scales with the speed, it is
+ * the larger of minDistanceMeters and the speed times
+ * minDistanceSpeedFactorSeconds. When the speed is under stationarySpeedMps,
+ * fixes are delivered every stationaryIntervalMs instead. All values default
+ * to 0, delivering every fix.
+ */
+export interface LocationFilterOptions {
+  /** Minimum time between delivered fixes, in milliseconds. */
+  minIntervalMs?: number;
+  /** Minimum distance moved since the last delivered fix, in meters. */
+  minDistanceMeters?: number;
+  /**
+   * Seconds of travel at the current speed the device must have covered
+   * since the last delivered fix. At 20 m/s, a value of 2 requires 40 meters.
+   * Only raises the minimum distance above minDistanceMeters.
+   */
+  minDistanceSpeedFactorSeconds?: number;
+  /** Minimum bearing change since the last delivered fix, in degrees. */
+  minBearingChangeDegrees?: number;
+  /** Speed, in meters per second, under which the device is considered stationary. */
+  stationarySpeedMps?: number;
+  /** Time between delivered fixes while stationary, in milliseconds. */
+  stationaryIntervalMs?: number;
+}
+
+/** Filters of the road-snapped and raw location streams. Android only. */
+export interface LocationStreamFilterOptions {
+  /** Filter applied to onLocationChanged and onPackedLocationsChanged. */
+  roadSnapped?: LocationFilterOptions;
+  /** Filter applied to onRawLocationChanged and onPackedRawLocationsChanged. */
+  raw?: LocationFilterOptions;
+}
+
+/** Outcome of a setDestination or setDestinations request. */
+export interface RouteRequestResult {
+  /** Status of the route calculation. */
+  routeStatus: RouteStatus;
+  /** Time between the request and its result, in milliseconds. */
+  latencyMs: number;
+  /** Errors of the waypoints that were skipped because they were invalid. Android only. */
+  waypointErrors?: string[];
+}
+
+/**
+ * Points of the traveled path starting at startIndex, in the requested
+ * GeometryFormat.
+ */
+export interface TraveledPathSlice<Points = LatLng[]> {
+  /** The traveled points, from startIndex on. */
+  points: Points;
+  /** Index of the first point in the whole traveled path. */
+  startIndex: number;
+  /** Index to pass to getTraveledPathSince to read the following points. */
+  nextIndex: number;
+  /**
+   * Generation of the traveled path, to pass to getTraveledPathSince along
+   * with nextIndex. It changes when destinations are set or cleared and when
+   * guidance starts. Always 0 on iOS.
+   */
+  generation: number;
+  /**
+   * True if the traveled path was reset since the given cursor, e.g. after new
+   * destinations were set. The slice then holds the new path from the start.
+   */
+  isReset: boolean;
+}
+
+/** Options of the onTraveledPathUpdated event. Android only. */
+export interface TraveledPathUpdateOptions {
+  /** How often the traveled path is checked for new points. Defaults to 5000. */
+  intervalMs?: number;
+  /** Format of the points, GeometryFormat.LAT_LNG_LIST by default. */
+  geometryFormat?: GeometryFormat;
+}
+
+/** A point of interest tracked along the route. */
+export interface AlongRoutePoi {
+  /** Identifies the point in onUpcomingPoisChanged. */
+  id: string;
+  /** Position of the point. */
+  position: LatLng;
+}
+
+/** A point of interest ahead on the route. */
+export interface UpcomingPoi {
+  /** Id of the AlongRoutePoi. */
+  id: string;
+  /** Distance along the route from the current location, in meters. */
+  distanceMeters: number;
+  /** Distance between the point and the route, in meters. */
+  offsetMeters: number;
+}
+
+/** Options of the onUpcomingPoisChanged event. Android only. */
+export interface AlongRoutePoiOptions {
+  /**
+   * Maximum distance between a point and the route for the point to be
+   * reported. Also the maximum distance of the current location from the
+   * route. Defaults to 100 meters.
+   */
+  maxOffsetMeters?: number;
+  /** Maximum number of points reported. Defaults to 5. */
+  maxCount?: number;
+  /** Minimum time between updates, in milliseconds. Defaults to 1000. */
+  updateIntervalMs?: number;
+}
+
+/**
+ * A circular or polygonal geofence. Either center and radiusMeters or polygon
+ * has to be set.
+ */
+export interface Geofence {
+  /** Identifies the geofence in onGeofenceTransitions. */
+  id: string;
+  /** Center of a circular geofence. */
+  center?: LatLng;
+  /** Radius of a circular geofence, in meters. */
+  radiusMeters?: number;
+  /** Vertices of a polygonal geofence, at least 3. */
+  polygon?: LatLng[];
+  /**
+   * Time after entering the geofence at which a DWELL transition is reported,
+   * in milliseconds. No DWELL transition is reported if not set.
+   */
+  dwellTimeMs?: number;
+}
+
+/** Defines the transitions reported for geofences. */
+export enum GeofenceTransition {
+  /** The location entered the geofence. */
+  ENTER = 0,
+  /** The location exited the geofence. */
+  EXIT,
+  /** The location stayed in the geofence for its dwell time. */
+  DWELL,
+}
+
+/** A transition of a geofence. */
+export interface GeofenceTransitionEvent {
+  /** Id of the geofence. */
+  id: string;
+  /** The transition. */
+  transition: GeofenceTransition;
+}
+
+/** Result of adding geofences. */
+export interface AddGeofencesResult {
+  /** Errors of the geofences that were skipped because they were invalid. */
+  errors: string[];
+}
+
+/** Distance to a waypoint ahead on the current route. */
+export interface WaypointDistance {
+  /**
+   * Index of the waypoint among the waypoints of the current route, in route
+   * order.
+   */
+  index: number;
+  /** Distance along the route to the waypoint, in meters. */
+  distanceMeters: number;
+}
+
+/** Progress along the current route, see onRouteProgress. */
+export interface RouteProgress {
+  /** Distance along the route since it was last calculated, in meters. */
+  distanceTraveledMeters: number;
+  /** Distance left to the final destination, in meters. */
+  distanceRemainingMeters: number;
+  /** Fraction of the route completed, between 0 and 1. */
+  fractionComplete: number;
+  /** Distance between the location and the route, null while off route. */
+  crossTrackErrorMeters: number | null;
+  /**
+   * Distance along the route to each waypoint ahead, in route order. Passed
+   * waypoints are left out, the index of each entry identifies its waypoint.
+   */
+  waypointDistances: WaypointDistance[];
+  /**
+   * True if the location is farther from the route than
+   * maxCrossTrackErrorMeters. The progress is then where the route was left.
+   */
+  isOffRoute: boolean;
+}
+
+/** Options of the onRouteProgress event. Android only. */
+export interface RouteProgressOptions {
+  /** Minimum time between updates, in milliseconds. Defaults to 1000. */
+  updateIntervalMs?: number;
+  /**
+   * Distance from the route beyond which the location is considered off
+   * route. Defaults to 200 meters.
+   */
+  maxCrossTrackErrorMeters?: number;
+}
+
+/** A piece of the navigation state that can be read with getNavigationSnapshot. */
+export type NavigationSnapshotField =
+  | 'timeAndDistance'
+  | 'currentRouteSegment'
+  | 'routeSegments'
+  | 'traveledPath'
+  | 'turnByTurn';
+
+/** Options of getNavigationSnapshot. */
+export interface NavigationSnapshotOptions {
+  /** Format of the segment paths and the traveled path, LAT_LNG_LIST by default. */
+  geometryFormat?: GeometryFormat;
+  /** Simplification of the segment paths and the traveled path. Android only. */
+  simplification?: SimplificationOptions;
+}
+
+/**
+ * The navigation state read by getNavigationSnapshot. Only the requested
+ * fields are set.
+ */
+export interface NavigationSnapshot {
+  timeAndDistance?: TimeAndDistance | null;
+  currentRouteSegment?: RouteSegment | null;
+  routeSegments?: RouteSegment[];
+  /** The traveled path, in the requested geometry format. */
+  traveledPath?: LatLng[] | string | number[];
+  /**
+   * The last turn-by-turn update in full, null unless turn-by-turn logging is
+   * enabled and an update was received. Always null on iOS.
+   */
+  turnByTurn?: TurnByTurnEvent | null;
+  /**
+   * Time turnByTurn was received, in milliseconds since the epoch. The other
+   * fields are read when the snapshot is taken, while turnByTurn is the last
+   * update received and may be older. Null when turnByTurn is null.
+   */
+  turnByTurnTimestamp?: number | null;
+  /** Time the snapshot was taken, in milliseconds since the epoch. */
+  timestamp: number;
+}
+
+/** Options of the turn-by-turn logging. Android only. */
+export interface TurnByTurnLoggingOptions {
+  /**
+   * Maximum number of upcoming steps carried by each turn-by-turn update.
+   * Smaller values reduce the update size. Steps seen in earlier updates stay
+   * available through getRemainingSteps, which tells whether the itinerary is
+   * complete. Defaults to all remaining steps.
+   */
+  numNextStepsToPreview?: number;
+}
+
+/** A single step of the route, as forwarded by turn-by-turn updates. */
+export interface StepInfo {
+  distanceFromPrevStepMeters: number;
+  timeFromPrevStepSeconds: number;
+  drivingSide: number;
+  stepNumber: number;
+  maneuver: number;
+  roundaboutTurnNumber: number;
+  exitNumber?: string;
+  fullRoadName?: string;
+  instruction?: string;
+}
+
+/** A page of the remaining steps of the current route. */
+export interface RemainingStepsPage {
+  /** Total number of remaining steps known. */
+  totalCount: number;
+  /**
+   * Whether every remaining step of the route is known. With
+   * numNextStepsToPreview set, steps past the preview are only known once they
+   * enter it, e.g. after a reroute.
+   */
+  isComplete: boolean;
+  /** The requested steps, ordered by step number. */
+  steps: StepInfo[];
+}
+
+/** Options of the onTurnByTurn event. Android only. */
+export interface TurnByTurnEventOptions {
+  /**
+   * When true, the native module only sends the fields that changed since the
+   * previous update and resends the steps only when the route or the current
+   * step changes. Updates are merged before reaching the callbacks, so they
+   * still receive the complete state. Defaults to false.
+   */
+  deltaEncoding?: boolean;
+}
+
+/** Options controlling how navigation events are delivered to JS. Android only. */
+export interface EventBatchingOptions {
+  /** Whether events are queued and delivered in batches. Defaults to true. */
+  enabled?: boolean;
+  /**
+   * Interval between deliveries in milliseconds. When 0 or omitted, queued
+   * events are delivered once per display frame.
+   */
+  flushIntervalMs?: number;
+  /**
+   * Maximum number of pending events. Once reached, pending location and
+   * other latest-value events are dropped to make room first. Events such as
+   * arrival or route status are only dropped, oldest first, when the queue is
+   * full of them, see `EventQueueStats.overflowedEvents`. Defaults to 256.
+   */
+  maxQueueSize?: number;
+}
+
+/** Counters of the native event queue. Android only. */
+export interface EventQueueStats {
+  /** Events dropped because they were superseded or the queue was full. */
+  droppedEvents: number;
+  /** Events dropped because an identical event was already pending. */
+  collapsedEvents: number;
+  /**
+   * Events such as arrival or route status that were dropped because the
+   * queue was full of them. Also counted in `droppedEvents`.
+   */
+  overflowedEvents: number;
+  /** Events currently waiting to be delivered. */
+  queuedEvents: number;
+}
+
 /** Options to be used inside the Simulator. */
 export interface LocationSimulationOptions {
   /** The speed the vehicle will be moving in the simulated route */
@@ -172,6 +522,60 @@ export interface NavigationCallbacks {
    */
   onRawLocationChanged?(location: Location): void;
 
+  /**
+   * Compact alternative to onLocationChanged. Receives all road-snapped fixes
+   * since the previous call packed in a single array, see PackedLocations and
+   * unpackLocation. Android only.
+   *
+   * @param locations - The packed location fixes, oldest first.
+   */
+  onPackedLocationsChanged?(locations: PackedLocations): void;
+
+  /**
+   * Compact alternative to onRawLocationChanged, see onPackedLocationsChanged.
+   * Android only.
+   *
+   * @param locations - The packed raw location fixes, oldest first.
+   */
+  onPackedRawLocationsChanged?(locations: PackedLocations): void;
+
+  /**
+   * Callback function invoked periodically with the points traveled since the
+   * previous call, starting with the whole path traveled so far. See
+   * setTraveledPathUpdateOptions. Android only.
+   *
+   * @param slice - The newly traveled points.
+   */
+  onTraveledPathUpdated?(
+    slice: TraveledPathSlice<LatLng[] | string | number[]>
+  ): void;
+
+  /**
+   * Callback function invoked with the points of interest set with
+   * setAlongRoutePois that are ahead on the route, closest first. Updates
+   * follow the road-snapped location while on the route. Android only.
+   *
+   * @param upcomingPois - The points ahead, with their distance along the route.
+   */
+  onUpcomingPoisChanged?(upcomingPois: UpcomingPoi[]): void;
+
+  /**
+   * Callback function invoked when road-snapped locations enter, exit or dwell
+   * in the geofences added with addGeofences. Android only.
+   *
+   * @param transitions - The transitions caused by the latest location.
+   */
+  onGeofenceTransitions?(transitions: GeofenceTransitionEvent[]): void;
+
+  /**
+   * Callback function invoked with the progress of the road-snapped location
+   * along the current route, at the rate set with setRouteProgressOptions.
+   * Android only.
+   *
+   * @param progress - The progress along the route.
+   */
+  onRouteProgress?(progress: RouteProgress): void;
+
   /**
    * Callback function invoked when the route is changed.
    */
@@ -268,19 +672,34 @@ export interface NavigationController {
 
   /**
    *
+   * @param geometryFormat - Format of the segment path, LAT_LNG_LIST by default.
+   * @param simplification - Simplification of the segment path. Android only.
    * @returns the current route information.
    * If navigation is not running, this function returns an error message
    * and can be accessed using the 'error' key
    */
-  getCurrentRouteSegment(): Promise<RouteSegment>;
+  getCurrentRouteSegment(
+    geometryFormat?: GeometryFormat,
+    simplification?: SimplificationOptions
+  ): Promise<RouteSegment>;
 
   /**
    * Retrieves an array of route segments from the navigation view module.
    *
+   * @param geometryFormat - Format of the segment paths, LAT_LNG_LIST by
+   *                         default. The other formats are much cheaper to
+   *                         transfer for long routes.
+   * @param simplification - Simplification of the segment paths, e.g. for the
+   *                         zoom level of an overview. Simplified segments are
+   *                         cached per zoom level until the route changes.
+   *                         Android only.
    * @returns A promise that resolves with an array of `RouteSegment` objects,
    * representing the segments of the current route.
    */
-  getRouteSegments(): Promise<RouteSegment[]>;
+  getRouteSegments(
+    geometryFormat?: GeometryFormat,
+    simplification?: SimplificationOptions
+  ): Promise<RouteSegment[]>;
 
   /**
    *
@@ -295,8 +714,73 @@ export interface NavigationController {
    * @returns the current traveled path list.
    * If navigation is not running, this function returns an error message
    * and can be accessed using the 'error' key
+   *
+   * @param geometryFormat - Format of the path, LAT_LNG_LIST by default.
+   * @param simplification - Simplification of the path. Android only.
+   */
+  getTraveledPath(
+    geometryFormat?: GeometryFormat.LAT_LNG_LIST,
+    simplification?: SimplificationOptions
+  ): Promise<LatLng[]>;
+
+  /**
+   * Returns the current traveled path as an encoded polyline string.
+   */
+  getTraveledPath(
+    geometryFormat: GeometryFormat.ENCODED_POLYLINE,
+    simplification?: SimplificationOptions
+  ): Promise<string>;
+
+  /**
+   * Returns the current traveled path as a flat array of alternating latitudes
+   * and longitudes.
    */
-  getTraveledPath(): Promise<LatLng[]>;
+  getTraveledPath(
+    geometryFormat: GeometryFormat.FLAT_ARRAY,
+    simplification?: SimplificationOptions
+  ): Promise<number[]>;
+
+  /**
+   * Returns the points traveled from the given index on. Passing the returned
+   * nextIndex and generation to the following call reads the path
+   * incrementally, so only the newly traveled points are transferred. A cursor
+   * from an earlier generation, e.g. taken before new destinations were set,
+   * reads the new path from the start with isReset set.
+   *
+   * @param index - Index of the first point to return, 0 for the whole path.
+   * @param geometryFormat - Format of the points, LAT_LNG_LIST by default.
+   * @param generation - Generation the index was read from. When omitted, only
+   *                     the index is checked.
+   */
+  getTraveledPathSince(
+    index: number,
+    geometryFormat?: GeometryFormat.LAT_LNG_LIST,
+    generation?: number
+  ): Promise<TraveledPathSlice<LatLng[]>>;
+  getTraveledPathSince(
+    index: number,
+    geometryFormat: GeometryFormat.ENCODED_POLYLINE,
+    generation?: number
+  ): Promise<TraveledPathSlice<string>>;
+  getTraveledPathSince(
+    index: number,
+    geometryFormat: GeometryFormat.FLAT_ARRAY,
+    generation?: number
+  ): Promise<TraveledPathSlice<number[]>>;
+
+  /**
+   * Reads the requested fields of the navigation state in a single call. On
+   * Android the fields are read together on the thread the navigator reports
+   * on, so they describe the same moment of the trip. On iOS they are read
+   * with separate calls.
+   *
+   * @param fields - Fields of the navigation state to read.
+   * @param options - See NavigationSnapshotOptions.
+   */
+  getNavigationSnapshot(
+    fields: NavigationSnapshotField[],
+    options?: NavigationSnapshotOptions
+  ): Promise<NavigationSnapshot>;
 
   /**
    * Asynchronously retrieves the version of the Navigation SDK.
@@ -311,24 +795,37 @@ export interface NavigationController {
    * @param waypoint - A Waypoint object, defining a destination or stopover point
    *                   with specific attributes, such as place ID, title, and
    *                   coordinates (latitude and longitude).
+   * @returns A promise resolving with the route status once the route has been
+   *          calculated, see setDestinations.
    */
   setDestination(
     waypoint: Waypoint,
     routingOptions?: RoutingOptions,
     displayOptions?: DisplayOptions
-  ): Promise<void>;
+  ): Promise<RouteRequestResult>;
 
   /**
    * Set the destinations on the map using the provided waypoints.
    *
+   * The returned promise settles once the route has been calculated, not as
+   * soon as the request has been sent as in previous versions, so awaiting it
+   * now waits for the route calculation.
+   *
+   * On Android, a request identical to one still being calculated shares its
+   * result, while a different request cancels the one in progress, which then
+   * resolves with RouteStatus.ROUTE_CANCELED. onRouteStatusResult is not
+   * invoked for such cancelled requests, only for calculated routes.
+   *
    * @param waypoints - A list of Waypoint objects, each defining a destination
    *                    or stopover point with specific attributes.
+   * @returns A promise resolving with the route status once the route has been
+   *          calculated. The onRouteStatusResult callback is still invoked.
    */
   setDestinations(
     waypoints: Waypoint[],
     routingOptions?: RoutingOptions,
     displayOptions?: DisplayOptions
-  ): Promise<void>;
+  ): Promise<RouteRequestResult>;
 
   /**
    * Proceeds to the next destination or waypoint within a predefined route.
@@ -407,8 +904,120 @@ export interface NavigationController {
    * Enables or disables turn-by-turn logging.
    *
    * @param isEnabled - Determines whether the turn-by-turn logging should be enabled or disabled.
+   * @param options - Options of the logging, see TurnByTurnLoggingOptions. Android only.
+   */
+  setTurnByTurnLoggingEnabled(
+    isEnabled: boolean,
+    options?: TurnByTurnLoggingOptions
+  ): void;
+
+  /**
+   * Returns a page of the remaining steps of the current route, collected from
+   * the turn-by-turn updates. Requires turn-by-turn logging to be enabled.
+   * Only available in Android, resolves to an empty page on iOS.
+   *
+   * @param offset - Index of the first step to return.
+   * @param limit - Maximum number of steps to return.
+   */
+  getRemainingSteps(offset: number, limit: number): Promise<RemainingStepsPage>;
+
+  /**
+   * Configures how navigation events are batched before being delivered to JS.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param options - Batching options, see EventBatchingOptions.
+   */
+  setEventBatchingOptions(options: EventBatchingOptions): void;
+
+  /**
+   * Returns the counters of the native event queue, useful to monitor how
+   * many events are dropped while the JS thread is busy.
+   * Only available in Android, resolves to zeroed counters on iOS.
+   */
+  getEventQueueStats(): Promise<EventQueueStats>;
+
+  /**
+   * Sets the thresholds used to emit onRemainingTimeOrDistanceChanged. By
+   * default an update is emitted on every change.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param thresholds - See RemainingTimeOrDistanceThresholds.
+   */
+  setRemainingTimeOrDistanceThresholds(
+    thresholds: RemainingTimeOrDistanceThresholds
+  ): void;
+
+  /**
+   * Sets the filters applied natively to the location streams, reducing how
+   * many fixes are sent to JS. A stream without filter receives every fix.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param options - See LocationStreamFilterOptions.
+   */
+  setLocationFilterOptions(options: LocationStreamFilterOptions): void;
+
+  /**
+   * Sets the options of the onTurnByTurn event.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param options - See TurnByTurnEventOptions.
+   */
+  setTurnByTurnEventOptions(options: TurnByTurnEventOptions): void;
+
+  /**
+   * Sets the options of the onTraveledPathUpdated event.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param options - See TraveledPathUpdateOptions.
+   */
+  setTraveledPathUpdateOptions(options: TraveledPathUpdateOptions): void;
+
+  /**
+   * Sets the points of interest reported by onUpcomingPoisChanged. The points
+   * are projected onto the route natively, once per route.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param pois - The points of interest, replacing the previous ones.
+   */
+  setAlongRoutePois(pois: AlongRoutePoi[]): void;
+
+  /**
+   * Sets the options of the onUpcomingPoisChanged event.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param options - See AlongRoutePoiOptions.
+   */
+  setAlongRoutePoiOptions(options: AlongRoutePoiOptions): void;
+
+  /**
+   * Adds geofences, replacing existing ones with the same id. Geofences are
+   * indexed and checked natively against every road-snapped location while
+   * onGeofenceTransitions is listened to, so only transitions reach JS.
+   * Only available in Android, resolves without errors on iOS.
+   *
+   * @param geofences - The geofences to add.
+   */
+  addGeofences(geofences: Geofence[]): Promise<AddGeofencesResult>;
+
+  /**
+   * Removes the geofences with the given ids, without reporting exits.
+   * Only available in Android, it's a NO-OP for iOS.
+   */
+  removeGeofences(ids: string[]): void;
+
+  /**
+   * Removes all geofences.
+   * Only available in Android, it's a NO-OP for iOS.
+   */
+  clearGeofences(): void;
+
+  /**
+   * Sets the options of the onRouteProgress event.
+   * Only available in Android, it's a NO-OP for iOS.
+   *
+   * @param options - See RouteProgressOptions.
    */
-  setTurnByTurnLoggingEnabled(isEnabled: boolean): void;
+  setRouteProgressOptions(options: RouteProgressOptions): void;
 
   /**
    * Simulator to be used in navigation.
@@ -15,13 +15,21 @@
  */
 
 import { NativeModules, Platform } from 'react-native';
-import { useModuleListeners, type LatLng } from '../../shared';
+import {
+  encodePolyline,
+  flattenPath,
+  useModuleListeners,
+  type EventSubscriptionHandler,
+  type LatLng,
+  type SimplificationOptions,
+} from '../../shared';
 import type {
   Waypoint,
   AudioGuidance,
   RouteSegment,
   TimeAndDistance,
 } from '../types';
+import { GeometryFormat, RouteStatus } from '../types';
 import {
   type NavigationCallbacks,
   type TermsAndConditionsDialogOptions,
@@ -31,13 +39,118 @@ import {
   type LocationSimulationOptions,
   TaskRemovedBehavior,
   type DisplayOptions,
+  type EventBatchingOptions,
+  type EventQueueStats,
+  type RemainingTimeOrDistanceThresholds,
+  type LocationStreamFilterOptions,
+  type TurnByTurnEventOptions,
+  type TurnByTurnLoggingOptions,
+  type RemainingStepsPage,
+  type RouteRequestResult,
+  type TraveledPathUpdateOptions,
+  type AlongRoutePoi,
+  type AlongRoutePoiOptions,
+  type Geofence,
+  type AddGeofencesResult,
+  type RouteProgressOptions,
+  type NavigationSnapshot,
+  type NavigationSnapshotField,
+  type NavigationSnapshotOptions,
 } from './types';
 import { getRouteStatusFromStringValue } from '../navigationView';
-import { useMemo } from 'react';
+import { useMemo, useRef } from 'react';
 
 const { NavModule, NavEventDispatcher } = NativeModules;
 const androidBridge: string = 'NavJavascriptBridge';
 
+// Lets NavModule attach native listeners only for events that have JS listeners.
+const subscriptionHandler: EventSubscriptionHandler | undefined =
+  Platform.OS === 'android'
+    ? {
+        subscribe: (eventName: string) => NavModule.subscribe(eventName),
+        unsubscribe: (eventName: string) => NavModule.unsubscribe(eventName),
+      }
+    : undefined;
+
+type TurnByTurnState = Record<string, unknown>;
+
+// Applies a turn-by-turn update on top of the last known state. Full updates
+// replace the state, delta updates only carry changed fields, null marking a
+// field that is no longer available.
+const mergeTurnByTurnUpdate = (
+  previous: TurnByTurnState,
+  update: TurnByTurnState
+): TurnByTurnState => {
+  const state: TurnByTurnState = update.isDelta ? { ...previous } : {};
+  Object.keys(update).forEach(key => {
+    if (key === 'isDelta') {
+      return;
+    }
+    if (update[key] === null) {
+      delete state[key];
+    } else {
+      state[key] = update[key];
+    }
+  });
+  return state;
+};
+
+// The iOS module only returns lat/lng lists, so the other geometry formats are
+// produced here.
+const convertPath = (
+  path: LatLng[],
+  geometryFormat: GeometryFormat
+): LatLng[] | string | number[] => {
+  switch (geometryFormat) {
+    case GeometryFormat.ENCODED_POLYLINE:
+      return encodePolyline(path);
+    case GeometryFormat.FLAT_ARRAY:
+      return flattenPath(path);
+    default:
+      return path;
+  }
+};
+
+const convertRouteSegment = (
+  segment: RouteSegment,
+  geometryFormat: GeometryFormat
+): RouteSegment => {
+  switch (geometryFormat) {
+    case GeometryFormat.ENCODED_POLYLINE:
+      return {
+        ...segment,
+        segmentLatLngList: [],
+        encodedPath: encodePolyline(segment.segmentLatLngList),
+      };
+    case GeometryFormat.FLAT_ARRAY:
+      return {
+        ...segment,
+        segmentLatLngList: [],
+        segmentCoordinates: flattenPath(segment.segmentLatLngList),
+      };
+    default:
+      return segment;
+  }
+};
+
+// The iOS module resolves without a status, so the latency is measured here.
+const getRouteRequestResult = (
+  result: any,
+  startTime: number
+): RouteRequestResult => {
+  if (result == null || typeof result !== 'object') {
+    return {
+      routeStatus: RouteStatus.UNKNOWN,
+      latencyMs: Date.now() - startTime,
+    };
+  }
+  return {
+    routeStatus: getRouteStatusFromStringValue(result.routeStatus),
+    latencyMs: result.latencyMs,
+    waypointErrors: result.waypointErrors,
+  };
+};
+
 export const useNavigationController = (
   termsAndConditionsDialogOptions: TermsAndConditionsDialogOptions,
   taskRemovedBehavior: TaskRemovedBehavior = TaskRemovedBehavior.CONTINUE_SERVICE
@@ -47,6 +160,8 @@ export const useNavigationController = (
   removeListeners: (listeners: Partial<NavigationCallbacks>) => void;
   removeAllListeners: () => void;
 } => {
+  const turnByTurnStateRef = useRef<TurnByTurnState>({});
+
   const eventTransformer = <K extends keyof NavigationCallbacks>(
     eventKey: K,
     ...args: unknown[]
@@ -54,6 +169,24 @@ export const useNavigationController = (
     if (eventKey === 'onRouteStatusResult' && typeof args[0] === 'string') {
       return [getRouteStatusFromStringValue(args[0])];
     }
+    if (
+      (eventKey === 'onPackedLocationsChanged' ||
+        eventKey === 'onPackedRawLocationsChanged') &&
+      Array.isArray(args[0])
+    ) {
+      return [new Float64Array(args[0])];
+    }
+    if (
+      eventKey === 'onTurnByTurn' &&
+      args[0] !== null &&
+      typeof args[0] === 'object'
+    ) {
+      turnByTurnStateRef.current = mergeTurnByTurnUpdate(
+        turnByTurnStateRef.current,
+        args[0] as TurnByTurnState
+      );
+      return [turnByTurnStateRef.current];
+    }
     return args;
   };
 
@@ -67,6 +200,12 @@ export const useNavigationController = (
       'onNavigationReady',
       'onRouteStatusResult',
       'onRawLocationChanged',
+      'onPackedLocationsChanged',
+      'onPackedRawLocationsChanged',
+      'onTraveledPathUpdated',
+      'onUpcomingPoisChanged',
+      'onGeofenceTransitions',
+      'onRouteProgress',
       'onRouteChanged',
       'onReroutingRequestedByOffRoute',
       'onTrafficUpdated',
@@ -75,7 +214,8 @@ export const useNavigationController = (
       'onTurnByTurn',
       'logDebugInfo',
     ],
-    eventTransformer
+    eventTransformer,
+    subscriptionHandler
   );
 
   const navigationController: NavigationController = useMemo(
@@ -97,11 +237,13 @@ export const useNavigationController = (
         routingOptions?: RoutingOptions,
         displayOptions?: DisplayOptions
       ) => {
-        return await NavModule.setDestination(
+        const startTime = Date.now();
+        const result = await NavModule.setDestination(
           waypoint,
           routingOptions,
           displayOptions
         );
+        return getRouteRequestResult(result, startTime);
       },
 
       setDestinations: async (
@@ -109,11 +251,13 @@ export const useNavigationController = (
         routingOptions?: RoutingOptions,
         displayOptions?: DisplayOptions
       ) => {
-        return await NavModule.setDestinations(
+        const startTime = Date.now();
+        const result = await NavModule.setDestinations(
           waypoints,
           routingOptions,
           displayOptions
         );
+        return getRouteRequestResult(result, startTime);
       },
 
       continueToNextDestination: async () => {
@@ -150,28 +294,234 @@ export const useNavigationController = (
         }
       },
 
-      setTurnByTurnLoggingEnabled: (isEnabled: boolean) => {
-        NavModule.setTurnByTurnLoggingEnabled(isEnabled);
+      setTurnByTurnLoggingEnabled: (
+        isEnabled: boolean,
+        options?: TurnByTurnLoggingOptions
+      ) => {
+        if (Platform.OS === 'android') {
+          NavModule.setTurnByTurnLoggingEnabled(isEnabled, options ?? null);
+        } else {
+          NavModule.setTurnByTurnLoggingEnabled(isEnabled);
+        }
+      },
+
+      getRemainingSteps: async (
+        offset: number,
+        limit: number
+      ): Promise<RemainingStepsPage> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.getRemainingSteps(offset, limit);
+        }
+        return { totalCount: 0, isComplete: false, steps: [] };
+      },
+
+      setEventBatchingOptions: (options: EventBatchingOptions) => {
+        if (Platform.OS === 'android') {
+          NavModule.setEventBatchingOptions(options);
+        }
+      },
+
+      getEventQueueStats: async (): Promise<EventQueueStats> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.getEventQueueStats();
+        }
+        return {
+          droppedEvents: 0,
+          collapsedEvents: 0,
+          overflowedEvents: 0,
+          queuedEvents: 0,
+        };
+      },
+
+      setRemainingTimeOrDistanceThresholds: (
+        thresholds: RemainingTimeOrDistanceThresholds
+      ) => {
+        if (Platform.OS === 'android') {
+          NavModule.setRemainingTimeOrDistanceThresholds(thresholds);
+        }
+      },
+
+      setLocationFilterOptions: (options: LocationStreamFilterOptions) => {
+        if (Platform.OS === 'android') {
+          NavModule.setLocationFilterOptions(options);
+        }
+      },
+
+      setTurnByTurnEventOptions: (options: TurnByTurnEventOptions) => {
+        if (Platform.OS === 'android') {
+          NavModule.setTurnByTurnEventOptions(options);
+        }
+      },
+
+      setTraveledPathUpdateOptions: (options: TraveledPathUpdateOptions) => {
+        if (Platform.OS === 'android') {
+          NavModule.setTraveledPathUpdateOptions(options);
+        }
+      },
+
+      setAlongRoutePois: (pois: AlongRoutePoi[]) => {
+        if (Platform.OS === 'android') {
+          NavModule.setAlongRoutePois(pois);
+        }
+      },
+
+      setAlongRoutePoiOptions: (options: AlongRoutePoiOptions) => {
+        if (Platform.OS === 'android') {
+          NavModule.setAlongRoutePoiOptions(options);
+        }
+      },
+
+      addGeofences: async (
+        geofences: Geofence[]
+      ): Promise<AddGeofencesResult> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.addGeofences(geofences);
+        }
+        return { errors: [] };
+      },
+
+      removeGeofences: (ids: string[]) => {
+        if (Platform.OS === 'android') {
+          NavModule.removeGeofences(ids);
+        }
+      },
+
+      clearGeofences: () => {
+        if (Platform.OS === 'android') {
+          NavModule.clearGeofences();
+        }
+      },
+
+      setRouteProgressOptions: (options: RouteProgressOptions) => {
+        if (Platform.OS === 'android') {
+          NavModule.setRouteProgressOptions(options);
+        }
       },
 
       areTermsAccepted: async (): Promise<boolean> => {
         return await NavModule.areTermsAccepted();
       },
 
-      getCurrentRouteSegment: async (): Promise<RouteSegment> => {
-        return await NavModule.getCurrentRouteSegment();
+      getCurrentRouteSegment: async (
+        geometryFormat: GeometryFormat = GeometryFormat.LAT_LNG_LIST,
+        simplification?: SimplificationOptions
+      ): Promise<RouteSegment> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.getCurrentRouteSegment(
+            geometryFormat,
+            simplification ?? null
+          );
+        }
+        const segment = await NavModule.getCurrentRouteSegment();
+        return segment && convertRouteSegment(segment, geometryFormat);
       },
 
-      getRouteSegments: async (): Promise<RouteSegment[]> => {
-        return await NavModule.getRouteSegments();
+      getRouteSegments: async (
+        geometryFormat: GeometryFormat = GeometryFormat.LAT_LNG_LIST,
+        simplification?: SimplificationOptions
+      ): Promise<RouteSegment[]> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.getRouteSegments(
+            geometryFormat,
+            simplification ?? null
+          );
+        }
+        const segments: RouteSegment[] = await NavModule.getRouteSegments();
+        return segments.map(segment =>
+          convertRouteSegment(segment, geometryFormat)
+        );
       },
 
       getCurrentTimeAndDistance: async (): Promise<TimeAndDistance> => {
         return await NavModule.getCurrentTimeAndDistance();
       },
 
-      getTraveledPath: async (): Promise<LatLng[]> => {
-        return await NavModule.getTraveledPath();
+      getTraveledPath: async (
+        geometryFormat: GeometryFormat = GeometryFormat.LAT_LNG_LIST,
+        simplification?: SimplificationOptions
+      ): Promise<any> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.getTraveledPath(
+            geometryFormat,
+            simplification ?? null
+          );
+        }
+        const path: LatLng[] = await NavModule.getTraveledPath();
+        return convertPath(path, geometryFormat);
+      },
+
+      getTraveledPathSince: async (
+        index: number,
+        geometryFormat: GeometryFormat = GeometryFormat.LAT_LNG_LIST,
+        generation?: number
+      ): Promise<any> => {
+        if (Platform.OS === 'android') {
+          return await NavModule.getTraveledPathSince(
+            index,
+            generation ?? -1,
+            geometryFormat
+          );
+        }
+        // The iOS module only returns the whole path, which is sliced here.
+        const path: LatLng[] = await NavModule.getTraveledPath();
+        const isReset = index > path.length;
+        const startIndex = isReset ? 0 : Math.max(0, index);
+        return {
+          points: convertPath(path.slice(startIndex), geometryFormat),
+          startIndex,
+          nextIndex: path.length,
+          generation: 0,
+          isReset,
+        };
+      },
+
+      getNavigationSnapshot: async (
+        fields: NavigationSnapshotField[],
+        options: NavigationSnapshotOptions = {}
+      ): Promise<NavigationSnapshot> => {
+        const geometryFormat =
+          options.geometryFormat ?? GeometryFormat.LAT_LNG_LIST;
+        if (Platform.OS === 'android') {
+          return await NavModule.getNavigationSnapshot(
+            fields,
+            geometryFormat,
+            options.simplification ?? null
+          );
+        }
+        const snapshot: NavigationSnapshot = { timestamp: Date.now() };
+        const has = (field: NavigationSnapshotField) => fields.includes(field);
+        const [timeAndDistance, currentRouteSegment, routeSegments, path] =
+          await Promise.all([
+            has('timeAndDistance')
+              ? NavModule.getCurrentTimeAndDistance()
+              : null,
+            has('currentRouteSegment')
+              ? NavModule.getCurrentRouteSegment()
+              : null,
+            has('routeSegments') ? NavModule.getRouteSegments() : null,
+            has('traveledPath') ? NavModule.getTraveledPath() : null,
+          ]);
+        if (has('timeAndDistance')) {
+          snapshot.timeAndDistance = timeAndDistance;
+        }
+        if (has('currentRouteSegment')) {
+          snapshot.currentRouteSegment =
+            currentRouteSegment &&
+            convertRouteSegment(currentRouteSegment, geometryFormat);
+        }
+        if (has('routeSegments')) {
+          snapshot.routeSegments = (routeSegments as RouteSegment[]).map(
+            segment => convertRouteSegment(segment, geometryFormat)
+          );
+        }
+        if (has('traveledPath')) {
+          snapshot.traveledPath = convertPath(path, geometryFormat);
+        }
+        if (has('turnByTurn')) {
+          snapshot.turnByTurn = null;
+          snapshot.turnByTurnTimestamp = null;
+        }
+        return snapshot;
       },
 
       getNavSDKVersion: async (): Promise<string> => {
@@ -289,8 +289,34 @@ export interface RouteSegment {
   destinationWaypoint: Waypoint;
   /** The traffic data associated with this segment of the route. */
   navigationTrafficData?: NavigationTrafficData;
-  /** An array of LatLngs that represent the route segment. */
+  /**
+   * An array of LatLngs that represent the route segment. Empty when the
+   * segment was requested in another GeometryFormat.
+   */
   segmentLatLngList: LatLng[];
+  /**
+   * The route segment as an encoded polyline, with
+   * GeometryFormat.ENCODED_POLYLINE.
+   */
+  encodedPath?: string;
+  /**
+   * The route segment as alternating latitudes and longitudes, with
+   * GeometryFormat.FLAT_ARRAY.
+   */
+  segmentCoordinates?: number[];
+}
+
+/**
+ * Defines the format of the coordinates returned for route segments and the
+ * traveled path.
+ */
+export enum GeometryFormat {
+  /** An array of LatLng objects. */
+  LAT_LNG_LIST = 0,
+  /** A Google encoded polyline string, with 5 decimal places of precision. */
+  ENCODED_POLYLINE,
+  /** A flat array of alternating latitudes and longitudes. */
+  FLAT_ARRAY,
 }
 
 /**
@@ -17,3 +17,5 @@
 export * from './viewManager';
 export * from './types';
 export * from './useModuleListeners';
+export * from './packedLocations';
+export * from './polyline';
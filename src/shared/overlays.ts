@@ -0,0 +1,27 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Adds overlays one by one and returns their ids, null for the ones that
+ * couldn't be added. Used where the native module has no bulk methods.
+ */
+export const addOverlaysOneByOne = async <T>(
+  options: T[],
+  add: (options: T) => Promise<{ id: string } | null>
+): Promise<(string | null)[]> => {
+  const overlays = await Promise.all(options.map(option => add(option)));
+  return overlays.map(overlay => overlay?.id ?? null);
+};
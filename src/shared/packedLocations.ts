@@ -0,0 +1,53 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import type { Location } from './types';
+
+/**
+ * Number of values stored per location fix in PackedLocations, in the order
+ * time, lat, lng, altitude, speed, bearing, accuracy.
+ */
+export const PACKED_LOCATION_STRIDE = 7;
+
+/**
+ * Location fixes packed in a flat array, PACKED_LOCATION_STRIDE values per
+ * fix, oldest first. Values a fix does not have are NaN.
+ */
+export type PackedLocations = Float64Array;
+
+/** Returns the number of fixes contained in the packed array. */
+export const getPackedLocationCount = (locations: PackedLocations): number =>
+  Math.floor(locations.length / PACKED_LOCATION_STRIDE);
+
+/** Builds a Location object from the fix at the given index. */
+export const unpackLocation = (
+  locations: PackedLocations,
+  index: number
+): Location => {
+  const offset = index * PACKED_LOCATION_STRIDE;
+  const optional = (value: number | undefined) =>
+    value === undefined || Number.isNaN(value) ? undefined : value;
+
+  return {
+    time: locations[offset]!,
+    lat: locations[offset + 1]!,
+    lng: locations[offset + 2]!,
+    altitude: optional(locations[offset + 3]),
+    speed: optional(locations[offset + 4]) ?? 0,
+    bearing: optional(locations[offset + 5]),
+    accuracy: optional(locations[offset + 6]),
+  };
+};
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2024 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import type { LatLng } from './types';
+
+const PRECISION = 1e5;
+
+const encodeValue = (value: number): string => {
+  let remaining = value < 0 ? ~(value << 1) : value << 1;
+  let encoded = '';
+  while (remaining >= 0x20) {
+    encoded += String.fromCharCode((0x20 | (remaining & 0x1f)) + 63);
+    remaining >>= 5;
+  }
+  return encoded + String.fromCharCode(remaining + 63);
+};
+
+/**
+ * Encodes the path in the Google encoded polyline format, with coordinates
+ * rounded to 5 decimal places.
+ */
+export const encodePolyline = (path: LatLng[]): string => {
+  let encoded = '';
+  let lastLat = 0;
+  let lastLng = 0;
+  for (const latLng of path) {
+    const lat = Math.round(latLng.lat * PRECISION);
+    const lng = Math.round(latLng.lng * PRECISION);
+    encoded += encodeValue(lat - lastLat) + encodeValue(lng - lastLng);
+    lastLat = lat;
+    lastLng = lng;
+  }
+  return encoded;
+};
+
+/** Decodes a path in the Google encoded polyline format. */
+export const decodePolyline = (encoded: string): LatLng[] => {
+  const path: LatLng[] = [];
+  let index = 0;
+  let lat = 0;
+  let lng = 0;
+
+  const decodeValue = (): number => {
+    let result = 0;
+    let shift = 0;
+    let chunk: number;
+    do {
+      if (index >= encoded.length) {
+        throw new Error('Malformed encoded polyline');
+      }
+      chunk = encoded.charCodeAt(index++) - 63;
+      result |= (chunk & 0x1f) << shift;
+      shift += 5;
+    } while (chunk >= 0x20);
+    return result & 1 ? ~(result >> 1) : result >> 1;
+  };
+
+  while (index < encoded.length) {
+    lat += decodeValue();
+    lng += decodeValue();
+    path.push({ lat: lat / PRECISION, lng: lng / PRECISION });
+  }
+  return path;
+};
+
+/** Returns the path as a flat array of alternating latitudes and longitudes. */
+export const flattenPath = (path: LatLng[]): number[] => {
+  const coordinates = new Array<number>(path.length * 2);
+  path.forEach((latLng, i) => {
+    coordinates[i * 2] = latLng.lat;
+    coordinates[i * 2 + 1] = latLng.lng;
+  });
+  return coordinates;
+};
@@ -24,6 +24,21 @@ export interface LatLng {
   lng: number;
 }
 
+/**
+ * Defines how a path is simplified before being returned or drawn, dropping
+ * the points that deviate less than a tolerance from the simplified path.
+ * Android only.
+ */
+export interface SimplificationOptions {
+  /** Maximum deviation in meters. Takes precedence over zoom. */
+  toleranceMeters?: number;
+  /**
+   * Zoom level the path is displayed at. The tolerance is the size of a pixel
+   * at that zoom, rounded down to whole levels.
+   */
+  zoom?: number;
+}
+
 /**
  * An immutable class representing the device location in Navigation SDK.
  */
@@ -17,10 +17,21 @@
 import { useRef, useCallback, useEffect } from 'react';
 import { NativeEventEmitter, Platform, type NativeModule } from 'react-native';
 
+const batchedEventsFunctionName = 'onBatchedEvents';
+
 type ListenerMap<T> = {
   [K in keyof T]?: NonNullable<T[K]>[];
 };
 
+/**
+ * Notified when an event gets its first listener or loses its last one, so
+ * the native module can skip work for events nobody listens to.
+ */
+export interface EventSubscriptionHandler {
+  subscribe: (eventName: string) => void;
+  unsubscribe: (eventName: string) => void;
+}
+
 export const useModuleListeners = <
   T extends { [K in keyof T]: ((...args: any[]) => void) | undefined },
 >(
@@ -30,7 +41,8 @@ export const useModuleListeners = <
   eventTransformer?: <K extends keyof T>(
     eventKey: K,
     ...args: unknown[]
-  ) => unknown[]
+  ) => unknown[],
+  subscriptionHandler?: EventSubscriptionHandler
 ): {
   addListeners: (listeners: Partial<T>) => void;
   removeListeners: (listeners: Partial<T>) => void;
@@ -75,7 +87,16 @@ export const useModuleListeners = <
     // Platform-specific event handling
     if (Platform.OS === 'android') {
       const BatchedBridge = require('react-native/Libraries/BatchedBridge/BatchedBridge');
-      BatchedBridge.registerCallableModule(androidBridge, wrappedListeners);
+      BatchedBridge.registerCallableModule(androidBridge, {
+        ...wrappedListeners,
+        // The native side may deliver several queued events in a single call,
+        // each entry being a tuple of event name and arguments.
+        [batchedEventsFunctionName]: (events: [keyof T, unknown[]][]) => {
+          events.forEach(([eventType, args]) =>
+            wrappedListeners[eventType]?.(...args)
+          );
+        },
+      });
     } else if (Platform.OS === 'ios') {
       eventTypes.forEach(eventType => {
         getIOSEventEmitter().removeAllListeners(eventType as string);
@@ -89,27 +110,36 @@ export const useModuleListeners = <
 
   const addListeners = (listeners: Partial<T>) => {
     (Object.keys(listeners) as [keyof T]).forEach(key => {
-      listenersRef.current[key] = [
-        ...(listenersRef.current[key] || []),
-        listeners[key]!,
-      ];
+      const current = listenersRef.current[key] || [];
+      listenersRef.current[key] = [...current, listeners[key]!];
+      if (current.length === 0) {
+        subscriptionHandler?.subscribe(key as string);
+      }
     });
     updateListeners();
   };
 
   const removeListeners = (listeners: Partial<T>) => {
     (Object.keys(listeners) as [keyof T]).forEach(key => {
-      listenersRef.current[key] = listenersRef.current[key]?.filter(
-        listener => listener !== listeners[key]
-      );
+      const current = listenersRef.current[key] || [];
+      const remaining = current.filter(listener => listener !== listeners[key]);
+      listenersRef.current[key] = remaining;
+      if (current.length > 0 && remaining.length === 0) {
+        subscriptionHandler?.unsubscribe(key as string);
+      }
     });
     updateListeners();
   };
 
   const removeAllListeners = useCallback(() => {
+    (Object.keys(listenersRef.current) as [keyof T]).forEach(key => {
+      if (listenersRef.current[key]?.length) {
+        subscriptionHandler?.unsubscribe(key as string);
+      }
+    });
     listenersRef.current = {};
     updateListeners();
-  }, [updateListeners]);
+  }, [updateListeners, subscriptionHandler]);
 
   useEffect(() => {
     updateListeners();